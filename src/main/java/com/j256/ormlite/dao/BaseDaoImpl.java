@@ -1,11 +1,15 @@
 package com.j256.ormlite.dao;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import com.j256.ormlite.db.DatabaseType;
@@ -26,10 +30,12 @@ import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.stmt.StatementExecutor;
 import com.j256.ormlite.stmt.UpdateBuilder;
 import com.j256.ormlite.stmt.Where;
+import com.j256.ormlite.stmt.mapped.MappedCreate;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.ObjectFactory;
 import com.j256.ormlite.table.TableInfo;
 
@@ -74,6 +80,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	};
 	private static ReferenceObjectCache defaultObjectCache;
 	private ObjectCache objectCache;
+	private QueryResultCache queryResultCache;
+	private MissingIdCache missingIdCache;
 
 	/**
 	 * Construct our base DAO using Spring type wiring. The {@link ConnectionSource} must be set with the
@@ -152,6 +160,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			tableInfo = new TableInfo<T, ID>(databaseType, this, tableConfig);
 		}
 		statementExecutor = new StatementExecutor<T, ID>(databaseType, tableInfo, this);
+		statementExecutor.setQueryResultCache(queryResultCache);
+		statementExecutor.setMissingIdCache(missingIdCache);
 
 		/*
 		 * This is a bit complex. Initially, when we were configuring the field types, external DAO information would be
@@ -263,6 +273,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		return statementExecutor.query(connectionSource, preparedQuery, objectCache);
 	}
 
+	public <UO> List<UO> query(PreparedQuery<T> preparedQuery, GenericRowMapper<UO> rowMapper) throws SQLException {
+		checkForInitialized();
+		return statementExecutor.query(connectionSource, preparedQuery, rowMapper, objectCache);
+	}
+
 	public List<T> queryForMatching(T matchObj) throws SQLException {
 		return queryForMatching(matchObj, false);
 	}
@@ -311,6 +326,61 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public int createBatch(Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		// ignore creating a null or empty collection
+		if (datas == null || datas.isEmpty()) {
+			return 0;
+		}
+		for (T data : datas) {
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection();
+		try {
+			return statementExecutor.create(connection, datas, objectCache);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Convert the objects into the arguments of the insert statement so the work can be done in a different thread
+	 * from the insert. Used by {@link BulkLoader}.
+	 * 
+	 * @return The prepared rows or null if the objects have to be passed to {@link #createBatch(Collection)} instead.
+	 */
+	MappedCreate.PreparedBatch<T> prepareCreate(Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		for (T data : datas) {
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+		}
+		return statementExecutor.prepareCreate(datas, objectCache);
+	}
+
+	/**
+	 * Insert the rows returned by {@link #prepareCreate(Collection)}.
+	 */
+	int createPrepared(MappedCreate.PreparedBatch<T> preparedBatch) throws SQLException {
+		checkForInitialized();
+		if (preparedBatch.size() == 0) {
+			return 0;
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection();
+		try {
+			return statementExecutor.createPrepared(connection, preparedBatch, objectCache);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	public T createIfNotExists(T data) throws SQLException {
 		if (data == null) {
 			return null;
@@ -324,6 +394,64 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public List<T> createBatchIfNotExists(Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		if (datas == null || datas.isEmpty()) {
+			return new ArrayList<T>();
+		}
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Class " + dataClass + " must have an id field to use createIfNotExists");
+		}
+		// find the distinct ids that we need to look for
+		Set<Object> ids = new LinkedHashSet<Object>();
+		for (T data : datas) {
+			if (data != null) {
+				ID id = extractCreateIfNotExistsId(idField, data);
+				if (id != null) {
+					ids.add(id);
+				}
+			}
+		}
+		Map<Object, T> existingMap = new HashMap<Object, T>();
+		int maxIds = Math.max(1, databaseType.getMaxStatementArguments());
+		List<SelectArg> idArgs = new ArrayList<SelectArg>();
+		for (Object id : ids) {
+			idArgs.add(new SelectArg(id));
+			if (idArgs.size() >= maxIds) {
+				queryForExisting(idField, idArgs, existingMap);
+				idArgs.clear();
+			}
+		}
+		if (!idArgs.isEmpty()) {
+			queryForExisting(idField, idArgs, existingMap);
+		}
+		List<T> results = new ArrayList<T>(datas.size());
+		List<T> createDatas = new ArrayList<T>();
+		for (T data : datas) {
+			if (data == null) {
+				results.add(null);
+				continue;
+			}
+			ID id = extractCreateIfNotExistsId(idField, data);
+			T existing = (id == null ? null : existingMap.get(id));
+			if (existing == null) {
+				createDatas.add(data);
+				results.add(data);
+				if (id != null) {
+					// later items with the same id are not created
+					existingMap.put(id, data);
+				}
+			} else {
+				results.add(existing);
+			}
+		}
+		if (!createDatas.isEmpty()) {
+			createBatch(createDatas);
+		}
+		return results;
+	}
+
 	public CreateOrUpdateStatus createOrUpdate(T data) throws SQLException {
 		if (data == null) {
 			return new CreateOrUpdateStatus(false, false, 0);
@@ -339,6 +467,27 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public int upsert(T data) throws SQLException {
+		checkForInitialized();
+		if (data == null) {
+			return 0;
+		}
+		if (!statementExecutor.isUpsertable() || tableInfo.getIdField().isObjectsFieldValueDefault(data)) {
+			return createOrUpdate(data).getNumLinesChanged();
+		}
+		if (data instanceof BaseDaoEnabled) {
+			@SuppressWarnings("unchecked")
+			BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+			daoEnabled.setDao(this);
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection();
+		try {
+			return statementExecutor.upsert(connection, data, objectCache);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	public int update(T data) throws SQLException {
 		checkForInitialized();
 		// ignore updating a null object
@@ -354,6 +503,20 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public BatchUpdateStatus<T> update(Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		// ignore updating a null or empty collection
+		if (datas == null || datas.isEmpty()) {
+			return new BatchUpdateStatus<T>(0, new ArrayList<T>());
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection();
+		try {
+			return statementExecutor.update(connection, datas, objectCache);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	public int updateId(T data, ID newId) throws SQLException {
 		checkForInitialized();
 		// ignore updating a null object
@@ -551,6 +714,16 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public <UO> GenericRawResults<UO> queryRaw(String query, RawRowViewMapper<UO> mapper, String... arguments)
+			throws SQLException {
+		checkForInitialized();
+		try {
+			return statementExecutor.queryRaw(connectionSource, query, mapper, arguments, objectCache);
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Could not perform raw query for " + query, e);
+		}
+	}
+
 	public <UO> GenericRawResults<UO> queryRaw(String query, DataType[] columnTypes, RawRowObjectMapper<UO> mapper,
 			String... arguments) throws SQLException {
 		checkForInitialized();
@@ -571,6 +744,19 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public ColumnarRawResults queryRawColumnar(String query, DataType[] columnTypes, String... arguments)
+			throws SQLException {
+		checkForInitialized();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection();
+		try {
+			return statementExecutor.queryRawColumnar(connection, query, columnTypes, arguments);
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Could not perform raw columnar query for " + query, e);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	public long queryRawValue(String query, String... arguments) throws SQLException {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection();
@@ -777,6 +963,41 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	public void setQueryResultCache(QueryResultCache queryResultCache) {
+		this.queryResultCache = queryResultCache;
+		if (statementExecutor != null) {
+			statementExecutor.setQueryResultCache(queryResultCache);
+		}
+	}
+
+	public QueryResultCache getQueryResultCache() {
+		return queryResultCache;
+	}
+
+	public void setMissingIdCache(MissingIdCache missingIdCache) {
+		this.missingIdCache = missingIdCache;
+		if (statementExecutor != null) {
+			statementExecutor.setMissingIdCache(missingIdCache);
+		}
+	}
+
+	public MissingIdCache getMissingIdCache() {
+		return missingIdCache;
+	}
+
+	public void setDirtyTracking(boolean enabled) throws SQLException {
+		if (enabled) {
+			if (tableInfo.getDirtyTracker() == null) {
+				if (tableInfo.getIdField() == null) {
+					throw new SQLException("Class " + dataClass + " must have an id field to enable dirty tracking");
+				}
+				tableInfo.setDirtyTracker(new DirtyTracker<T>(tableInfo));
+			}
+		} else {
+			tableInfo.setDirtyTracker(null);
+		}
+	}
+
 	/**
 	 * Special call mostly used in testing to clear the internal object caches so we can reset state.
 	 */
@@ -926,6 +1147,29 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * Return the id of the data or null if it is a generated-id which has not been set and so can't exist yet.
+	 */
+	private ID extractCreateIfNotExistsId(FieldType idField, T data) throws SQLException {
+		if (idField.isGeneratedId() && idField.isObjectsFieldValueDefault(data)) {
+			return null;
+		} else {
+			return extractId(data);
+		}
+	}
+
+	/**
+	 * Query for the rows whose ids match the arguments and add them to the existing map.
+	 */
+	private void queryForExisting(FieldType idField, List<SelectArg> idArgs, Map<Object, T> existingMap)
+			throws SQLException {
+		QueryBuilder<T, ID> qb = queryBuilder();
+		qb.where().in(idField.getColumnName(), idArgs);
+		for (T existing : qb.query()) {
+			existingMap.put(extractId(existing), existing);
+		}
+	}
+
 	private <FT> ForeignCollection<FT> makeEmptyForeignCollection(T parent, String fieldName) throws SQLException {
 		checkForInitialized();
 		ID id;
@@ -0,0 +1,339 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.mapped.MappedCreate;
+
+/**
+ * Loads a large number of objects into the database using the batched {@link Dao#createBatch(java.util.Collection)}.
+ * The objects are pulled from the iterator and grouped into batches by a producer thread while the calling thread
+ * inserts the batches, so any work done by the iterator to produce the objects overlaps with the database I/O. If the
+ * dao is a {@link BaseDaoImpl} then the producer thread also converts the objects into the arguments of the insert
+ * statement unless that needs the database, for example to select ids from a sequence or for foreign auto-create
+ * fields. The transaction is committed every {@link #setCommitRows(int)} rows or {@link #setCommitMillis(long)}
+ * milliseconds, whichever comes first.
+ * 
+ * <p>
+ * The number of batches waiting to be inserted is limited by {@link #setMaxBatchesInFlight(int)} so the producer
+ * thread blocks if it gets too far ahead of the database. If an insert or the iterator fails then the current
+ * transaction is rolled back but the rows from the earlier transactions stay committed.
+ * </p>
+ * 
+ * <pre>
+ * BulkLoader&lt;Account&gt; loader = new BulkLoader&lt;Account&gt;(accountDao);
+ * loader.setCommitRows(10000);
+ * long rowC = loader.load(accountIterator);
+ * </pre>
+ * 
+ * @author graywatson
+ */
+public class BulkLoader<T> {
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	public static final int DEFAULT_COMMIT_ROWS = 10000;
+	public static final long DEFAULT_COMMIT_MILLIS = 5000;
+	public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkLoader.class);
+
+	private final Dao<T, ?> dao;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private int commitRows = DEFAULT_COMMIT_ROWS;
+	private long commitMillis = DEFAULT_COMMIT_MILLIS;
+	private int maxBatchesInFlight = DEFAULT_MAX_BATCHES_IN_FLIGHT;
+
+	private final AtomicLong rowCount = new AtomicLong();
+	private final AtomicLong batchCount = new AtomicLong();
+	private final AtomicLong commitCount = new AtomicLong();
+	private volatile BlockingQueue<Batch<T>> batchQueue;
+	private volatile long startMillis;
+	private volatile long endMillis;
+
+	public BulkLoader(Dao<T, ?> dao) {
+		this.dao = dao;
+	}
+
+	/**
+	 * Insert all of the objects from the iterator into the database.
+	 * 
+	 * @return The number of rows inserted.
+	 */
+	public long load(Iterator<T> iterator) throws SQLException {
+		rowCount.set(0);
+		batchCount.set(0);
+		commitCount.set(0);
+		startMillis = System.currentTimeMillis();
+		endMillis = 0;
+		final BlockingQueue<Batch<T>> queue = new ArrayBlockingQueue<Batch<T>>(maxBatchesInFlight);
+		batchQueue = queue;
+		BaseDaoImpl<T, ?> preparingDao = null;
+		if (dao instanceof BaseDaoImpl) {
+			preparingDao = (BaseDaoImpl<T, ?>) dao;
+		}
+		Producer<T> producer = new Producer<T>(iterator, queue, batchSize, preparingDao);
+		Thread producerThread = new Thread(producer, getClass().getSimpleName() + "-producer");
+		producerThread.setDaemon(true);
+		producerThread.start();
+		try {
+			final boolean[] finished = new boolean[1];
+			while (!finished[0]) {
+				// wait for the first batch outside of a transaction so we don't commit an empty one at the end
+				final Batch<T> firstBatch = takeBatch(queue);
+				if (firstBatch == null) {
+					break;
+				}
+				TransactionManager.callInTransaction(dao.getConnectionSource(), new Callable<Void>() {
+					public Void call() throws Exception {
+						finished[0] = insertBatches(queue, firstBatch);
+						return null;
+					}
+				});
+				commitCount.incrementAndGet();
+			}
+			logger.debug("bulk loaded {} rows in {} batches with {} commits", rowCount.get(), batchCount.get(),
+					commitCount.get());
+			return rowCount.get();
+		} finally {
+			endMillis = System.currentTimeMillis();
+			batchQueue = null;
+			// stops the producer if we are exiting because of a problem
+			producerThread.interrupt();
+		}
+	}
+
+	/**
+	 * Wait for the next batch from the producer.
+	 * 
+	 * @return The batch or null if there are no more.
+	 */
+	private Batch<T> takeBatch(BlockingQueue<Batch<T>> queue) throws SQLException {
+		Batch<T> batch;
+		try {
+			batch = queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw SqlExceptionUtil.create("Bulk load was interrupted", e);
+		}
+		return checkBatch(batch);
+	}
+
+	/**
+	 * Throw if the producer failed.
+	 * 
+	 * @return The batch or null if it marks the end of the objects.
+	 */
+	private Batch<T> checkBatch(Batch<T> batch) throws SQLException {
+		if (batch.exception != null) {
+			throw SqlExceptionUtil.create("Producing objects for bulk load failed", batch.exception);
+		} else if (batch.datas == null) {
+			return null;
+		} else {
+			return batch;
+		}
+	}
+
+	/**
+	 * Insert the first batch and then more until we have inserted enough rows or spent enough time to commit.
+	 * 
+	 * @return True if there are no more batches.
+	 */
+	private boolean insertBatches(BlockingQueue<Batch<T>> queue, Batch<T> firstBatch) throws SQLException,
+			InterruptedException {
+		long commitAtMillis = System.currentTimeMillis() + commitMillis;
+		int rowC = 0;
+		Batch<T> batch = firstBatch;
+		while (true) {
+			rowC += insertBatch(batch);
+			if (rowC >= commitRows) {
+				return false;
+			}
+			long waitMillis = commitAtMillis - System.currentTimeMillis();
+			if (waitMillis <= 0) {
+				return false;
+			}
+			batch = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+			if (batch == null) {
+				return false;
+			}
+			batch = checkBatch(batch);
+			if (batch == null) {
+				return true;
+			}
+		}
+	}
+
+	private int insertBatch(Batch<T> batch) throws SQLException {
+		int rowC;
+		if (batch.preparedBatch == null) {
+			rowC = dao.createBatch(batch.datas);
+		} else {
+			rowC = ((BaseDaoImpl<T, ?>) dao).createPrepared(batch.preparedBatch);
+		}
+		rowCount.addAndGet(rowC);
+		batchCount.incrementAndGet();
+		return rowC;
+	}
+
+	/**
+	 * Set the number of objects that are passed to each {@link Dao#createBatch(java.util.Collection)} call. Default is
+	 * {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set the number of rows after which the transaction is committed. Default is {@link #DEFAULT_COMMIT_ROWS}.
+	 */
+	public void setCommitRows(int commitRows) {
+		this.commitRows = commitRows;
+	}
+
+	/**
+	 * Set the number of milliseconds after which the transaction is committed. Default is
+	 * {@link #DEFAULT_COMMIT_MILLIS}.
+	 */
+	public void setCommitMillis(long commitMillis) {
+		this.commitMillis = commitMillis;
+	}
+
+	/**
+	 * Set the number of batches that can be waiting to be inserted before the producer thread blocks. Default is
+	 * {@link #DEFAULT_MAX_BATCHES_IN_FLIGHT}.
+	 */
+	public void setMaxBatchesInFlight(int maxBatchesInFlight) {
+		this.maxBatchesInFlight = maxBatchesInFlight;
+	}
+
+	/**
+	 * Return the number of rows inserted so far.
+	 */
+	public long getRowCount() {
+		return rowCount.get();
+	}
+
+	/**
+	 * Return the number of batches inserted so far.
+	 */
+	public long getBatchCount() {
+		return batchCount.get();
+	}
+
+	/**
+	 * Return the number of transactions committed so far.
+	 */
+	public long getCommitCount() {
+		return commitCount.get();
+	}
+
+	/**
+	 * Return the number of batches that have been produced but not yet inserted.
+	 */
+	public int getBatchesInFlight() {
+		BlockingQueue<Batch<T>> queue = batchQueue;
+		if (queue == null) {
+			return 0;
+		} else {
+			return queue.size();
+		}
+	}
+
+	/**
+	 * Return the number of rows inserted per second since the start of the load.
+	 */
+	public double getRowsPerSecond() {
+		if (startMillis == 0) {
+			return 0;
+		}
+		long millis = (endMillis == 0 ? System.currentTimeMillis() : endMillis) - startMillis;
+		if (millis <= 0) {
+			millis = 1;
+		}
+		return rowCount.get() * 1000.0 / millis;
+	}
+
+	/**
+	 * Batch of objects handed from the producer thread to the loader with the insert arguments if they were prepared. A
+	 * batch without objects marks the end of the iterator or, if it has an exception, that the producer failed.
+	 */
+	private static class Batch<T> {
+		final List<T> datas;
+		final MappedCreate.PreparedBatch<T> preparedBatch;
+		final Throwable exception;
+
+		public Batch(List<T> datas, MappedCreate.PreparedBatch<T> preparedBatch, Throwable exception) {
+			this.datas = datas;
+			this.preparedBatch = preparedBatch;
+			this.exception = exception;
+		}
+	}
+
+	/**
+	 * Pulls objects from the iterator and puts them on the queue in batches, converting them into insert arguments if
+	 * it can.
+	 */
+	private static class Producer<T> implements Runnable {
+		private final Iterator<T> iterator;
+		private final BlockingQueue<Batch<T>> queue;
+		private final int batchSize;
+		private final BaseDaoImpl<T, ?> preparingDao;
+
+		public Producer(Iterator<T> iterator, BlockingQueue<Batch<T>> queue, int batchSize,
+				BaseDaoImpl<T, ?> preparingDao) {
+			this.iterator = iterator;
+			this.queue = queue;
+			this.batchSize = batchSize;
+			this.preparingDao = preparingDao;
+		}
+
+		public void run() {
+			Batch<T> endBatch;
+			try {
+				List<T> datas = new ArrayList<T>(batchSize);
+				while (iterator.hasNext()) {
+					datas.add(iterator.next());
+					if (datas.size() >= batchSize) {
+						queue.put(buildBatch(datas));
+						datas = new ArrayList<T>(batchSize);
+					}
+				}
+				if (!datas.isEmpty()) {
+					queue.put(buildBatch(datas));
+				}
+				endBatch = new Batch<T>(null, null, null);
+			} catch (InterruptedException e) {
+				// the loader has stopped so we just exit
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Throwable t) {
+				// pass anything else on to the loader so it doesn't wait forever for the end of the batches
+				endBatch = new Batch<T>(null, null, t);
+			}
+			try {
+				queue.put(endBatch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private Batch<T> buildBatch(List<T> datas) throws SQLException {
+			MappedCreate.PreparedBatch<T> preparedBatch = null;
+			if (preparingDao != null) {
+				preparedBatch = preparingDao.prepareCreate(datas);
+			}
+			return new Batch<T>(datas, preparedBatch, null);
+		}
+	}
+}
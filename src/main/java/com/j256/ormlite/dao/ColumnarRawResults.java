@@ -0,0 +1,291 @@
+package com.j256.ormlite.dao;
+
+import java.lang.reflect.Array;
+import java.sql.SQLException;
+import java.util.BitSet;
+
+import com.j256.ormlite.field.DataPersister;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Results of a raw query stored by column instead of by row. Numeric and boolean columns are read with the typed getters
+ * of the {@link DatabaseResults} into primitive arrays so no object is created per cell. String columns are stored in a
+ * String[] and all other types in an Object[]. Which array is used depends on the {@link DataType} of the column. Null
+ * values are recorded in a bitmap per column and can be checked with {@link #isNull(int, int)}. Returned by
+ * {@link Dao#queryRawColumnar(String, DataType[], String...)}.
+ * 
+ * <p>
+ * The arrays returned by the getters are exactly {@link #getRowCount()} long and are not copied so should not be
+ * changed.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ColumnarRawResults {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private static final int KIND_BOOLEAN = 1;
+	private static final int KIND_BYTE = 2;
+	private static final int KIND_SHORT = 3;
+	private static final int KIND_INT = 4;
+	private static final int KIND_LONG = 5;
+	private static final int KIND_FLOAT = 6;
+	private static final int KIND_DOUBLE = 7;
+	private static final int KIND_STRING = 8;
+	private static final int KIND_OBJECT = 9;
+
+	private final String[] columnNames;
+	private final DataType[] columnTypes;
+	private final Column[] columns;
+	private final int rowCount;
+
+	private ColumnarRawResults(String[] columnNames, DataType[] columnTypes, Column[] columns, int rowCount) {
+		this.columnNames = columnNames;
+		this.columnTypes = columnTypes;
+		this.columns = columns;
+		this.rowCount = rowCount;
+	}
+
+	/**
+	 * Read all of the rows from the results into columns. Columns past the end of the column-types array are read as
+	 * {@link DataType#STRING}.
+	 */
+	public static ColumnarRawResults fromResults(DatabaseResults results, DataType[] columnTypes)
+			throws SQLException {
+		int columnN = results.getColumnCount();
+		String[] columnNames = results.getColumnNames();
+		DataType[] types = new DataType[columnN];
+		Column[] columns = new Column[columnN];
+		int capacity = INITIAL_CAPACITY;
+		for (int colC = 0; colC < columnN; colC++) {
+			if (colC < columnTypes.length) {
+				types[colC] = columnTypes[colC];
+			} else {
+				types[colC] = DataType.STRING;
+			}
+			columns[colC] = new Column(types[colC], capacity);
+		}
+		int rowC = 0;
+		for (boolean more = results.first(); more; more = results.next()) {
+			if (rowC == capacity) {
+				capacity *= 2;
+				for (Column column : columns) {
+					column.resize(capacity);
+				}
+			}
+			for (int colC = 0; colC < columnN; colC++) {
+				columns[colC].read(results, colC, rowC);
+			}
+			rowC++;
+		}
+		for (Column column : columns) {
+			column.resize(rowC);
+		}
+		return new ColumnarRawResults(columnNames, types, columns, rowC);
+	}
+
+	/**
+	 * Return the number of rows in the results.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Return the number of columns in the results.
+	 */
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	/**
+	 * Return the names of the columns.
+	 */
+	public String[] getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * Return the data types of the columns.
+	 */
+	public DataType[] getColumnTypes() {
+		return columnTypes;
+	}
+
+	/**
+	 * Return true if the value in the row and column was null. The primitive arrays have 0 or false in that position.
+	 */
+	public boolean isNull(int rowIndex, int columnIndex) {
+		return columns[columnIndex].nulls.get(rowIndex);
+	}
+
+	public boolean[] getBooleanColumn(int columnIndex) {
+		return (boolean[]) getValues(columnIndex, KIND_BOOLEAN);
+	}
+
+	public byte[] getByteColumn(int columnIndex) {
+		return (byte[]) getValues(columnIndex, KIND_BYTE);
+	}
+
+	public short[] getShortColumn(int columnIndex) {
+		return (short[]) getValues(columnIndex, KIND_SHORT);
+	}
+
+	public int[] getIntColumn(int columnIndex) {
+		return (int[]) getValues(columnIndex, KIND_INT);
+	}
+
+	public long[] getLongColumn(int columnIndex) {
+		return (long[]) getValues(columnIndex, KIND_LONG);
+	}
+
+	public float[] getFloatColumn(int columnIndex) {
+		return (float[]) getValues(columnIndex, KIND_FLOAT);
+	}
+
+	public double[] getDoubleColumn(int columnIndex) {
+		return (double[]) getValues(columnIndex, KIND_DOUBLE);
+	}
+
+	public String[] getStringColumn(int columnIndex) {
+		return (String[]) getValues(columnIndex, KIND_STRING);
+	}
+
+	/**
+	 * Return the values of a column that is not stored in one of the primitive or String arrays.
+	 */
+	public Object[] getObjectColumn(int columnIndex) {
+		return (Object[]) getValues(columnIndex, KIND_OBJECT);
+	}
+
+	private Object getValues(int columnIndex, int kind) {
+		Column column = columns[columnIndex];
+		if (column.kind != kind) {
+			throw new IllegalArgumentException("Column " + columnIndex + " has data type " + columnTypes[columnIndex]
+					+ " which is not stored in that type of array");
+		}
+		return column.values;
+	}
+
+	private static int findKind(DataType dataType) {
+		switch (dataType) {
+			case BOOLEAN :
+			case BOOLEAN_OBJ :
+				return KIND_BOOLEAN;
+			case BYTE :
+			case BYTE_OBJ :
+				return KIND_BYTE;
+			case SHORT :
+			case SHORT_OBJ :
+				return KIND_SHORT;
+			case INTEGER :
+			case INTEGER_OBJ :
+				return KIND_INT;
+			case LONG :
+			case LONG_OBJ :
+				return KIND_LONG;
+			case FLOAT :
+			case FLOAT_OBJ :
+				return KIND_FLOAT;
+			case DOUBLE :
+			case DOUBLE_OBJ :
+				return KIND_DOUBLE;
+			case STRING :
+			case LONG_STRING :
+				return KIND_STRING;
+			default :
+				return KIND_OBJECT;
+		}
+	}
+
+	/**
+	 * Values of one column in an array that grows as rows are read.
+	 */
+	private static class Column {
+		final int kind;
+		final DataPersister dataPersister;
+		final BitSet nulls = new BitSet();
+		Object values;
+
+		public Column(DataType dataType, int capacity) {
+			this.kind = findKind(dataType);
+			this.dataPersister = dataType.getDataPersister();
+			this.values = newArray(kind, capacity);
+		}
+
+		public void read(DatabaseResults results, int columnIndex, int rowIndex) throws SQLException {
+			switch (kind) {
+				case KIND_BOOLEAN :
+					((boolean[]) values)[rowIndex] = results.getBoolean(columnIndex);
+					break;
+				case KIND_BYTE :
+					((byte[]) values)[rowIndex] = results.getByte(columnIndex);
+					break;
+				case KIND_SHORT :
+					((short[]) values)[rowIndex] = results.getShort(columnIndex);
+					break;
+				case KIND_INT :
+					((int[]) values)[rowIndex] = results.getInt(columnIndex);
+					break;
+				case KIND_LONG :
+					((long[]) values)[rowIndex] = results.getLong(columnIndex);
+					break;
+				case KIND_FLOAT :
+					((float[]) values)[rowIndex] = results.getFloat(columnIndex);
+					break;
+				case KIND_DOUBLE :
+					((double[]) values)[rowIndex] = results.getDouble(columnIndex);
+					break;
+				case KIND_STRING :
+					String str = results.getString(columnIndex);
+					((String[]) values)[rowIndex] = str;
+					if (str == null) {
+						nulls.set(rowIndex);
+					}
+					return;
+				default :
+					Object obj = dataPersister.resultToJava(null, results, columnIndex);
+					((Object[]) values)[rowIndex] = obj;
+					if (obj == null) {
+						nulls.set(rowIndex);
+					}
+					return;
+			}
+			if (results.wasNull(columnIndex)) {
+				nulls.set(rowIndex);
+			}
+		}
+
+		public void resize(int size) {
+			Object newValues = newArray(kind, size);
+			int copyLength = Math.min(size, Array.getLength(values));
+			System.arraycopy(values, 0, newValues, 0, copyLength);
+			values = newValues;
+		}
+
+		private static Object newArray(int kind, int size) {
+			switch (kind) {
+				case KIND_BOOLEAN :
+					return new boolean[size];
+				case KIND_BYTE :
+					return new byte[size];
+				case KIND_SHORT :
+					return new short[size];
+				case KIND_INT :
+					return new int[size];
+				case KIND_LONG :
+					return new long[size];
+				case KIND_FLOAT :
+					return new float[size];
+				case KIND_DOUBLE :
+					return new double[size];
+				case KIND_STRING :
+					return new String[size];
+				default :
+					return new Object[size];
+			}
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package com.j256.ormlite.dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for ORMLite which stores a certain number of items for each Class like {@link LruObjectCache} but which can be
+ * used by a large number of threads at the same time. Instead of one synchronized map per class, each class's entries
+ * are split by id hash across a number of segments which each have their own lock and their own least-recently-used
+ * ordering. Inserting an object into a full segment causes the least-recently-used object <i>of that segment</i> to
+ * be ejected so the eviction order is an approximation of LRU across the whole class. They can be injected into a dao
+ * with the {@link Dao#setObjectCache(ObjectCache)}.
+ * 
+ * <p>
+ * To keep the ordering exact for small caches, the number of segments is reduced until each has at least
+ * {@link #MIN_SEGMENT_CAPACITY} entries. The capacity is divided between the segments so each class will never hold
+ * more than the capacity.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> If you set the capacity to be 100 then each <i>Class</i> will allow 100 items in the cache. If you have
+ * 5 classes then the cache will hold 500 objects.
+ * </p>
+ * 
+ * <p>
+ * The cache keeps {@link ObjectCacheStatistics} for each class. Objects that are ejected to make room are counted as
+ * evictions.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ConcurrentLruObjectCache implements ObjectCache, ObjectCacheStatistics {
+
+	/** Default number of segments per class if there is enough capacity. */
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	/** Minimum number of entries in each segment. */
+	public static final int MIN_SEGMENT_CAPACITY = 16;
+
+	private final int capacity;
+	private final int segmentCount;
+	private final ConcurrentHashMap<Class<?>, StripedMap> classMaps = new ConcurrentHashMap<Class<?>, StripedMap>();
+
+	public ConcurrentLruObjectCache(int capacity) {
+		this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * @param capacity
+	 *            Number of items to store for each class.
+	 * @param concurrencyLevel
+	 *            Maximum number of segments for each class. This is rounded down to a power of 2.
+	 */
+	public ConcurrentLruObjectCache(int capacity, int concurrencyLevel) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+		}
+		this.capacity = capacity;
+		int count = Integer.highestOneBit(concurrencyLevel);
+		while (count > 1 && capacity / count < MIN_SEGMENT_CAPACITY) {
+			count >>= 1;
+		}
+		this.segmentCount = count;
+	}
+
+	public <T> void registerClass(Class<T> clazz) {
+		if (classMaps.get(clazz) == null) {
+			classMaps.putIfAbsent(clazz, new StripedMap(capacity, segmentCount));
+		}
+	}
+
+	public <T, ID> T get(Class<T> clazz, ID id) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap == null) {
+			return null;
+		}
+		Object obj = objectMap.get(id);
+		if (obj == null) {
+			objectMap.stats.recordMiss();
+		} else {
+			objectMap.stats.recordHit();
+		}
+		@SuppressWarnings("unchecked")
+		T castObj = (T) obj;
+		return castObj;
+	}
+
+	public <T, ID> T getWithoutStats(Class<T> clazz, ID id) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		T castObj = (T) objectMap.get(id);
+		return castObj;
+	}
+
+	public <T, ID> void put(Class<T> clazz, ID id, T data) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap != null) {
+			objectMap.put(id, data);
+			objectMap.stats.recordPut();
+		}
+	}
+
+	public <T> void clear(Class<T> clazz) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap != null) {
+			objectMap.clear();
+		}
+	}
+
+	public void clearAll() {
+		for (StripedMap objectMap : classMaps.values()) {
+			objectMap.clear();
+		}
+	}
+
+	public <T, ID> void remove(Class<T> clazz, ID id) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap != null && objectMap.remove(id) != null) {
+			objectMap.stats.recordRemoval();
+		}
+	}
+
+	public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap == null) {
+			return null;
+		}
+		Object obj = objectMap.remove(oldId);
+		if (obj == null) {
+			return null;
+		}
+		objectMap.put(newId, obj);
+		@SuppressWarnings("unchecked")
+		T castObj = (T) obj;
+		return castObj;
+	}
+
+	public <T> int size(Class<T> clazz) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap == null) {
+			return 0;
+		} else {
+			return objectMap.size();
+		}
+	}
+
+	public int sizeAll() {
+		int size = 0;
+		for (StripedMap objectMap : classMaps.values()) {
+			size += objectMap.size();
+		}
+		return size;
+	}
+
+	public <T> void recordLoad(Class<T> clazz, long loadNanos) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap != null) {
+			objectMap.stats.recordLoad(loadNanos);
+		}
+	}
+
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		StripedMap objectMap = classMaps.get(clazz);
+		if (objectMap == null) {
+			return new ObjectCacheStatsCounter().snapshot();
+		} else {
+			return objectMap.stats.snapshot();
+		}
+	}
+
+	public ObjectCacheStats getStatsAll() {
+		ObjectCacheStats total = new ObjectCacheStatsCounter().snapshot();
+		for (StripedMap objectMap : classMaps.values()) {
+			total = total.plus(objectMap.stats.snapshot());
+		}
+		return total;
+	}
+
+	public void resetStats() {
+		for (StripedMap objectMap : classMaps.values()) {
+			objectMap.stats.reset();
+		}
+	}
+
+	/**
+	 * The entries for one class split across segments by the hash of the id.
+	 */
+	private static class StripedMap {
+
+		final ObjectCacheStatsCounter stats = new ObjectCacheStatsCounter();
+		private final Segment[] segments;
+		private final int segmentMask;
+
+		public StripedMap(int capacity, int segmentCount) {
+			this.segments = new Segment[segmentCount];
+			this.segmentMask = segmentCount - 1;
+			// spread the capacity so that the segments add up to exactly the capacity
+			int segmentCapacity = capacity / segmentCount;
+			int extra = capacity % segmentCount;
+			for (int i = 0; i < segmentCount; i++) {
+				segments[i] = new Segment(i < extra ? segmentCapacity + 1 : segmentCapacity, stats);
+			}
+		}
+
+		public Object get(Object id) {
+			Segment segment = segmentFor(id);
+			synchronized (segment) {
+				return segment.get(id);
+			}
+		}
+
+		public void put(Object id, Object data) {
+			Segment segment = segmentFor(id);
+			synchronized (segment) {
+				segment.put(id, data);
+			}
+		}
+
+		public Object remove(Object id) {
+			Segment segment = segmentFor(id);
+			synchronized (segment) {
+				return segment.remove(id);
+			}
+		}
+
+		public void clear() {
+			for (Segment segment : segments) {
+				synchronized (segment) {
+					segment.clear();
+				}
+			}
+		}
+
+		public int size() {
+			int size = 0;
+			for (Segment segment : segments) {
+				synchronized (segment) {
+					size += segment.size();
+				}
+			}
+			return size;
+		}
+
+		private Segment segmentFor(Object id) {
+			if (segmentMask == 0) {
+				return segments[0];
+			}
+			// spread the high bits down since we only use the low ones
+			int hash = id.hashCode();
+			hash ^= (hash >>> 16);
+			hash ^= (hash >>> 8);
+			return segments[hash & segmentMask];
+		}
+	}
+
+	/**
+	 * One segment of the entries which is ordered by access and ejects its eldest entry once it is full.
+	 */
+	private static class Segment extends LinkedHashMap<Object, Object> {
+
+		private static final long serialVersionUID = 2781463436420451683L;
+		private final int capacity;
+		private final ObjectCacheStatsCounter stats;
+
+		public Segment(int capacity, ObjectCacheStatsCounter stats) {
+			super(capacity, 0.75F, true);
+			this.capacity = capacity;
+			this.stats = stats;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Entry<Object, Object> eldest) {
+			if (size() > capacity) {
+				stats.recordEviction();
+				return true;
+			} else {
+				return false;
+			}
+		}
+	}
+}
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
@@ -149,6 +150,22 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public List<T> query(PreparedQuery<T> preparedQuery) throws SQLException;
 
+	/**
+	 * Query for the items in the object table which match the prepared query but map each of the rows with the row
+	 * mapper instead of building the entity objects. This is typically used with a
+	 * {@link com.j256.ormlite.stmt.ProjectionRowMapper} to map the columns selected with
+	 * {@link QueryBuilder#selectColumns(String...)} into a smaller class. See {@link QueryBuilder#queryProjection(Class)}.
+	 * 
+	 * @param preparedQuery
+	 *            Query used to match the objects in the database.
+	 * @param rowMapper
+	 *            Mapper which is called for each of the rows in the results.
+	 * @return A list of the mapped objects for all of the rows that match the query.
+	 * @throws SQLException
+	 *             on any SQL problems.
+	 */
+	public <UO> List<UO> query(PreparedQuery<T> preparedQuery, GenericRowMapper<UO> rowMapper) throws SQLException;
+
 	/**
 	 * Create a new row in the database from an object.
 	 * 
@@ -158,6 +175,17 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public int create(T data) throws SQLException;
 
+	/**
+	 * Create new rows in the database from a collection of objects. The objects are sent to the database in batches of
+	 * the same insert statement instead of a statement per object. Any generated-ids are assigned to the objects as
+	 * with {@link #create(Object)}.
+	 * 
+	 * @param datas
+	 *            The collection of data items that we are creating in the database.
+	 * @return The number of rows updated in the database. This should be the size() of the collection.
+	 */
+	public int createBatch(Collection<T> datas) throws SQLException;
+
 	/**
 	 * This is a convenience method to creating a data item but only if the ID does not already exist in the table. This
 	 * extracts the ID from the data parameter, does a {@link #queryForId(Object)} on it, returning the data if it
@@ -168,6 +196,17 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public T createIfNotExists(T data) throws SQLException;
 
+	/**
+	 * Same as {@link #createIfNotExists(Object)} but for a collection of data items. The ids are extracted from the
+	 * items and the existing rows are found with as few IN queries as the database's argument limit allows. The items
+	 * that do not exist are then created with {@link #createBatch(Collection)}. If items in the collection share an id then
+	 * only the first is created.
+	 * 
+	 * @return A list with, for each item in the collection, either the item if it was inserted or the data element
+	 *         that existed already in the database. Null items in the collection are returned as null.
+	 */
+	public List<T> createBatchIfNotExists(Collection<T> datas) throws SQLException;
+
 	/**
 	 * This is a convenience method for creating an item in the database if it does not exist. The id is extracted from
 	 * the data argument and a query-by-id is made on the database. If a row in the database with the same id exists
@@ -175,10 +214,26 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 * (or 0 or some other default value) or doesn't exist in the database then the object will be created in the
 	 * database. This also means that your data item <i>must</i> have an id field defined.
 	 * 
+	 * <p>
+	 * <b>NOTE:</b> If you don't need to know whether an insert or an update was performed then {@link #upsert(Object)}
+	 * may be able to do this with a single statement.
+	 * </p>
+	 * 
 	 * @return Status object with the number of rows changed and whether an insert or update was performed.
 	 */
 	public CreateOrUpdateStatus createOrUpdate(T data) throws SQLException;
 
+	/**
+	 * Like {@link #createOrUpdate(Object)} but without reporting whether the object was created or updated. If the
+	 * database type supports upsert statements (see {@link DatabaseType#isUpsertSupported()}) and the id is set then
+	 * this is done with a single statement instead of a query followed by an insert or update. Classes with generated
+	 * ids, version fields, or foreign auto-create fields always use {@link #createOrUpdate(Object)}.
+	 * 
+	 * @return The number of rows changed in the database which, depending on the database type, may be different for
+	 *         an insert and an update.
+	 */
+	public int upsert(T data) throws SQLException;
+
 	/**
 	 * Store the fields from an object to the database. If you have made changes to an object, this is how you persist
 	 * those changes to the database. You cannot use this method to update the id field -- see {@link #updateId} .
@@ -197,6 +252,20 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public int update(T data) throws SQLException;
 
+	/**
+	 * Update a collection of objects in the database. The same update statement is used for all of the objects and they
+	 * are sent to the database in batches on a single connection. As with {@link #update(Object)}, the version field of
+	 * each object is checked and incremented.
+	 * 
+	 * @param datas
+	 *            The collection of data items that we are updating in the database.
+	 * @return Status object with the number of rows changed and the objects whose rows were not updated because they
+	 *         did not exist or their version field did not match.
+	 * @throws SQLException
+	 *             on any SQL problems.
+	 */
+	public BatchUpdateStatus<T> update(Collection<T> datas) throws SQLException;
+
 	/**
 	 * Update an object in the database to change its id to the newId parameter. The data <i>must</i> have its current
 	 * id set. If the id field has already changed then it cannot be updated. After the id has been updated in the
@@ -480,6 +549,15 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	public <UO> GenericRawResults<UO> queryRaw(String query, RawRowMapper<UO> mapper, String... arguments)
 			throws SQLException;
 
+	/**
+	 * Similar to the {@link #queryRaw(String, RawRowMapper, String...)} but, instead of a String[] for each row, the
+	 * mapper is passed a {@link RawRowView} with typed getters which reads straight from the database results. The same
+	 * view is reused for every row so it is only valid during the call to {@link RawRowViewMapper#mapRow(RawRowView)}.
+	 * This is meant for reading a large number of rows with as little garbage as possible.
+	 */
+	public <UO> GenericRawResults<UO> queryRaw(String query, RawRowViewMapper<UO> mapper, String... arguments)
+			throws SQLException;
+
 	/**
 	 * Similar to the {@link #queryRaw(String, RawRowMapper, String...)} but uses the column-types array to present an
 	 * array of object results to the mapper instead of strings. The arguments are optional but can be set with strings
@@ -496,6 +574,15 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	public GenericRawResults<Object[]> queryRaw(String query, DataType[] columnTypes, String... arguments)
 			throws SQLException;
 
+	/**
+	 * Similar to the {@link #queryRaw(String, DataType[], String...)} but all of the rows are read into a
+	 * {@link ColumnarRawResults} which stores each column in its own array. Numeric and boolean columns are stored in
+	 * primitive arrays so no object is created for each value. The arguments are optional but can be set with strings
+	 * to expand ? type of SQL.
+	 */
+	public ColumnarRawResults queryRawColumnar(String query, DataType[] columnTypes, String... arguments)
+			throws SQLException;
+
 	/**
 	 * Perform a raw query that returns a single value (usually an aggregate function like MAX or COUNT). If the query
 	 * does not return a single long value then it will throw a SQLException.
@@ -667,6 +754,49 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void clearObjectCache();
 
+	/**
+	 * Set the cache of query results for the DAO. The results of {@link #query(PreparedQuery)},
+	 * {@link #queryForFirst(PreparedQuery)}, and {@link #countOf(PreparedQuery)} are then cached by their SQL and
+	 * argument values until this DAO, or another DAO using the same cache, changes the table. The same cache can be
+	 * shared by a number of DAOs. See {@link QueryResultCache} for the limitations. Call it with null to disable the
+	 * cache.
+	 */
+	public void setQueryResultCache(QueryResultCache queryResultCache);
+
+	/**
+	 * Returns the current query-result-cache being used by the DAO or null if none.
+	 */
+	public QueryResultCache getQueryResultCache();
+
+	/**
+	 * Set the cache of ids which {@link #queryForId(Object)} did not find. Looking up one of those ids again before its
+	 * time-to-live runs out returns null without going to the database. An id is dropped from the cache when this DAO,
+	 * or another DAO using the same cache, creates, upserts, updates, or changes the id of an object to have that id.
+	 * See {@link MissingIdCache} for the limitations. Call it with null to disable the cache.
+	 */
+	public void setMissingIdCache(MissingIdCache missingIdCache);
+
+	/**
+	 * Returns the current missing-id-cache being used by the DAO or null if none.
+	 */
+	public MissingIdCache getMissingIdCache();
+
+	/**
+	 * Call this with true to enable dirty tracking for the DAO's class. The field values of objects are remembered when
+	 * they are read from or written to the database. When an object is later passed to {@link #update(Object)}, only
+	 * the columns that have changed are set in the UPDATE statement and if no columns have changed then the database
+	 * is not touched and 0 is returned. Call it with false to disable it. It is disabled by default.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The snapshots are kept by object identity so objects must be read or written through ORMLite before
+	 * their changes can be tracked. Objects without a snapshot are always updated in full.
+	 * </p>
+	 * 
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field which is required to update objects.
+	 */
+	public void setDirtyTracking(boolean enabled) throws SQLException;
+
 	/**
 	 * Return the latest row from the database results from a query to select * (star).
 	 */
@@ -810,4 +940,28 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 			return numLinesChanged;
 		}
 	}
+
+	/**
+	 * Return class for the {@link Dao#update(Collection)} method.
+	 */
+	public static class BatchUpdateStatus<T> {
+		private int numLinesChanged;
+		private List<T> failedUpdates;
+		public BatchUpdateStatus(int numberLinesChanged, List<T> failedUpdates) {
+			this.numLinesChanged = numberLinesChanged;
+			this.failedUpdates = failedUpdates;
+		}
+		public int getNumLinesChanged() {
+			return numLinesChanged;
+		}
+		/**
+		 * Return the objects whose rows were not updated because they did not exist or their version did not match.
+		 */
+		public List<T> getFailedUpdates() {
+			return failedUpdates;
+		}
+		public boolean isAllUpdated() {
+			return failedUpdates.isEmpty();
+		}
+	}
 }
@@ -16,13 +16,20 @@ import java.util.concurrent.ConcurrentHashMap;
  * 5 classes then the cache will hold 500 objects.
  * </p>
  * 
+ * <p>
+ * The cache keeps {@link ObjectCacheStatistics} for each class. Objects that are ejected to make room are counted as
+ * evictions.
+ * </p>
+ * 
  * @author graywatson
  */
-public class LruObjectCache implements ObjectCache {
+public class LruObjectCache implements ObjectCache, ObjectCacheStatistics {
 
 	private final int capacity;
 	private final ConcurrentHashMap<Class<?>, Map<Object, Object>> classMaps =
 			new ConcurrentHashMap<Class<?>, Map<Object, Object>>();
+	private final ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter> classStats =
+			new ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter>();
 
 	public LruObjectCache(int capacity) {
 		this.capacity = capacity;
@@ -31,26 +38,26 @@ public class LruObjectCache implements ObjectCache {
 	public synchronized <T> void registerClass(Class<T> clazz) {
 		Map<Object, Object> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
-			objectMap = Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity));
+			ObjectCacheStatsCounter stats = new ObjectCacheStatsCounter();
+			classStats.put(clazz, stats);
+			objectMap = Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity, stats));
 			classMaps.put(clazz, objectMap);
 		}
 	}
 
 	public <T, ID> T get(Class<T> clazz, ID id) {
-		Map<Object, Object> objectMap = getMapForClass(clazz);
-		if (objectMap == null) {
-			return null;
-		}
-		Object obj = objectMap.get(id);
-		@SuppressWarnings("unchecked")
-		T castObj = (T) obj;
-		return castObj;
+		return get(clazz, id, true);
+	}
+
+	public <T, ID> T getWithoutStats(Class<T> clazz, ID id) {
+		return get(clazz, id, false);
 	}
 
 	public <T, ID> void put(Class<T> clazz, ID id, T data) {
 		Map<Object, Object> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
 			objectMap.put(id, data);
+			classStats.get(clazz).recordPut();
 		}
 	}
 
@@ -69,8 +76,8 @@ public class LruObjectCache implements ObjectCache {
 
 	public <T, ID> void remove(Class<T> clazz, ID id) {
 		Map<Object, Object> objectMap = getMapForClass(clazz);
-		if (objectMap != null) {
-			objectMap.remove(id);
+		if (objectMap != null && objectMap.remove(id) != null) {
+			classStats.get(clazz).recordRemoval();
 		}
 	}
 
@@ -106,6 +113,55 @@ public class LruObjectCache implements ObjectCache {
 		return size;
 	}
 
+	public <T> void recordLoad(Class<T> clazz, long loadNanos) {
+		ObjectCacheStatsCounter stats = classStats.get(clazz);
+		if (stats != null) {
+			stats.recordLoad(loadNanos);
+		}
+	}
+
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ObjectCacheStatsCounter stats = classStats.get(clazz);
+		if (stats == null) {
+			return new ObjectCacheStatsCounter().snapshot();
+		} else {
+			return stats.snapshot();
+		}
+	}
+
+	public ObjectCacheStats getStatsAll() {
+		ObjectCacheStats total = new ObjectCacheStatsCounter().snapshot();
+		for (ObjectCacheStatsCounter stats : classStats.values()) {
+			total = total.plus(stats.snapshot());
+		}
+		return total;
+	}
+
+	public void resetStats() {
+		for (ObjectCacheStatsCounter stats : classStats.values()) {
+			stats.reset();
+		}
+	}
+
+	private <T, ID> T get(Class<T> clazz, ID id, boolean recordStats) {
+		Map<Object, Object> objectMap = getMapForClass(clazz);
+		if (objectMap == null) {
+			return null;
+		}
+		Object obj = objectMap.get(id);
+		if (recordStats) {
+			ObjectCacheStatsCounter stats = classStats.get(clazz);
+			if (obj == null) {
+				stats.recordMiss();
+			} else {
+				stats.recordHit();
+			}
+		}
+		@SuppressWarnings("unchecked")
+		T castObj = (T) obj;
+		return castObj;
+	}
+
 	private Map<Object, Object> getMapForClass(Class<?> clazz) {
 		Map<Object, Object> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
@@ -122,15 +178,22 @@ public class LruObjectCache implements ObjectCache {
 
 		private static final long serialVersionUID = -4566528080395573236L;
 		private final int capacity;
+		private final ObjectCacheStatsCounter stats;
 
-		public LimitedLinkedHashMap(int capacity) {
+		public LimitedLinkedHashMap(int capacity, ObjectCacheStatsCounter stats) {
 			super(capacity, 0.75F, true);
 			this.capacity = capacity;
+			this.stats = stats;
 		}
 
 		@Override
 		protected boolean removeEldestEntry(Entry<K, V> eldest) {
-			return size() > capacity;
+			if (size() > capacity) {
+				stats.recordEviction();
+				return true;
+			} else {
+				return false;
+			}
 		}
 	}
 }
@@ -0,0 +1,209 @@
+package com.j256.ormlite.dao;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Cache of the ids which {@link Dao#queryForId(Object)} did not find in the database so that looking them up again
+ * within a short time does not go to the database. It can be injected into one or more daos with
+ * {@link Dao#setMissingIdCache(MissingIdCache)}. Each missing id is remembered for the time-to-live of its class.
+ * Whenever one of the daos creates, upserts, updates, or changes the id of an object, its id is dropped from the
+ * cache. Raw updates and executes drop all of the ids since we don't know which rows they created. If another query
+ * has since put the object into the dao's object cache then it is returned and its id is dropped. Inserting an id into
+ * a full cache causes the least-recently-used id to be ejected.
+ *
+ * <p>
+ * <b>NOTE:</b> Only rows created through the daos using the cache are seen so other programs writing to the tables
+ * may not see their rows returned until the time-to-live runs out. Rows created inside of a transaction drop their id
+ * from the cache when they are inserted and not when they are committed.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class MissingIdCache {
+
+	private final int capacity;
+	private final long defaultTtlMillis;
+	private final LinkedHashMap<EntryKey, Long> expireMap;
+	private final Map<Class<?>, Long> classTtlMillis = new HashMap<Class<?>, Long>();
+	// incremented each time a class is changed so misses read before then are not stored
+	private final Map<Class<?>, Long> classVersions = new HashMap<Class<?>, Long>();
+	private long allVersion;
+
+	/**
+	 * @param capacity
+	 *            Maximum number of missing ids to remember for all of the classes.
+	 * @param defaultTtlMillis
+	 *            Number of milliseconds that missing ids are remembered for classes which don't have their own setting.
+	 */
+	public MissingIdCache(int capacity, long defaultTtlMillis) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		if (defaultTtlMillis < 0) {
+			throw new IllegalArgumentException("Time-to-live must not be negative: " + defaultTtlMillis);
+		}
+		this.capacity = capacity;
+		this.defaultTtlMillis = defaultTtlMillis;
+		this.expireMap = new LinkedHashMap<EntryKey, Long>(16, 0.75F, true) {
+			private static final long serialVersionUID = 6113474985046542707L;
+			@Override
+			protected boolean removeEldestEntry(Entry<EntryKey, Long> eldest) {
+				return size() > MissingIdCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Set the number of milliseconds that the missing ids of a certain class are remembered. 0 means that they are not
+	 * cached at all.
+	 */
+	public synchronized <T> void setTtlMillis(Class<T> clazz, long ttlMillis) {
+		if (ttlMillis < 0) {
+			throw new IllegalArgumentException("Time-to-live must not be negative: " + ttlMillis);
+		}
+		classTtlMillis.put(clazz, ttlMillis);
+		if (ttlMillis == 0) {
+			clear(clazz);
+		}
+	}
+
+	/**
+	 * Return true if the id was recently not found in the database.
+	 */
+	public synchronized <T, ID> boolean isMissing(Class<T> clazz, ID id) {
+		EntryKey key = new EntryKey(clazz, id);
+		Long expireMillis = expireMap.get(key);
+		if (expireMillis == null) {
+			return false;
+		}
+		if (currentTimeMillis() >= expireMillis) {
+			expireMap.remove(key);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the version of the class which should be read <i>before</i> looking for an id and passed to
+	 * {@link #putMissing(Class, Object, long)} afterwards.
+	 */
+	public synchronized <T> long getVersion(Class<T> clazz) {
+		Long version = classVersions.get(clazz);
+		return allVersion + (version == null ? 0 : version);
+	}
+
+	/**
+	 * Remember that an id was not found unless an object of the class has been created since the version was read.
+	 */
+	public synchronized <T, ID> void putMissing(Class<T> clazz, ID id, long version) {
+		long ttlMillis = getTtlMillis(clazz);
+		if (ttlMillis == 0 || getVersion(clazz) != version) {
+			return;
+		}
+		expireMap.put(new EntryKey(clazz, id), currentTimeMillis() + ttlMillis);
+	}
+
+	/**
+	 * Drop an id from the cache because an object of the class now has it. The id can be null if it is not known in
+	 * which case only misses that are in progress are affected.
+	 */
+	public synchronized <T, ID> void invalidate(Class<T> clazz, ID id) {
+		Long version = classVersions.get(clazz);
+		classVersions.put(clazz, (version == null ? 1 : version + 1));
+		if (id != null) {
+			expireMap.remove(new EntryKey(clazz, id));
+		}
+	}
+
+	/**
+	 * Drop all of the missing ids of a class.
+	 */
+	public synchronized <T> void clear(Class<T> clazz) {
+		// so misses that are in progress are not stored either
+		Long version = classVersions.get(clazz);
+		classVersions.put(clazz, (version == null ? 1 : version + 1));
+		Iterator<EntryKey> iterator = expireMap.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().clazz == clazz) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drop all of the missing ids of all of the classes.
+	 */
+	public synchronized void clearAll() {
+		allVersion++;
+		expireMap.clear();
+	}
+
+	/**
+	 * Return the number of missing ids remembered for a class including any that have expired but not been removed.
+	 */
+	public synchronized <T> int size(Class<T> clazz) {
+		int size = 0;
+		for (EntryKey key : expireMap.keySet()) {
+			if (key.clazz == clazz) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Return the number of missing ids remembered for all of the classes including any that have expired but not been
+	 * removed.
+	 */
+	public synchronized int sizeAll() {
+		return expireMap.size();
+	}
+
+	/**
+	 * Return the current time in milliseconds. This is here so tests can control the time.
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private long getTtlMillis(Class<?> clazz) {
+		Long ttlMillis = classTtlMillis.get(clazz);
+		if (ttlMillis == null) {
+			return defaultTtlMillis;
+		} else {
+			return ttlMillis;
+		}
+	}
+
+	/**
+	 * Key of a missing id which is the class and the id.
+	 */
+	private static class EntryKey {
+
+		final Class<?> clazz;
+		private final Object id;
+
+		public EntryKey(Class<?> clazz, Object id) {
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return clazz.hashCode() * 31 + id.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			EntryKey other = (EntryKey) obj;
+			return clazz == other.clazz && id.equals(other.id);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Optional interface of an {@link ObjectCache} which keeps statistics about how it is used for each class. The cache
+ * counts its own hits, misses, puts, evictions, and removals while the time it takes to load objects from the database
+ * after a miss is recorded by the mapped queries with {@link #recordLoad(Class, long)}.
+ * 
+ * @author graywatson
+ */
+public interface ObjectCacheStatistics {
+
+	/**
+	 * Record that an object of a certain class was not in the cache and was loaded from the database in a certain
+	 * number of nanoseconds.
+	 */
+	public <T> void recordLoad(Class<T> clazz, long loadNanos);
+
+	/**
+	 * Return the object like {@link ObjectCache#get(Class, Object)} but without counting a hit or a miss. This is used
+	 * by the mapped queries when they look for an object a second time after the first lookup was already counted.
+	 */
+	public <T, ID> T getWithoutStats(Class<T> clazz, ID id);
+
+	/**
+	 * Return a snapshot of the statistics for a certain class.
+	 */
+	public <T> ObjectCacheStats getStats(Class<T> clazz);
+
+	/**
+	 * Return a snapshot of the statistics summed across all of the classes.
+	 */
+	public ObjectCacheStats getStatsAll();
+
+	/**
+	 * Reset all of the statistics of all of the classes to 0.
+	 */
+	public void resetStats();
+}
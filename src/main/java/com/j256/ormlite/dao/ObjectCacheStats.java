@@ -0,0 +1,107 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Snapshot of the statistics of an {@link ObjectCache} as returned by {@link ObjectCacheStatistics}.
+ * 
+ * @author graywatson
+ */
+public class ObjectCacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long putCount;
+	private final long evictionCount;
+	private final long removalCount;
+	private final long loadCount;
+	private final long totalLoadNanos;
+
+	public ObjectCacheStats(long hitCount, long missCount, long putCount, long evictionCount, long removalCount,
+			long loadCount, long totalLoadNanos) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+		this.evictionCount = evictionCount;
+		this.removalCount = removalCount;
+		this.loadCount = loadCount;
+		this.totalLoadNanos = totalLoadNanos;
+	}
+
+	/**
+	 * Return the number of lookups which found an object.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of lookups which did not find an object.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of objects put into the cache.
+	 */
+	public long getPutCount() {
+		return putCount;
+	}
+
+	/**
+	 * Return the number of objects that the cache dropped on its own, either to make room or because the GC freed them.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Return the number of objects removed from the cache by id.
+	 */
+	public long getRemovalCount() {
+		return removalCount;
+	}
+
+	/**
+	 * Return the number of objects loaded from the database after a miss.
+	 */
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * Return the total number of nanoseconds spent loading objects from the database after a miss.
+	 */
+	public long getTotalLoadNanos() {
+		return totalLoadNanos;
+	}
+
+	/**
+	 * Return the hits divided by the lookups or 0 if there were no lookups.
+	 */
+	public double getHitRate() {
+		long lookups = hitCount + missCount;
+		return (lookups == 0 ? 0 : (double) hitCount / lookups);
+	}
+
+	/**
+	 * Return the average number of nanoseconds to load an object or 0 if there were no loads.
+	 */
+	public double getAverageLoadNanos() {
+		return (loadCount == 0 ? 0 : (double) totalLoadNanos / loadCount);
+	}
+
+	/**
+	 * Return the sum of these statistics and the other ones.
+	 */
+	public ObjectCacheStats plus(ObjectCacheStats other) {
+		return new ObjectCacheStats(hitCount + other.hitCount, missCount + other.missCount,
+				putCount + other.putCount, evictionCount + other.evictionCount, removalCount + other.removalCount,
+				loadCount + other.loadCount, totalLoadNanos + other.totalLoadNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount + ",misses=" + missCount + ",puts=" + putCount + ",evictions=" + evictionCount
+				+ ",removals=" + removalCount + ",loads=" + loadCount + ",loadNanos=" + totalLoadNanos;
+	}
+}
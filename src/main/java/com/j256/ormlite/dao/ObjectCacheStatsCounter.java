@@ -0,0 +1,98 @@
+package com.j256.ormlite.dao;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters of the statistics of one class in an {@link ObjectCache}. To keep threads from fighting over the same
+ * counters, each counter is striped across a number of cells, each on its own cache line, and a thread increments the
+ * cell picked by its id. The cells are only summed when a snapshot is taken.
+ * 
+ * <p>
+ * <b>NOTE:</b> Taking a snapshot or resetting while other threads are counting is not atomic so the counters may be
+ * off by the operations that were running at the time.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ObjectCacheStatsCounter {
+
+	private static final int HIT = 0;
+	private static final int MISS = 1;
+	private static final int PUT = 2;
+	private static final int EVICTION = 3;
+	private static final int REMOVAL = 4;
+	private static final int LOAD = 5;
+	private static final int LOAD_NANOS = 6;
+	// 8 longs are 64 bytes which is a common cache-line size
+	private static final int CELL_SIZE = 8;
+	private static final int STRIPE_COUNT;
+
+	static {
+		int stripes = 1;
+		while (stripes < Runtime.getRuntime().availableProcessors() && stripes < 64) {
+			stripes <<= 1;
+		}
+		STRIPE_COUNT = stripes;
+	}
+
+	// an extra cell at the front so the first one isn't next to the array header
+	private final AtomicLongArray cells = new AtomicLongArray((STRIPE_COUNT + 1) * CELL_SIZE);
+
+	public void recordHit() {
+		increment(HIT, 1);
+	}
+
+	public void recordMiss() {
+		increment(MISS, 1);
+	}
+
+	public void recordPut() {
+		increment(PUT, 1);
+	}
+
+	public void recordEviction() {
+		increment(EVICTION, 1);
+	}
+
+	public void recordRemoval() {
+		increment(REMOVAL, 1);
+	}
+
+	public void recordLoad(long loadNanos) {
+		int base = cellBase();
+		cells.getAndAdd(base + LOAD, 1);
+		cells.getAndAdd(base + LOAD_NANOS, loadNanos);
+	}
+
+	/**
+	 * Return a snapshot of the counters.
+	 */
+	public ObjectCacheStats snapshot() {
+		long[] sums = new long[CELL_SIZE];
+		for (int stripe = 1; stripe <= STRIPE_COUNT; stripe++) {
+			int base = stripe * CELL_SIZE;
+			for (int i = 0; i < sums.length; i++) {
+				sums[i] += cells.get(base + i);
+			}
+		}
+		return new ObjectCacheStats(sums[HIT], sums[MISS], sums[PUT], sums[EVICTION], sums[REMOVAL], sums[LOAD],
+				sums[LOAD_NANOS]);
+	}
+
+	/**
+	 * Set all of the counters back to 0.
+	 */
+	public void reset() {
+		for (int i = 0; i < cells.length(); i++) {
+			cells.set(i, 0);
+		}
+	}
+
+	private void increment(int counter, long delta) {
+		cells.getAndAdd(cellBase() + counter, delta);
+	}
+
+	private int cellBase() {
+		return (((int) Thread.currentThread().getId() & (STRIPE_COUNT - 1)) + 1) * CELL_SIZE;
+	}
+}
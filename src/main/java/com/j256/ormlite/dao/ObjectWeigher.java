@@ -0,0 +1,17 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Returns the weight of an object that is being put into a {@link WeightedObjectCache}. The weight is usually an
+ * estimate of the number of bytes that the object holds on the heap but it can be in any unit as long as it matches the
+ * maximum weight of the cache.
+ * 
+ * @author graywatson
+ */
+public interface ObjectWeigher {
+
+	/**
+	 * Return the weight of the object with the id. This must be 1 or more otherwise
+	 * {@link WeightedObjectCache#put(Class, Object, Object)} throws an IllegalArgumentException.
+	 */
+	public long weigh(Object id, Object data);
+}
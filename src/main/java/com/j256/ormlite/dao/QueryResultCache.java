@@ -0,0 +1,244 @@
+package com.j256.ormlite.dao;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.j256.ormlite.stmt.PreparedQuery;
+
+/**
+ * Cache of the results of prepared queries which can be injected into one or more daos with
+ * {@link Dao#setQueryResultCache(QueryResultCache)}. The results of {@link Dao#query(PreparedQuery)},
+ * {@link Dao#queryForFirst(PreparedQuery)}, and {@link Dao#countOf(PreparedQuery)} are stored under the SQL of the
+ * query and the values of its arguments. Whenever one of the daos creates, updates, or deletes rows, all of the cached
+ * results for its table are dropped. Raw updates and executes drop all of the cached results since we don't know
+ * which tables they changed. Each result also expires a fixed time after it was stored. Inserting a cached entry into
+ * a full cache causes the least-recently-used entry to be ejected.
+ *
+ * <p>
+ * <b>NOTE:</b> This is designed for tables which are read a lot more often than they are changed. Only changes made
+ * through the daos using the cache are seen so the tables should not be changed by other programs. Queries which join
+ * other tables are only invalidated by changes to the table of the dao that ran them.
+ * </p>
+ *
+ * <p>
+ * <b>WARNING:</b> Changes made inside of a transaction invalidate the cache when they are run and not when they are
+ * committed or rolled back. While the transaction is open, other connections can read the old rows and the
+ * transaction's own connection can read rows that may be rolled back, and either of these can be cached. They are not
+ * dropped when the transaction ends so the cached results can be wrong until they expire. The expire-after-write time
+ * is the bound on how stale the results can be and should be set with that in mind.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> The results of queries which return objects are stored as the ids of the objects and not the objects
+ * themselves. When the results are hit, the objects are read back by their ids from the dao's {@link ObjectCache} or,
+ * without one, with a query-for-id each so the cache works best along with an object cache. Each caller gets its own
+ * objects unless they are shared through the object cache. Only queries which select all of the columns of a table
+ * with an id field are cached. If one of the rows has since gone away then the query is run again.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class QueryResultCache {
+
+	private final int capacity;
+	private final long expireAfterWriteMillis;
+	private final LinkedHashMap<CacheKey, CacheEntry> resultMap;
+	// keys of the cached results of each table so we can invalidate them
+	private final Map<String, Set<CacheKey>> tableKeys = new HashMap<String, Set<CacheKey>>();
+	// incremented each time a table is invalidated so results read before then are not stored
+	private final Map<String, Long> tableVersions = new HashMap<String, Long>();
+	private long allVersion;
+
+	/**
+	 * @param capacity
+	 *            Maximum number of query results to keep for all of the tables.
+	 * @param expireAfterWriteMillis
+	 *            Number of milliseconds after being stored that a result expires. This bounds how long results which
+	 *            were read around a transaction can be stale. See the class javadocs.
+	 */
+	public QueryResultCache(int capacity, long expireAfterWriteMillis) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		if (expireAfterWriteMillis <= 0) {
+			throw new IllegalArgumentException("Expire-after-write time must be positive: " + expireAfterWriteMillis);
+		}
+		this.capacity = capacity;
+		this.expireAfterWriteMillis = expireAfterWriteMillis;
+		this.resultMap = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75F, true) {
+			private static final long serialVersionUID = -2316398174620934218L;
+			@Override
+			protected boolean removeEldestEntry(Entry<CacheKey, CacheEntry> eldest) {
+				if (size() <= QueryResultCache.this.capacity) {
+					return false;
+				}
+				removeTableKey(eldest.getKey());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Return the cached result or null if none or if it has expired.
+	 */
+	public synchronized Object get(CacheKey key) {
+		CacheEntry entry = resultMap.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (currentTimeMillis() >= entry.expireMillis) {
+			resultMap.remove(key);
+			removeTableKey(key);
+			return null;
+		}
+		return entry.result;
+	}
+
+	/**
+	 * Return the version of the table which should be read <i>before</i> running a query and passed to
+	 * {@link #put(CacheKey, Object, long)} afterwards.
+	 */
+	public synchronized long getVersion(String tableName) {
+		Long version = tableVersions.get(tableName);
+		return allVersion + (version == null ? 0 : version);
+	}
+
+	/**
+	 * Store the result of a query unless the table has been invalidated since the version was read.
+	 */
+	public synchronized void put(CacheKey key, Object result, long version) {
+		if (getVersion(key.tableName) != version) {
+			return;
+		}
+		resultMap.put(key, new CacheEntry(result, currentTimeMillis() + expireAfterWriteMillis));
+		Set<CacheKey> keys = tableKeys.get(key.tableName);
+		if (keys == null) {
+			keys = new HashSet<CacheKey>();
+			tableKeys.put(key.tableName, keys);
+		}
+		keys.add(key);
+	}
+
+	/**
+	 * Drop all of the cached results for a table.
+	 */
+	public synchronized void invalidate(String tableName) {
+		Long version = tableVersions.get(tableName);
+		tableVersions.put(tableName, (version == null ? 1 : version + 1));
+		Set<CacheKey> keys = tableKeys.remove(tableName);
+		if (keys != null) {
+			for (CacheKey key : keys) {
+				resultMap.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Drop all of the cached results for all of the tables.
+	 */
+	public synchronized void clearAll() {
+		allVersion++;
+		resultMap.clear();
+		tableKeys.clear();
+	}
+
+	/**
+	 * Return the number of cached results for a table.
+	 */
+	public synchronized int size(String tableName) {
+		Set<CacheKey> keys = tableKeys.get(tableName);
+		if (keys == null) {
+			return 0;
+		} else {
+			return keys.size();
+		}
+	}
+
+	/**
+	 * Return the number of cached results for all of the tables.
+	 */
+	public synchronized int sizeAll() {
+		return resultMap.size();
+	}
+
+	/**
+	 * Return the current time in milliseconds. This is here so tests can control the time.
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private void removeTableKey(CacheKey key) {
+		Set<CacheKey> keys = tableKeys.get(key.tableName);
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				tableKeys.remove(key.tableName);
+			}
+		}
+	}
+
+	/**
+	 * A cached result and when it expires.
+	 */
+	private static class CacheEntry {
+
+		final Object result;
+		final long expireMillis;
+
+		public CacheEntry(Object result, long expireMillis) {
+			this.result = result;
+			this.expireMillis = expireMillis;
+		}
+	}
+
+	/**
+	 * Key of a cached result which is the table, the type of query, the SQL, and the argument values.
+	 */
+	public static class CacheKey {
+
+		final String tableName;
+		private final String queryType;
+		private final String statement;
+		private final Object[] argValues;
+		private final int hashCode;
+
+		public CacheKey(String tableName, String queryType, String statement, Object[] argValues) {
+			this.tableName = tableName;
+			this.queryType = queryType;
+			this.statement = statement;
+			this.argValues = argValues;
+			int hash = tableName.hashCode();
+			hash = hash * 31 + queryType.hashCode();
+			hash = hash * 31 + statement.hashCode();
+			hash = hash * 31 + Arrays.deepHashCode(argValues);
+			this.hashCode = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return hashCode == other.hashCode && tableName.equals(other.tableName)
+					&& queryType.equals(other.queryType) && statement.equals(other.statement)
+					&& Arrays.deepEquals(argValues, other.argValues);
+		}
+
+		@Override
+		public String toString() {
+			return queryType + " " + statement;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.j256.ormlite.dao;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Read-only view of the current row of raw results that is passed to the
+ * {@link RawRowViewMapper#mapRow(RawRowView)} method. The getters read straight from the database results so no
+ * String[] or column objects are allocated for the row. The column indexes start at 0.
+ * 
+ * <p>
+ * <b>NOTE:</b> The same view is reused for every row and it is only valid during the call to the mapper. Do not hold
+ * on to it or use it afterwards.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public interface RawRowView {
+
+	/**
+	 * Return the number of columns in each result row.
+	 */
+	public int getColumnCount() throws SQLException;
+
+	/**
+	 * Return an array of column names.
+	 */
+	public String[] getColumnNames() throws SQLException;
+
+	/**
+	 * Returns the value of a column as a string.
+	 */
+	public String getString(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a boolean.
+	 */
+	public boolean getBoolean(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a char.
+	 */
+	public char getChar(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a byte.
+	 */
+	public byte getByte(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a byte array.
+	 */
+	public byte[] getBytes(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a short.
+	 */
+	public short getShort(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as an int.
+	 */
+	public int getInt(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a long.
+	 */
+	public long getLong(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a float.
+	 */
+	public float getFloat(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a double.
+	 */
+	public double getDouble(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a timestamp.
+	 */
+	public Timestamp getTimestamp(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns the value of a column as a big decimal.
+	 */
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException;
+
+	/**
+	 * Returns true if the value last read from the column with one of the getters was null.
+	 */
+	public boolean wasNull(int columnIndex) throws SQLException;
+}
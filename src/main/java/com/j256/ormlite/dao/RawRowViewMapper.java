@@ -0,0 +1,31 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Parameterized row mapper that takes a {@link RawRowView} of the current row from the {@link GenericRawResults} and
+ * returns a T. Is used in the {@link Dao#queryRaw(String, RawRowViewMapper, String...)} method.
+ * 
+ * <p>
+ * <b> NOTE: </b> Unlike the {@link RawRowMapper}, no String[] is created for each row. This is meant for reading a
+ * large number of rows without creating garbage.
+ * </p>
+ * 
+ * @param <T>
+ *            Type that the mapRow returns.
+ * @author graywatson
+ */
+public interface RawRowViewMapper<T> {
+
+	/**
+	 * Used to convert a raw results row to an object.
+	 * 
+	 * @return The created object with all of the fields set from the row. Return null if there is no object generated
+	 *         from the row.
+	 * @param row
+	 *            View of the current row. It is only valid during this call.
+	 * @throws SQLException
+	 *             If there is any critical error with the data and you want to stop the paging.
+	 */
+	public T mapRow(RawRowView row) throws SQLException;
+}
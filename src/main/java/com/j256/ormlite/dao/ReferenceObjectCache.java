@@ -1,25 +1,47 @@
 package com.j256.ormlite.dao;
 
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Cache for ORMLite which stores objects with a {@link WeakReference} or {@link SoftReference} to them. Java Garbage
  * Collection can then free these objects if no one has a "strong" reference to the object (weak) or if it runs out of
  * memory (soft).
  * 
+ * <p>
+ * The references are registered with a {@link ReferenceQueue} and know their class and id so the entries of objects
+ * that have been freed are removed from the cache at the start of each cache operation. The queue can also be drained
+ * by a background thread with {@link #startReaper()}. The number of entries removed this way is returned by
+ * {@link #getReclaimedCount()}.
+ * </p>
+ * 
+ * <p>
+ * The cache keeps {@link ObjectCacheStatistics} for each class. Objects that are freed by the GC are counted as
+ * evictions.
+ * </p>
+ * 
  * @author graywatson
  */
-public class ReferenceObjectCache implements ObjectCache {
+public class ReferenceObjectCache implements ObjectCache, ObjectCacheStatistics {
 
-	private final ConcurrentHashMap<Class<?>, Map<Object, Reference<Object>>> classMaps =
-			new ConcurrentHashMap<Class<?>, Map<Object, Reference<Object>>>();
+	/** Number of milliseconds the reaper waits on the queue before checking if the cache has been freed. */
+	private static final long REAPER_CHECK_MILLIS = 1000;
+
+	private final ConcurrentHashMap<Class<?>, ConcurrentMap<Object, Reference<Object>>> classMaps =
+			new ConcurrentHashMap<Class<?>, ConcurrentMap<Object, Reference<Object>>>();
 	private final boolean useWeak;
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+	private final AtomicLong reclaimedCount = new AtomicLong();
+	private final ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter> classStats =
+			new ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter>();
+	private Thread reaperThread;
 
 	/**
 	 * @param useWeak
@@ -45,66 +67,57 @@ public class ReferenceObjectCache implements ObjectCache {
 	}
 
 	public synchronized <T> void registerClass(Class<T> clazz) {
-		Map<Object, Reference<Object>> objectMap = classMaps.get(clazz);
+		ConcurrentMap<Object, Reference<Object>> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
+			classStats.put(clazz, new ObjectCacheStatsCounter());
 			objectMap = new ConcurrentHashMap<Object, Reference<Object>>();
 			classMaps.put(clazz, objectMap);
 		}
 	}
 
 	public <T, ID> T get(Class<T> clazz, ID id) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
-		if (objectMap == null) {
-			return null;
-		}
-		Reference<Object> ref = objectMap.get(id);
-		if (ref == null) {
-			return null;
-		}
-		Object obj = ref.get();
-		if (obj == null) {
-			objectMap.remove(id);
-			return null;
-		} else {
-			@SuppressWarnings("unchecked")
-			T castObj = (T) obj;
-			return castObj;
-		}
+		return get(clazz, id, true);
+	}
+
+	public <T, ID> T getWithoutStats(Class<T> clazz, ID id) {
+		return get(clazz, id, false);
 	}
 
 	public <T, ID> void put(Class<T> clazz, ID id, T data) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		processQueue();
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
-			if (useWeak) {
-				objectMap.put(id, new WeakReference<Object>(data));
-			} else {
-				objectMap.put(id, new SoftReference<Object>(data));
-			}
+			objectMap.put(id, makeReference(clazz, id, data));
+			classStats.get(clazz).recordPut();
 		}
 	}
 
 	public <T> void clear(Class<T> clazz) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		processQueue();
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
 			objectMap.clear();
 		}
 	}
 
 	public void clearAll() {
-		for (Map<Object, Reference<Object>> objectMap : classMaps.values()) {
+		processQueue();
+		for (ConcurrentMap<Object, Reference<Object>> objectMap : classMaps.values()) {
 			objectMap.clear();
 		}
 	}
 
 	public <T, ID> void remove(Class<T> clazz, ID id) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
-		if (objectMap != null) {
-			objectMap.remove(id);
+		processQueue();
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		if (objectMap != null && objectMap.remove(id) != null) {
+			classStats.get(clazz).recordRemoval();
 		}
 	}
 
 	public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		processQueue();
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap == null) {
 			return null;
 		}
@@ -112,14 +125,22 @@ public class ReferenceObjectCache implements ObjectCache {
 		if (ref == null) {
 			return null;
 		}
-		objectMap.put(newId, ref);
+		Object obj = ref.get();
+		if (obj == null) {
+			reclaimedCount.incrementAndGet();
+			classStats.get(clazz).recordEviction();
+			return null;
+		}
+		// the reference is keyed by id so we need a new one
+		objectMap.put(newId, makeReference(clazz, newId, obj));
 		@SuppressWarnings("unchecked")
-		T castObj = (T) ref.get();
+		T castObj = (T) obj;
 		return castObj;
 	}
 
 	public <T> int size(Class<T> clazz) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		processQueue();
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap == null) {
 			return 0;
 		} else {
@@ -128,8 +149,9 @@ public class ReferenceObjectCache implements ObjectCache {
 	}
 
 	public int sizeAll() {
+		processQueue();
 		int size = 0;
-		for (Map<Object, Reference<Object>> objectMap : classMaps.values()) {
+		for (ConcurrentMap<Object, Reference<Object>> objectMap : classMaps.values()) {
 			size += objectMap.size();
 		}
 		return size;
@@ -139,9 +161,9 @@ public class ReferenceObjectCache implements ObjectCache {
 	 * Run through the map and remove any references that have been null'd out by the GC.
 	 */
 	public <T> void cleanNullReferences(Class<T> clazz) {
-		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
-			cleanMap(objectMap);
+			cleanMap(clazz, objectMap);
 		}
 	}
 
@@ -149,26 +171,250 @@ public class ReferenceObjectCache implements ObjectCache {
 	 * Run through all maps and remove any references that have been null'd out by the GC.
 	 */
 	public <T> void cleanNullReferencesAll() {
-		for (Map<Object, Reference<Object>> objectMap : classMaps.values()) {
-			cleanMap(objectMap);
+		for (Entry<Class<?>, ConcurrentMap<Object, Reference<Object>>> entry : classMaps.entrySet()) {
+			cleanMap(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Return the number of entries that have been removed from the cache because their objects were freed by the GC.
+	 */
+	public long getReclaimedCount() {
+		return reclaimedCount.get();
+	}
+
+	public <T> void recordLoad(Class<T> clazz, long loadNanos) {
+		ObjectCacheStatsCounter stats = classStats.get(clazz);
+		if (stats != null) {
+			stats.recordLoad(loadNanos);
+		}
+	}
+
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ObjectCacheStatsCounter stats = classStats.get(clazz);
+		if (stats == null) {
+			return new ObjectCacheStatsCounter().snapshot();
+		} else {
+			return stats.snapshot();
+		}
+	}
+
+	public ObjectCacheStats getStatsAll() {
+		ObjectCacheStats total = new ObjectCacheStatsCounter().snapshot();
+		for (ObjectCacheStatsCounter stats : classStats.values()) {
+			total = total.plus(stats.snapshot());
+		}
+		return total;
+	}
+
+	public void resetStats() {
+		for (ObjectCacheStatsCounter stats : classStats.values()) {
+			stats.reset();
+		}
+	}
+
+	/**
+	 * Start a daemon thread which removes the entries of freed objects from the cache as soon as the GC enqueues their
+	 * references. Without it, the entries are removed at the start of the next cache operation. The thread should be
+	 * stopped with {@link #stopReaper()} when the cache is no longer used. It only holds a weak reference to the cache
+	 * so if that is forgotten then it exits on its own once the cache has been garbage collected.
+	 */
+	public synchronized void startReaper() {
+		if (reaperThread != null) {
+			return;
+		}
+		reaperThread = new Thread(new Reaper(this, referenceQueue), getClass().getSimpleName() + "-reaper");
+		reaperThread.setDaemon(true);
+		reaperThread.start();
+	}
+
+	/**
+	 * Stop the thread started by {@link #startReaper()}.
+	 */
+	public synchronized void stopReaper() {
+		if (reaperThread != null) {
+			reaperThread.interrupt();
+			reaperThread = null;
+		}
+	}
+
+	private Reference<Object> makeReference(Class<?> clazz, Object id, Object data) {
+		if (useWeak) {
+			return new KeyedWeakReference(data, referenceQueue, clazz, id);
+		} else {
+			return new KeyedSoftReference(data, referenceQueue, clazz, id);
+		}
+	}
+
+	/**
+	 * Remove the entries of all of the references that the GC has enqueued.
+	 */
+	private void processQueue() {
+		Reference<? extends Object> ref;
+		while ((ref = referenceQueue.poll()) != null) {
+			removeQueued(ref);
+		}
+	}
+
+	private void removeQueued(Reference<? extends Object> ref) {
+		KeyedReference keyed = (KeyedReference) ref;
+		ConcurrentMap<Object, Reference<Object>> objectMap = classMaps.get(keyed.getClazz());
+		if (objectMap != null) {
+			removeReclaimed(keyed.getClazz(), objectMap, keyed.getId(), ref);
+		}
+	}
+
+	private void removeReclaimed(Class<?> clazz, ConcurrentMap<Object, Reference<Object>> objectMap, Object id,
+			Reference<? extends Object> ref) {
+		// only if it hasn't been replaced in the meantime
+		if (objectMap.remove(id, ref)) {
+			reclaimedCount.incrementAndGet();
+			classStats.get(clazz).recordEviction();
 		}
 	}
 
-	private void cleanMap(Map<Object, Reference<Object>> objectMap) {
+	private void cleanMap(Class<?> clazz, ConcurrentMap<Object, Reference<Object>> objectMap) {
 		Iterator<Entry<Object, Reference<Object>>> iterator = objectMap.entrySet().iterator();
 		while (iterator.hasNext()) {
-			if (iterator.next().getValue().get() == null) {
-				iterator.remove();
+			Entry<Object, Reference<Object>> entry = iterator.next();
+			if (entry.getValue().get() == null) {
+				removeReclaimed(clazz, objectMap, entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	private <T, ID> T get(Class<T> clazz, ID id, boolean recordStats) {
+		processQueue();
+		ConcurrentMap<Object, Reference<Object>> objectMap = getMapForClass(clazz);
+		if (objectMap == null) {
+			return null;
+		}
+		ObjectCacheStatsCounter stats = classStats.get(clazz);
+		Reference<Object> ref = objectMap.get(id);
+		if (ref == null) {
+			if (recordStats) {
+				stats.recordMiss();
+			}
+			return null;
+		}
+		Object obj = ref.get();
+		if (obj == null) {
+			if (recordStats) {
+				stats.recordMiss();
+			}
+			removeReclaimed(clazz, objectMap, id, ref);
+			return null;
+		} else {
+			if (recordStats) {
+				stats.recordHit();
 			}
+			@SuppressWarnings("unchecked")
+			T castObj = (T) obj;
+			return castObj;
 		}
 	}
 
-	private Map<Object, Reference<Object>> getMapForClass(Class<?> clazz) {
-		Map<Object, Reference<Object>> objectMap = classMaps.get(clazz);
+	private ConcurrentMap<Object, Reference<Object>> getMapForClass(Class<?> clazz) {
+		ConcurrentMap<Object, Reference<Object>> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
 			return null;
 		} else {
 			return objectMap;
 		}
 	}
+
+	/**
+	 * Removes the entries of the references that the GC enqueues. It doesn't hold a strong reference to the cache so the
+	 * running thread doesn't keep the cache from being garbage collected.
+	 */
+	private static class Reaper implements Runnable {
+
+		private final WeakReference<ReferenceObjectCache> cacheRef;
+		private final ReferenceQueue<Object> referenceQueue;
+
+		public Reaper(ReferenceObjectCache cache, ReferenceQueue<Object> referenceQueue) {
+			this.cacheRef = new WeakReference<ReferenceObjectCache>(cache);
+			this.referenceQueue = referenceQueue;
+		}
+
+		public void run() {
+			while (reap()) {
+				// keep going
+			}
+		}
+
+		/**
+		 * Wait for a reference and remove its entry. This is its own method so the cache isn't held in a local
+		 * variable while we wait.
+		 * 
+		 * @return False if the thread was stopped or the cache has been freed.
+		 */
+		private boolean reap() {
+			Reference<? extends Object> ref;
+			try {
+				ref = referenceQueue.remove(REAPER_CHECK_MILLIS);
+			} catch (InterruptedException e) {
+				// we are being stopped
+				return false;
+			}
+			ReferenceObjectCache cache = cacheRef.get();
+			if (cache == null) {
+				return false;
+			}
+			if (ref != null) {
+				cache.removeQueued(ref);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Reference which knows the class and id of its entry so it can be removed when it is enqueued.
+	 */
+	private interface KeyedReference {
+
+		public Class<?> getClazz();
+
+		public Object getId();
+	}
+
+	private static class KeyedWeakReference extends WeakReference<Object> implements KeyedReference {
+
+		private final Class<?> clazz;
+		private final Object id;
+
+		public KeyedWeakReference(Object data, ReferenceQueue<Object> queue, Class<?> clazz, Object id) {
+			super(data, queue);
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		public Class<?> getClazz() {
+			return clazz;
+		}
+
+		public Object getId() {
+			return id;
+		}
+	}
+
+	private static class KeyedSoftReference extends SoftReference<Object> implements KeyedReference {
+
+		private final Class<?> clazz;
+		private final Object id;
+
+		public KeyedSoftReference(Object data, ReferenceQueue<Object> queue, Class<?> clazz, Object id) {
+			super(data, queue);
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		public Class<?> getClazz() {
+			return clazz;
+		}
+
+		public Object getId() {
+			return id;
+		}
+	}
 }
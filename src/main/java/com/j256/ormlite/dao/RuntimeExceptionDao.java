@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
+import com.j256.ormlite.dao.Dao.BatchUpdateStatus;
 import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldType;
@@ -217,6 +218,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#query(PreparedQuery, GenericRowMapper)
+	 */
+	public <UO> List<UO> query(PreparedQuery<T> preparedQuery, GenericRowMapper<UO> rowMapper) {
+		try {
+			return dao.query(preparedQuery, rowMapper);
+		} catch (SQLException e) {
+			logMessage(e, "query threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#create(Object)
 	 */
@@ -229,6 +242,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#createBatch(Collection)
+	 */
+	public int createBatch(Collection<T> datas) {
+		try {
+			return dao.createBatch(datas);
+		} catch (SQLException e) {
+			logMessage(e, "createBatch threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#createIfNotExists(Object)
 	 */
@@ -241,6 +266,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#createBatchIfNotExists(Collection)
+	 */
+	public List<T> createBatchIfNotExists(Collection<T> datas) {
+		try {
+			return dao.createBatchIfNotExists(datas);
+		} catch (SQLException e) {
+			logMessage(e, "createBatchIfNotExists threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#createOrUpdate(Object)
 	 */
@@ -253,6 +290,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#upsert(Object)
+	 */
+	public int upsert(T data) {
+		try {
+			return dao.upsert(data);
+		} catch (SQLException e) {
+			logMessage(e, "upsert threw exception on: " + data);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#update(Object)
 	 */
@@ -265,6 +314,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#update(Collection)
+	 */
+	public BatchUpdateStatus<T> update(Collection<T> datas) {
+		try {
+			return dao.update(datas);
+		} catch (SQLException e) {
+			logMessage(e, "update threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#updateId(Object, Object)
 	 */
@@ -441,6 +502,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryRawColumnar(String, DataType[], String...)
+	 */
+	public ColumnarRawResults queryRawColumnar(String query, DataType[] columnTypes, String... arguments) {
+		try {
+			return dao.queryRawColumnar(query, columnTypes, arguments);
+		} catch (SQLException e) {
+			logMessage(e, "queryRawColumnar threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryRawValue(String, String...)
 	 */
@@ -465,6 +538,18 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryRaw(String, RawRowViewMapper, String...)
+	 */
+	public <UO> GenericRawResults<UO> queryRaw(String query, RawRowViewMapper<UO> mapper, String... arguments) {
+		try {
+			return dao.queryRaw(query, mapper, arguments);
+		} catch (SQLException e) {
+			logMessage(e, "queryRaw threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryRaw(String, DataType[], RawRowObjectMapper, String...)
 	 */
@@ -688,6 +773,46 @@ public class RuntimeExceptionDao<T, ID> implements CloseableIterable<T> {
 		dao.clearObjectCache();
 	}
 
+	/**
+	 * @see Dao#setQueryResultCache(QueryResultCache)
+	 */
+	public void setQueryResultCache(QueryResultCache queryResultCache) {
+		dao.setQueryResultCache(queryResultCache);
+	}
+
+	/**
+	 * @see Dao#getQueryResultCache()
+	 */
+	public QueryResultCache getQueryResultCache() {
+		return dao.getQueryResultCache();
+	}
+
+	/**
+	 * @see Dao#setMissingIdCache(MissingIdCache)
+	 */
+	public void setMissingIdCache(MissingIdCache missingIdCache) {
+		dao.setMissingIdCache(missingIdCache);
+	}
+
+	/**
+	 * @see Dao#getMissingIdCache()
+	 */
+	public MissingIdCache getMissingIdCache() {
+		return dao.getMissingIdCache();
+	}
+
+	/**
+	 * @see Dao#setDirtyTracking(boolean)
+	 */
+	public void setDirtyTracking(boolean enabled) {
+		try {
+			dao.setDirtyTracking(enabled);
+		} catch (SQLException e) {
+			logMessage(e, "setDirtyTracking(" + enabled + ") threw exception");
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#mapSelectStarRow(DatabaseResults)
 	 */
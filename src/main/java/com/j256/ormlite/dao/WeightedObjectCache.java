@@ -0,0 +1,373 @@
+package com.j256.ormlite.dao;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache for ORMLite which shares a single weight budget across all of the registered classes. Each object is weighed
+ * when it is put into the cache with the {@link ObjectWeigher} of its class and when the total weight goes over the
+ * maximum then the least-recently-used objects, of <i>any</i> class, are ejected until it fits again. This allows one
+ * fixed heap budget to be shared by classes whose objects are of very different sizes. They can be injected into a dao
+ * with the {@link Dao#setObjectCache(ObjectCache)}.
+ * 
+ * <p>
+ * Objects can also be expired a certain number of milliseconds after they were put into the cache, either for all
+ * classes or for particular ones. Expired objects are removed when they are looked up or when they reach the
+ * least-recently-used end of the cache.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> The weighers and expiration should be configured before the cache is used. Classes without a weigher
+ * use the default weigher which gives each object a weight of 1 so the maximum weight is then a count of objects.
+ * </p>
+ * 
+ * <p>
+ * <b>WARNING:</b> Since the weight budget and the least-recently-used order are shared by all of the classes, every
+ * operation, including each {@link #get(Class, Object)}, takes a single lock on the whole cache and the weighers are
+ * called while holding it. If a large number of threads use the cache at the same time then
+ * {@link ConcurrentLruObjectCache}, which has a lock per segment, may be a better fit.
+ * </p>
+ * 
+ * <p>
+ * The cache keeps {@link ObjectCacheStatistics} for each class. Objects that are ejected to get under the maximum
+ * weight or because they expired are counted as evictions.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class WeightedObjectCache implements ObjectCache, ObjectCacheStatistics {
+
+	private static final ObjectWeigher ONE_WEIGHER = new ObjectWeigher() {
+		public long weigh(Object id, Object data) {
+			return 1;
+		}
+	};
+
+	private final long maxWeight;
+	private final Map<Class<?>, ClassInfo> classInfos = new HashMap<Class<?>, ClassInfo>();
+	// all of the entries of all of the classes in least-recently-used order
+	private final LinkedHashMap<EntryKey, CacheEntry> entryMap =
+			new LinkedHashMap<EntryKey, CacheEntry>(16, 0.75F, true);
+	private ObjectWeigher defaultWeigher = ONE_WEIGHER;
+	private long defaultExpireAfterWriteMillis;
+	private long weight;
+
+	/**
+	 * @param maxWeight
+	 *            Maximum total weight of all of the objects in the cache as returned by the weighers.
+	 */
+	public WeightedObjectCache(long maxWeight) {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+		}
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Set the weigher used for classes which don't have their own.
+	 */
+	public synchronized void setDefaultWeigher(ObjectWeigher defaultWeigher) {
+		this.defaultWeigher = defaultWeigher;
+	}
+
+	/**
+	 * Set the weigher for the objects of a certain class.
+	 */
+	public synchronized <T> void setWeigher(Class<T> clazz, ObjectWeigher weigher) {
+		findClassInfo(clazz).weigher = weigher;
+	}
+
+	/**
+	 * Set the number of milliseconds after being put into the cache that objects expire for classes which don't have
+	 * their own setting. 0 (the default) means that they don't expire.
+	 */
+	public synchronized void setDefaultExpireAfterWriteMillis(long expireAfterWriteMillis) {
+		this.defaultExpireAfterWriteMillis = expireAfterWriteMillis;
+	}
+
+	/**
+	 * Set the number of milliseconds after being put into the cache that the objects of a certain class expire. 0 means
+	 * that they don't expire.
+	 */
+	public synchronized <T> void setExpireAfterWriteMillis(Class<T> clazz, long expireAfterWriteMillis) {
+		findClassInfo(clazz).expireAfterWriteMillis = expireAfterWriteMillis;
+	}
+
+	public synchronized <T> void registerClass(Class<T> clazz) {
+		findClassInfo(clazz).registered = true;
+	}
+
+	public synchronized <T, ID> T get(Class<T> clazz, ID id) {
+		return get(clazz, id, true);
+	}
+
+	public synchronized <T, ID> T getWithoutStats(Class<T> clazz, ID id) {
+		return get(clazz, id, false);
+	}
+
+	public synchronized <T, ID> void put(Class<T> clazz, ID id, T data) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null || !classInfo.registered) {
+			return;
+		}
+		ObjectWeigher weigher = (classInfo.weigher == null ? defaultWeigher : classInfo.weigher);
+		long entryWeight = weigher.weigh(id, data);
+		if (entryWeight <= 0) {
+			throw new IllegalArgumentException("Weigher for " + clazz + " returned a weight of " + entryWeight
+					+ " for id " + id + " but it must be positive");
+		}
+		EntryKey key = new EntryKey(clazz, id);
+		removeEntry(key);
+		if (entryWeight > maxWeight) {
+			// it would eject everything else and still not fit
+			return;
+		}
+		long expireAfterWriteMillis =
+				(classInfo.expireAfterWriteMillis < 0 ? defaultExpireAfterWriteMillis
+						: classInfo.expireAfterWriteMillis);
+		long expireMillis = (expireAfterWriteMillis > 0 ? currentTimeMillis() + expireAfterWriteMillis : 0);
+		addEntry(key, new CacheEntry(data, entryWeight, expireMillis), classInfo);
+		classInfo.stats.recordPut();
+		evictOverWeight();
+	}
+
+	public synchronized <T> void clear(Class<T> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null || classInfo.size == 0) {
+			return;
+		}
+		Iterator<Map.Entry<EntryKey, CacheEntry>> iterator = entryMap.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<EntryKey, CacheEntry> mapEntry = iterator.next();
+			if (mapEntry.getKey().clazz == clazz) {
+				iterator.remove();
+				weight -= mapEntry.getValue().weight;
+			}
+		}
+		classInfo.size = 0;
+	}
+
+	public synchronized void clearAll() {
+		entryMap.clear();
+		for (ClassInfo classInfo : classInfos.values()) {
+			classInfo.size = 0;
+		}
+		weight = 0;
+	}
+
+	public synchronized <T, ID> void remove(Class<T> clazz, ID id) {
+		if (removeEntry(new EntryKey(clazz, id))) {
+			classInfos.get(clazz).stats.recordRemoval();
+		}
+	}
+
+	public synchronized <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+		EntryKey oldKey = new EntryKey(clazz, oldId);
+		CacheEntry entry = entryMap.get(oldKey);
+		if (entry == null) {
+			return null;
+		}
+		removeEntry(oldKey);
+		EntryKey newKey = new EntryKey(clazz, newId);
+		removeEntry(newKey);
+		addEntry(newKey, entry, classInfos.get(clazz));
+		@SuppressWarnings("unchecked")
+		T castObj = (T) entry.data;
+		return castObj;
+	}
+
+	public synchronized <T> int size(Class<T> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			return 0;
+		} else {
+			return classInfo.size;
+		}
+	}
+
+	public synchronized int sizeAll() {
+		return entryMap.size();
+	}
+
+	public synchronized <T> void recordLoad(Class<T> clazz, long loadNanos) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo != null) {
+			classInfo.stats.recordLoad(loadNanos);
+		}
+	}
+
+	public synchronized <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			return new ObjectCacheStatsCounter().snapshot();
+		} else {
+			return classInfo.stats.snapshot();
+		}
+	}
+
+	public synchronized ObjectCacheStats getStatsAll() {
+		ObjectCacheStats total = new ObjectCacheStatsCounter().snapshot();
+		for (ClassInfo classInfo : classInfos.values()) {
+			total = total.plus(classInfo.stats.snapshot());
+		}
+		return total;
+	}
+
+	public synchronized void resetStats() {
+		for (ClassInfo classInfo : classInfos.values()) {
+			classInfo.stats.reset();
+		}
+	}
+
+	/**
+	 * Return the total weight of all of the objects in the cache.
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Return the maximum total weight of the objects in the cache.
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Return the current time in milliseconds. This is here so tests can control the time.
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private <T, ID> T get(Class<T> clazz, ID id, boolean recordStats) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null || !classInfo.registered) {
+			return null;
+		}
+		EntryKey key = new EntryKey(clazz, id);
+		CacheEntry entry = entryMap.get(key);
+		if (entry == null) {
+			if (recordStats) {
+				classInfo.stats.recordMiss();
+			}
+			return null;
+		}
+		if (entry.isExpired(currentTimeMillis())) {
+			removeEntry(key);
+			// the expired object is gone either way so this is counted even when the lookup isn't
+			classInfo.stats.recordEviction();
+			if (recordStats) {
+				classInfo.stats.recordMiss();
+			}
+			return null;
+		}
+		if (recordStats) {
+			classInfo.stats.recordHit();
+		}
+		@SuppressWarnings("unchecked")
+		T castObj = (T) entry.data;
+		return castObj;
+	}
+
+	private ClassInfo findClassInfo(Class<?> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			classInfo = new ClassInfo();
+			classInfos.put(clazz, classInfo);
+		}
+		return classInfo;
+	}
+
+	private void addEntry(EntryKey key, CacheEntry entry, ClassInfo classInfo) {
+		entryMap.put(key, entry);
+		weight += entry.weight;
+		classInfo.size++;
+	}
+
+	private boolean removeEntry(EntryKey key) {
+		CacheEntry entry = entryMap.remove(key);
+		if (entry == null) {
+			return false;
+		}
+		weight -= entry.weight;
+		classInfos.get(key.clazz).size--;
+		return true;
+	}
+
+	private void evictOverWeight() {
+		Iterator<Map.Entry<EntryKey, CacheEntry>> iterator = entryMap.entrySet().iterator();
+		while (weight > maxWeight && iterator.hasNext()) {
+			Map.Entry<EntryKey, CacheEntry> eldest = iterator.next();
+			iterator.remove();
+			weight -= eldest.getValue().weight;
+			ClassInfo classInfo = classInfos.get(eldest.getKey().clazz);
+			classInfo.size--;
+			classInfo.stats.recordEviction();
+		}
+	}
+
+	/**
+	 * Settings and the number of entries for a class.
+	 */
+	private static class ClassInfo {
+
+		final ObjectCacheStatsCounter stats = new ObjectCacheStatsCounter();
+		boolean registered;
+		ObjectWeigher weigher;
+		// -1 means use the default
+		long expireAfterWriteMillis = -1;
+		int size;
+	}
+
+	/**
+	 * Key of an entry which is the class and the id.
+	 */
+	private static class EntryKey {
+
+		final Class<?> clazz;
+		final Object id;
+
+		public EntryKey(Class<?> clazz, Object id) {
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return clazz.hashCode() * 31 + id.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			EntryKey other = (EntryKey) obj;
+			return clazz == other.clazz && id.equals(other.id);
+		}
+	}
+
+	/**
+	 * An object in the cache with its weight and when it expires.
+	 */
+	private static class CacheEntry {
+
+		final Object data;
+		final long weight;
+		// 0 means never
+		final long expireMillis;
+
+		public CacheEntry(Object data, long weight, long expireMillis) {
+			this.data = data;
+			this.weight = weight;
+			this.expireMillis = expireMillis;
+		}
+
+		public boolean isExpired(long now) {
+			return expireMillis != 0 && now >= expireMillis;
+		}
+	}
+}
@@ -28,6 +28,7 @@ import com.j256.ormlite.table.DatabaseTableConfig;
 public abstract class BaseDatabaseType implements DatabaseType {
 
 	protected static String DEFAULT_SEQUENCE_SUFFIX = "_id_seq";
+	protected static int DEFAULT_MAX_STATEMENT_ARGUMENTS = 999;
 	protected Driver driver;
 
 	/**
@@ -472,6 +473,72 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		return true;
 	}
 
+	public boolean isBatchUseMultiRowInsert() {
+		return false;
+	}
+
+	public int getMaxMultiRowInsertRows() {
+		// only limited by the number of arguments
+		return Integer.MAX_VALUE;
+	}
+
+	public int getMaxStatementArguments() {
+		// lowest of the common database limits which is the Sqlite default
+		return DEFAULT_MAX_STATEMENT_ARGUMENTS;
+	}
+
+	public boolean isUpsertSupported() {
+		return false;
+	}
+
+	/**
+	 * Default is the INSERT ... ON CONFLICT (id) DO UPDATE syntax which is supported by Postgres and newer versions of
+	 * Sqlite. Database types which support the statement need to also override {@link #isUpsertSupported()}.
+	 */
+	public void appendUpsertStatement(StringBuilder sb, String tableName, FieldType[] fieldTypes, FieldType idField) {
+		sb.append("INSERT INTO ");
+		appendEscapedEntityName(sb, tableName);
+		sb.append(" (");
+		boolean first = true;
+		for (FieldType fieldType : fieldTypes) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+		sb.append(") VALUES (");
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+		sb.append(") ON CONFLICT (");
+		appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(") DO ");
+		first = true;
+		for (FieldType fieldType : fieldTypes) {
+			if (fieldType == idField) {
+				continue;
+			}
+			if (first) {
+				sb.append("UPDATE SET ");
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+			sb.append(" = EXCLUDED.");
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+		if (first) {
+			// only the id field so there is nothing to update
+			sb.append("NOTHING");
+		}
+	}
+
 	/**
 	 * @throws SQLException
 	 *             for sub classes.
@@ -71,6 +71,27 @@ public abstract class BaseSqliteDatabaseType extends BaseDatabaseType implements
 		return true;
 	}
 
+	/**
+	 * Multiple rows of VALUES are only supported by Sqlite 3.7.11 and above so this is off by default. Database types
+	 * which know that they are running on a new enough version can override this to return true.
+	 */
+	@Override
+	public boolean isBatchUseMultiRowInsert() {
+		return false;
+	}
+
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		// before 3.8.8 the rows are run as a compound select which is limited by the default SQLITE_MAX_COMPOUND_SELECT
+		return 500;
+	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// this is the default SQLITE_MAX_VARIABLE_NUMBER
+		return 999;
+	}
+
 	@Override
 	public FieldConverter getFieldConverter(DataPersister dataPersister) {
 		// we are only overriding certain types
@@ -219,6 +219,44 @@ public interface DatabaseType {
 	 */
 	public boolean isAllowGeneratedIdInsertSupported();
 
+	/**
+	 * Returns true if batches of inserts should be done with a single INSERT statement with multiple rows of VALUES
+	 * instead of relying on the driver's statement batching. The number of rows in each statement is limited by
+	 * {@link #getMaxStatementArguments()} and {@link #getMaxMultiRowInsertRows()}.
+	 */
+	public boolean isBatchUseMultiRowInsert();
+
+	/**
+	 * Return the maximum number of rows of VALUES in a single INSERT statement if
+	 * {@link #isBatchUseMultiRowInsert()} is true.
+	 */
+	public int getMaxMultiRowInsertRows();
+
+	/**
+	 * Return the maximum number of '?' arguments that can be used in a single SQL statement. This is used to chunk
+	 * statements that are generated for a collection of objects.
+	 */
+	public int getMaxStatementArguments();
+
+	/**
+	 * Returns true if the database supports a single statement which inserts a row or updates it if a row with the same
+	 * id already exists. This is used by {@link com.j256.ormlite.dao.Dao#upsert(Object)} instead of a query followed
+	 * by an insert or update. See {@link #appendUpsertStatement(StringBuilder, String, FieldType[], FieldType)}.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> None of the database types in this package turn this on. It is up to the database types of the
+	 * specific databases.
+	 * </p>
+	 */
+	public boolean isUpsertSupported();
+
+	/**
+	 * Append to the string builder the SQL which inserts a row into the table or updates all of its columns if a row
+	 * with the same id already exists. The statement must have a '?' argument for each of the field types in the same
+	 * order as the array. The id field is also in the array.
+	 */
+	public void appendUpsertStatement(StringBuilder sb, String tableName, FieldType[] fieldTypes, FieldType idField);
+
 	/**
 	 * Return the name of the database for logging purposes.
 	 */
@@ -56,6 +56,13 @@ public @interface DatabaseField {
 	 */
 	public static final int DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL = 2;
 
+	/**
+	 * Default for the allocationSize which queries the sequence for every id.
+	 * 
+	 * @see #allocationSize()
+	 */
+	public static final int DEFAULT_ALLOCATION_SIZE = 1;
+
 	/**
 	 * The name of the column in the database. If not set then the name is taken from the field name.
 	 */
@@ -317,6 +324,20 @@ public @interface DatabaseField {
 	 */
 	boolean readOnly() default false;
 
+	/**
+	 * Number of ids that are reserved each time the sequence of a {@link #generatedIdSequence} field (or a
+	 * {@link #generatedId} field with databases for which {@link DatabaseType#isIdSequenceNeeded} is true) is queried.
+	 * The ids are then handed out locally so an insert does not have to query the sequence every time. Default is
+	 * {@link #DEFAULT_ALLOCATION_SIZE}.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The sequence in the database must be incremented by this same amount. If the sequence returns the
+	 * value N then the ids N to N + allocationSize - 1 are used. All fields that use the same sequence must have the
+	 * same allocation size.
+	 * </p>
+	 */
+	int allocationSize() default DEFAULT_ALLOCATION_SIZE;
+
 	/*
 	 * NOTE to developers: if you add fields here you have to add them to the DatabaseFieldConfig,
 	 * DatabaseFieldConfigLoader, DatabaseFieldConfigLoaderTest, and DatabaseTableConfigUtil.
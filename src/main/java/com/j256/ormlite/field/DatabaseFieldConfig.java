@@ -55,6 +55,7 @@ public class DatabaseFieldConfig {
 	private boolean version;
 	private String foreignColumnName;
 	private boolean readOnly;
+	private int allocationSize = DatabaseField.DEFAULT_ALLOCATION_SIZE;
 	// foreign collection field information
 	private boolean foreignCollection;
 	private boolean foreignCollectionEager;
@@ -501,6 +502,17 @@ public class DatabaseFieldConfig {
 		this.readOnly = readOnly;
 	}
 
+	/**
+	 * @see DatabaseField#allocationSize()
+	 */
+	public int getAllocationSize() {
+		return allocationSize;
+	}
+
+	public void setAllocationSize(int allocationSize) {
+		this.allocationSize = allocationSize;
+	}
+
 	/**
 	 * Create and return a config converted from a {@link Field} that may have one of the following annotations:
 	 * {@link DatabaseField}, {@link ForeignCollectionField}, or javax.persistence...
@@ -630,6 +642,7 @@ public class DatabaseFieldConfig {
 		config.version = databaseField.version();
 		config.foreignColumnName = valueIfNotBlank(databaseField.foreignColumnName());
 		config.readOnly = databaseField.readOnly();
+		config.allocationSize = databaseField.allocationSize();
 
 		return config;
 	}
@@ -103,6 +103,7 @@ public class DatabaseFieldConfigLoader {
 	private static final String FIELD_NAME_VERSION = "version";
 	private static final String FIELD_NAME_FOREIGN_COLUMN_NAME = "foreignColumnName";
 	private static final String FIELD_NAME_READ_ONLY = "readOnly";
+	private static final String FIELD_NAME_ALLOCATION_SIZE = "allocationSize";
 
 	private static final String FIELD_NAME_FOREIGN_COLLECTION = "foreignCollection";
 	private static final String FIELD_NAME_FOREIGN_COLLECTION_EAGER = "foreignCollectionEager";
@@ -250,6 +251,12 @@ public class DatabaseFieldConfigLoader {
 			writer.append(FIELD_NAME_READ_ONLY).append('=').append("true");
 			writer.newLine();
 		}
+		if (config.getAllocationSize() != DatabaseField.DEFAULT_ALLOCATION_SIZE) {
+			writer.append(FIELD_NAME_ALLOCATION_SIZE)
+					.append('=')
+					.append(Integer.toString(config.getAllocationSize()));
+			writer.newLine();
+		}
 
 		/*
 		 * Foreign collection settings:
@@ -393,6 +400,8 @@ public class DatabaseFieldConfigLoader {
 			config.setForeignColumnName(value);
 		} else if (field.equals(FIELD_NAME_READ_ONLY)) {
 			config.setReadOnly(Boolean.parseBoolean(value));
+		} else if (field.equals(FIELD_NAME_ALLOCATION_SIZE)) {
+			config.setAllocationSize(Integer.parseInt(value));
 		}
 		/**
 		 * foreign collection field information
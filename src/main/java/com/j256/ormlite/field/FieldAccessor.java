@@ -0,0 +1,69 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+
+/**
+ * Gets and sets the value of a field in a data object. The accessor for a field is chosen when the {@link FieldType} is
+ * built instead of checking the field's configuration for every row, and the primitive setters let the row mapping
+ * assign primitive columns without boxing them.
+ * 
+ * <p>
+ * <b>NOTE:</b> The current implementations still go through reflection, {@link ReflectionFieldAccessor} for fields and
+ * {@link MethodFieldAccessor} for get and set methods. MethodHandles are not available on Java 5 and this library has
+ * no bytecode generator to build accessor classes at runtime.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public interface FieldAccessor {
+
+	/**
+	 * Return the value of the field from the data object.
+	 */
+	public Object getValue(Object data) throws SQLException;
+
+	/**
+	 * Assign the value to the field in the data object.
+	 */
+	public void setValue(Object data, Object val) throws SQLException;
+
+	/**
+	 * Assign the boolean to the field in the data object without boxing it.
+	 */
+	public void setBoolean(Object data, boolean val) throws SQLException;
+
+	/**
+	 * Assign the byte to the field in the data object without boxing it.
+	 */
+	public void setByte(Object data, byte val) throws SQLException;
+
+	/**
+	 * Assign the char to the field in the data object without boxing it.
+	 */
+	public void setChar(Object data, char val) throws SQLException;
+
+	/**
+	 * Assign the short to the field in the data object without boxing it.
+	 */
+	public void setShort(Object data, short val) throws SQLException;
+
+	/**
+	 * Assign the int to the field in the data object without boxing it.
+	 */
+	public void setInt(Object data, int val) throws SQLException;
+
+	/**
+	 * Assign the long to the field in the data object without boxing it.
+	 */
+	public void setLong(Object data, long val) throws SQLException;
+
+	/**
+	 * Assign the float to the field in the data object without boxing it.
+	 */
+	public void setFloat(Object data, float val) throws SQLException;
+
+	/**
+	 * Assign the double to the field in the data object without boxing it.
+	 */
+	public void setDouble(Object data, double val) throws SQLException;
+}
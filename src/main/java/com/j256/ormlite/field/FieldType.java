@@ -61,8 +61,7 @@ public class FieldType {
 	private final boolean isId;
 	private final boolean isGeneratedId;
 	private final String generatedIdSequence;
-	private final Method fieldGetMethod;
-	private final Method fieldSetMethod;
+	private final FieldAccessor fieldAccessor;
 	private final Class<?> parentClass;
 
 	private DataPersister dataPersister;
@@ -70,6 +69,7 @@ public class FieldType {
 	private Object dataTypeConfigObj;
 
 	private FieldConverter fieldConverter;
+	private PrimitiveFieldConverter primitiveFieldConverter;
 	private FieldType foreignIdField;
 	private TableInfo<?, ?> foreignTableInfo;
 	private FieldType foreignFieldType;
@@ -233,8 +233,9 @@ public class FieldType {
 			throw new IllegalArgumentException("Id field " + field.getName() + " cannot also be a foreign object");
 		}
 		if (fieldConfig.isUseGetSet()) {
-			this.fieldGetMethod = DatabaseFieldConfig.findGetMethod(field, true);
-			this.fieldSetMethod = DatabaseFieldConfig.findSetMethod(field, true);
+			this.fieldAccessor =
+					new MethodFieldAccessor(DatabaseFieldConfig.findGetMethod(field, true),
+							DatabaseFieldConfig.findSetMethod(field, true), this);
 		} else {
 			if (!field.isAccessible()) {
 				try {
@@ -244,8 +245,7 @@ public class FieldType {
 							+ ".  You may have to set useGetSet=true to fix.");
 				}
 			}
-			this.fieldGetMethod = null;
-			this.fieldSetMethod = null;
+			this.fieldAccessor = new ReflectionFieldAccessor(field, this);
 		}
 		if (fieldConfig.isAllowGeneratedIdInsert() && !fieldConfig.isGeneratedId()) {
 			throw new IllegalArgumentException("Field " + field.getName()
@@ -271,6 +271,14 @@ public class FieldType {
 			throw new IllegalArgumentException("Field " + field.getName()
 					+ " has maxForeignAutoRefreshLevel set but not foreignAutoRefresh is false");
 		}
+		if (fieldConfig.getAllocationSize() < 1) {
+			throw new IllegalArgumentException("Field " + field.getName() + " must have an allocationSize of at least 1");
+		}
+		if (fieldConfig.getAllocationSize() > 1 && !fieldConfig.isGeneratedId()
+				&& fieldConfig.getGeneratedIdSequence() == null) {
+			throw new IllegalArgumentException("Field " + field.getName()
+					+ " must be a generated-id if allocationSize is set");
+		}
 		assignDataType(databaseType, dataPersister);
 	}
 
@@ -553,22 +561,7 @@ public class FieldType {
 			}
 		}
 
-		if (fieldSetMethod == null) {
-			try {
-				field.set(data, val);
-			} catch (IllegalArgumentException e) {
-				throw SqlExceptionUtil.create("Could not assign object '" + val + "' to field " + this, e);
-			} catch (IllegalAccessException e) {
-				throw SqlExceptionUtil.create("Could not assign object '" + val + "' to field " + this, e);
-			}
-		} else {
-			try {
-				fieldSetMethod.invoke(data, val);
-			} catch (Exception e) {
-				throw SqlExceptionUtil.create("Could not call " + fieldSetMethod + " on object with '" + val + "' for "
-						+ this, e);
-			}
-		}
+		fieldAccessor.setValue(data, val);
 	}
 
 	/**
@@ -588,24 +581,9 @@ public class FieldType {
 	 * Return the value from the field in the object that is defined by this FieldType.
 	 */
 	public <FV> FV extractRawJavaFieldValue(Object object) throws SQLException {
-		Object val;
-		if (fieldGetMethod == null) {
-			try {
-				// field object may not be a T yet
-				val = field.get(object);
-			} catch (Exception e) {
-				throw SqlExceptionUtil.create("Could not get field value for " + this, e);
-			}
-		} else {
-			try {
-				val = fieldGetMethod.invoke(object);
-			} catch (Exception e) {
-				throw SqlExceptionUtil.create("Could not call " + fieldGetMethod + " for " + this, e);
-			}
-		}
-
+		// field object may not be a T yet
 		@SuppressWarnings("unchecked")
-		FV converted = (FV) val;
+		FV converted = (FV) fieldAccessor.getValue(object);
 		return converted;
 	}
 
@@ -797,6 +775,14 @@ public class FieldType {
 			dbColumnPos = results.findColumn(columnName);
 			columnPositions.put(columnName, dbColumnPos);
 		}
+		return resultToJava(results, dbColumnPos.intValue());
+	}
+
+	/**
+	 * Get the result object from the results at the column position which was already found with
+	 * {@link DatabaseResults#findColumn(String)}.
+	 */
+	public <T> T resultToJava(DatabaseResults results, int dbColumnPos) throws SQLException {
 		@SuppressWarnings("unchecked")
 		T converted = (T) fieldConverter.resultToJava(this, results, dbColumnPos);
 		if (fieldConfig.isForeign()) {
@@ -820,6 +806,26 @@ public class FieldType {
 		return converted;
 	}
 
+	/**
+	 * Copy the column at the position in the results straight into the field of the data object if it is a primitive
+	 * that can be copied without boxing. This does the same as {@link #resultToJava(DatabaseResults, int)} followed by
+	 * {@link #assignField(Object, Object, boolean, ObjectCache)}.
+	 * 
+	 * @return True if the field was assigned or false if the value needs to go through
+	 *         {@link #resultToJava(DatabaseResults, int)}.
+	 */
+	public boolean resultToField(Object data, DatabaseResults results, int dbColumnPos) throws SQLException {
+		if (primitiveFieldConverter == null) {
+			return false;
+		}
+		primitiveFieldConverter.resultToField(fieldAccessor, data, results, dbColumnPos);
+		if (fieldConfig.isThrowIfNull() && results.wasNull(dbColumnPos)) {
+			throw new SQLException("Results value for primitive field '" + field.getName()
+					+ "' was an invalid null value");
+		}
+		return true;
+	}
+
 	/**
 	 * Call through to {@link DataPersister#isSelfGeneratedId()}
 	 */
@@ -869,6 +875,13 @@ public class FieldType {
 		return fieldConfig.isReadOnly();
 	}
 
+	/**
+	 * Call through to {@link DatabaseFieldConfig#getAllocationSize()}
+	 */
+	public int getAllocationSize() {
+		return fieldConfig.getAllocationSize();
+	}
+
 	/**
 	 * Return the value of field in the data argument if it is not the default value for the class. If it is the default
 	 * then null is returned.
@@ -1002,6 +1015,23 @@ public class FieldType {
 		throw new SQLException(sb.toString());
 	}
 
+	/**
+	 * Return true if the persister is exactly one of the built-in primitive persisters. User subclasses may change the
+	 * conversion in resultToJava so they don't get the fast path.
+	 */
+	private static boolean isBuiltInPrimitiveConverter(DataPersister dataPersister) {
+		if (!(dataPersister instanceof PrimitiveFieldConverter)) {
+			return false;
+		}
+		for (DataType dataType : DataType.values()) {
+			DataPersister persister = dataType.getDataPersister();
+			if (persister != null && persister.getClass() == dataPersister.getClass()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Configure our data persister and any dependent fields. We have to do this here because both the constructor and
 	 * {@link #configDaoInformation} method can set the data-type.
@@ -1009,6 +1039,7 @@ public class FieldType {
 	private void assignDataType(DatabaseType databaseType, DataPersister dataPersister) throws SQLException {
 		this.dataPersister = dataPersister;
 		if (dataPersister == null) {
+			this.primitiveFieldConverter = null;
 			if (!fieldConfig.isForeign() && !fieldConfig.isForeignCollection()) {
 				// may never happen but let's be careful out there
 				throw new SQLException("Data persister for field " + this
@@ -1017,6 +1048,13 @@ public class FieldType {
 			return;
 		}
 		this.fieldConverter = databaseType.getFieldConverter(dataPersister);
+		if (fieldConverter == dataPersister && isBuiltInPrimitiveConverter(dataPersister)
+				&& field.getType().isPrimitive() && !fieldConfig.isForeign()) {
+			// the database does no conversion of its own so we can copy the primitive straight into the field
+			this.primitiveFieldConverter = (PrimitiveFieldConverter) dataPersister;
+		} else {
+			this.primitiveFieldConverter = null;
+		}
 		if (this.isGeneratedId && !dataPersister.isValidGeneratedType()) {
 			StringBuilder sb = new StringBuilder();
 			sb.append("Generated-id field '").append(field.getName());
@@ -0,0 +1,82 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+
+import com.j256.ormlite.misc.SqlExceptionUtil;
+
+/**
+ * Field accessor which calls the get and set methods of the field. See {@link DatabaseField#useGetSet()}. The
+ * primitive setters have to box the value to invoke the method.
+ * 
+ * @author graywatson
+ */
+public class MethodFieldAccessor implements FieldAccessor {
+
+	private final Method getMethod;
+	private final Method setMethod;
+	private final FieldType fieldType;
+
+	/**
+	 * @param getMethod
+	 *            Method which returns the value of the field.
+	 * @param setMethod
+	 *            Method which sets the value of the field.
+	 * @param fieldType
+	 *            Field type which is used in the exception messages.
+	 */
+	public MethodFieldAccessor(Method getMethod, Method setMethod, FieldType fieldType) {
+		this.getMethod = getMethod;
+		this.setMethod = setMethod;
+		this.fieldType = fieldType;
+	}
+
+	public Object getValue(Object data) throws SQLException {
+		try {
+			return getMethod.invoke(data);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not call " + getMethod + " for " + fieldType, e);
+		}
+	}
+
+	public void setValue(Object data, Object val) throws SQLException {
+		try {
+			setMethod.invoke(data, val);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not call " + setMethod + " on object with '" + val + "' for "
+					+ fieldType, e);
+		}
+	}
+
+	public void setBoolean(Object data, boolean val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setByte(Object data, byte val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setChar(Object data, char val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setShort(Object data, short val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setInt(Object data, int val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setLong(Object data, long val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setFloat(Object data, float val) throws SQLException {
+		setValue(data, val);
+	}
+
+	public void setDouble(Object data, double val) throws SQLException {
+		setValue(data, val);
+	}
+}
@@ -0,0 +1,29 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Implemented by the {@link DataPersister}s of primitive fields so a column can be copied from the results straight into
+ * the field of the data object without boxing the value. This is used instead of
+ * {@link FieldConverter#resultToJava(FieldType, DatabaseResults, int)} when the database type uses the persister as the
+ * field's converter.
+ * 
+ * <p>
+ * <b>NOTE:</b> This is only used for the built-in persisters of {@link DataType}. Subclasses of the primitive types
+ * always go through {@link FieldConverter#resultToJava(FieldType, DatabaseResults, int)} so any conversion that they
+ * add is not skipped.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public interface PrimitiveFieldConverter {
+
+	/**
+	 * Read the column from the results and assign it to the field in the data object using the primitive setter of the
+	 * accessor.
+	 */
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException;
+}
@@ -0,0 +1,128 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+
+import com.j256.ormlite.misc.SqlExceptionUtil;
+
+/**
+ * Field accessor which uses {@link Field#get(Object)} and {@link Field#set(Object, Object)}. The primitive setters use
+ * the matching {@link Field#setInt(Object, int)} style methods so the value is not boxed. The field must already be
+ * accessible.
+ * 
+ * @author graywatson
+ */
+public class ReflectionFieldAccessor implements FieldAccessor {
+
+	private final Field field;
+	private final FieldType fieldType;
+
+	/**
+	 * @param field
+	 *            Field to get and set which must already be accessible.
+	 * @param fieldType
+	 *            Field type which is used in the exception messages.
+	 */
+	public ReflectionFieldAccessor(Field field, FieldType fieldType) {
+		this.field = field;
+		this.fieldType = fieldType;
+	}
+
+	public Object getValue(Object data) throws SQLException {
+		try {
+			return field.get(data);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not get field value for " + fieldType, e);
+		}
+	}
+
+	public void setValue(Object data, Object val) throws SQLException {
+		try {
+			field.set(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign object '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign object '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setBoolean(Object data, boolean val) throws SQLException {
+		try {
+			field.setBoolean(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign boolean '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign boolean '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setByte(Object data, byte val) throws SQLException {
+		try {
+			field.setByte(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign byte '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign byte '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setChar(Object data, char val) throws SQLException {
+		try {
+			field.setChar(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign char '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign char '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setShort(Object data, short val) throws SQLException {
+		try {
+			field.setShort(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign short '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign short '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setInt(Object data, int val) throws SQLException {
+		try {
+			field.setInt(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign int '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign int '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setLong(Object data, long val) throws SQLException {
+		try {
+			field.setLong(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign long '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign long '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setFloat(Object data, float val) throws SQLException {
+		try {
+			field.setFloat(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign float '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign float '" + val + "' to field " + fieldType, e);
+		}
+	}
+
+	public void setDouble(Object data, double val) throws SQLException {
+		try {
+			field.setDouble(data, val);
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil.create("Could not assign double '" + val + "' to field " + fieldType, e);
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign double '" + val + "' to field " + fieldType, e);
+		}
+	}
+}
@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a boolean primitive.
  * 
  * @author graywatson
  */
-public class BooleanType extends BooleanObjectType {
+public class BooleanType extends BooleanObjectType implements PrimitiveFieldConverter {
 
 	private static final BooleanType singleTon = new BooleanType();
 
@@ -30,4 +35,9 @@ public class BooleanType extends BooleanObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setBoolean(data, results.getBoolean(columnPos));
+	}
 }
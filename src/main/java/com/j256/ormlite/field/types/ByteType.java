@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a byte primitive.
  * 
  * @author graywatson
  */
-public class ByteType extends ByteObjectType {
+public class ByteType extends ByteObjectType implements PrimitiveFieldConverter {
 
 	private static final ByteType singleTon = new ByteType();
 
@@ -30,4 +35,9 @@ public class ByteType extends ByteObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setByte(data, results.getByte(columnPos));
+	}
 }
@@ -1,14 +1,19 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a char primitive.
  * 
  * @author graywatson
  */
-public class CharType extends CharacterObjectType {
+public class CharType extends CharacterObjectType implements PrimitiveFieldConverter {
 
 	private static final CharType singleTon = new CharType();
 
@@ -42,4 +47,9 @@ public class CharType extends CharacterObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setChar(data, results.getChar(columnPos));
+	}
 }
@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a double primitive.
  * 
  * @author graywatson
  */
-public class DoubleType extends DoubleObjectType {
+public class DoubleType extends DoubleObjectType implements PrimitiveFieldConverter {
 
 	private static final DoubleType singleTon = new DoubleType();
 
@@ -30,4 +35,9 @@ public class DoubleType extends DoubleObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setDouble(data, results.getDouble(columnPos));
+	}
 }
@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a float primitive.
  * 
  * @author graywatson
  */
-public class FloatType extends FloatObjectType {
+public class FloatType extends FloatObjectType implements PrimitiveFieldConverter {
 
 	private static final FloatType singleTon = new FloatType();
 
@@ -30,4 +35,9 @@ public class FloatType extends FloatObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setFloat(data, results.getFloat(columnPos));
+	}
 }
@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a integer primitive.
  * 
  * @author graywatson
  */
-public class IntType extends IntegerObjectType {
+public class IntType extends IntegerObjectType implements PrimitiveFieldConverter {
 
 	private static final IntType singleTon = new IntType();
 
@@ -30,4 +35,9 @@ public class IntType extends IntegerObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setInt(data, results.getInt(columnPos));
+	}
 }
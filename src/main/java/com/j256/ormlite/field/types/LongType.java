@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a long primitive.
  * 
  * @author graywatson
  */
-public class LongType extends LongObjectType {
+public class LongType extends LongObjectType implements PrimitiveFieldConverter {
 
 	private static final LongType singleTon = new LongType();
 
@@ -30,4 +35,9 @@ public class LongType extends LongObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setLong(data, results.getLong(columnPos));
+	}
 }
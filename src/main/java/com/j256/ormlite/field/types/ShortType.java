@@ -1,13 +1,18 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.PrimitiveFieldConverter;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a short primitive.
  * 
  * @author graywatson
  */
-public class ShortType extends ShortObjectType {
+public class ShortType extends ShortObjectType implements PrimitiveFieldConverter {
 
 	private static final ShortType singleTon = new ShortType();
 
@@ -30,4 +35,9 @@ public class ShortType extends ShortObjectType {
 	public boolean isPrimitive() {
 		return true;
 	}
+
+	public void resultToField(FieldAccessor fieldAccessor, Object data, DatabaseResults results, int columnPos)
+			throws SQLException {
+		fieldAccessor.setShort(data, results.getShort(columnPos));
+	}
 }
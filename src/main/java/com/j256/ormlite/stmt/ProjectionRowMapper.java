@@ -0,0 +1,191 @@
+package com.j256.ormlite.stmt;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Row mapper which maps the selected columns of a query directly into the constructor or static factory method of a
+ * projection class instead of building full entity objects. The arguments are the columns in the order of the field
+ * types passed in. The constructor or factory method is found when the mapper is built and the positions of the
+ * columns in the results are looked up once per result set.
+ * 
+ * <p>
+ * This is usually used through {@link QueryBuilder#queryProjection(Class)}. It can also be built once and passed to
+ * {@link com.j256.ormlite.dao.Dao#query(PreparedQuery, GenericRowMapper)} to be used over and over.
+ * </p>
+ * 
+ * @param <P>
+ *            The projection class that the rows are mapped into.
+ * @author graywatson
+ */
+public class ProjectionRowMapper<P> implements GenericRowMapper<P> {
+
+	private final Class<P> projectionClass;
+	private final FieldType[] fieldTypes;
+	private final Constructor<P> constructor;
+	private final Method factoryMethod;
+	private volatile ColumnPositions columnPositions;
+
+	/**
+	 * @param projectionClass
+	 *            Class which has a constructor, or a static method which returns the class, whose parameters match the
+	 *            field types in order.
+	 * @param fieldTypes
+	 *            Field types of the columns to pass as arguments.
+	 * @throws IllegalArgumentException
+	 *             If there is no matching constructor or factory method or there is more than one.
+	 */
+	public ProjectionRowMapper(Class<P> projectionClass, FieldType[] fieldTypes) {
+		this.projectionClass = projectionClass;
+		this.fieldTypes = fieldTypes;
+		Constructor<P> constructor = findConstructor(projectionClass, fieldTypes);
+		if (constructor == null) {
+			this.constructor = null;
+			this.factoryMethod = findFactoryMethod(projectionClass, fieldTypes);
+			if (factoryMethod == null) {
+				throw new IllegalArgumentException("Can't find a constructor or static factory method in "
+						+ projectionClass + " which takes the " + fieldTypes.length + " selected columns in order");
+			}
+			openAccess(factoryMethod);
+		} else {
+			this.constructor = constructor;
+			this.factoryMethod = null;
+			openAccess(constructor);
+		}
+	}
+
+	public P mapRow(DatabaseResults results) throws SQLException {
+		ColumnPositions positions = columnPositions;
+		if (positions == null || positions.resultsRef.get() != results) {
+			positions = findColumnPositions(results);
+			columnPositions = positions;
+		}
+		Object[] args = new Object[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			args[i] = fieldTypes[i].resultToJava(results, positions.positions[i]);
+		}
+		try {
+			if (constructor == null) {
+				@SuppressWarnings("unchecked")
+				P result = (P) factoryMethod.invoke(null, args);
+				return result;
+			} else {
+				return constructor.newInstance(args);
+			}
+		} catch (InvocationTargetException e) {
+			throw SqlExceptionUtil.create("Could not create projection object for " + projectionClass, e.getCause());
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not create projection object for " + projectionClass, e);
+		}
+	}
+
+	private ColumnPositions findColumnPositions(DatabaseResults results) throws SQLException {
+		int[] positions = new int[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			positions[i] = results.findColumn(fieldTypes[i].getColumnName());
+		}
+		return new ColumnPositions(results, positions);
+	}
+
+	private static <P> Constructor<P> findConstructor(Class<P> projectionClass, FieldType[] fieldTypes) {
+		@SuppressWarnings("unchecked")
+		Constructor<P>[] constructors = (Constructor<P>[]) projectionClass.getDeclaredConstructors();
+		List<Constructor<P>> matches = new ArrayList<Constructor<P>>();
+		for (Constructor<P> con : constructors) {
+			if (parametersMatch(con.getParameterTypes(), fieldTypes)) {
+				matches.add(con);
+			}
+		}
+		if (matches.size() > 1) {
+			throw new IllegalArgumentException("More than one constructor in " + projectionClass + " takes the "
+					+ fieldTypes.length + " selected columns: " + matches);
+		}
+		return (matches.isEmpty() ? null : matches.get(0));
+	}
+
+	private static Method findFactoryMethod(Class<?> projectionClass, FieldType[] fieldTypes) {
+		List<Method> matches = new ArrayList<Method>();
+		for (Method method : projectionClass.getDeclaredMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) && projectionClass.isAssignableFrom(method.getReturnType())
+					&& parametersMatch(method.getParameterTypes(), fieldTypes)) {
+				matches.add(method);
+			}
+		}
+		if (matches.size() > 1) {
+			throw new IllegalArgumentException("More than one static factory method in " + projectionClass
+					+ " takes the " + fieldTypes.length + " selected columns: " + matches);
+		}
+		return (matches.isEmpty() ? null : matches.get(0));
+	}
+
+	private static boolean parametersMatch(Class<?>[] parameterTypes, FieldType[] fieldTypes) {
+		if (parameterTypes.length != fieldTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (!boxedType(parameterTypes[i]).isAssignableFrom(boxedType(fieldTypes[i].getType()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> boxedType(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		} else if (type == boolean.class) {
+			return Boolean.class;
+		} else if (type == byte.class) {
+			return Byte.class;
+		} else if (type == char.class) {
+			return Character.class;
+		} else if (type == short.class) {
+			return Short.class;
+		} else if (type == int.class) {
+			return Integer.class;
+		} else if (type == long.class) {
+			return Long.class;
+		} else if (type == float.class) {
+			return Float.class;
+		} else if (type == double.class) {
+			return Double.class;
+		} else {
+			return type;
+		}
+	}
+
+	private void openAccess(AccessibleObject accessible) {
+		// isAccessible() is deprecated in newer JDKs and setting it again is harmless
+		try {
+			accessible.setAccessible(true);
+		} catch (SecurityException e) {
+			throw new IllegalArgumentException("Could not open access to " + accessible + " in " + projectionClass);
+		}
+	}
+
+	/**
+	 * Positions of our columns in a particular set of results. The results are weakly referenced so a mapper which is
+	 * kept around doesn't hold on to them after they have been closed.
+	 */
+	private static class ColumnPositions {
+
+		final WeakReference<DatabaseResults> resultsRef;
+		final int[] positions;
+
+		public ColumnPositions(DatabaseResults results, int[] positions) {
+			this.resultsRef = new WeakReference<DatabaseResults>(results);
+			this.positions = positions;
+		}
+	}
+}
@@ -361,6 +361,43 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return dao.query(prepare());
 	}
 
+	/**
+	 * Query for the selected columns and map each row into the projection class instead of building the entity
+	 * objects. The projection class must have a constructor, or a static factory method returning the class, whose
+	 * parameters match the types of the columns in the order they were passed to {@link #selectColumns(String...)}.
+	 * If no columns were selected then all of the columns of the entity are used in field order. This builds a
+	 * {@link ProjectionRowMapper} and calls {@link Dao#query(PreparedQuery, GenericRowMapper)}.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the projection class has no matching constructor or factory method.
+	 * @throws IllegalStateException
+	 *             If raw columns were selected with {@link #selectRaw(String...)} since we don't know their types. Use
+	 *             {@link #queryRaw()} instead.
+	 */
+	public <P> List<P> queryProjection(Class<P> projectionClass) throws SQLException {
+		if (selectRawList != null && !selectRawList.isEmpty()) {
+			throw new IllegalStateException("Cannot query for a projection of raw columns " + selectRawList
+					+ ", use queryRaw() instead");
+		}
+		List<FieldType> fieldTypeList = new ArrayList<FieldType>();
+		if (selectColumnList == null) {
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (!fieldType.isForeignCollection()) {
+					fieldTypeList.add(fieldType);
+				}
+			}
+		} else {
+			for (String columnName : selectColumnList) {
+				FieldType fieldType = tableInfo.getFieldTypeByColumnName(columnName);
+				if (!fieldType.isForeignCollection()) {
+					fieldTypeList.add(fieldType);
+				}
+			}
+		}
+		FieldType[] fieldTypes = fieldTypeList.toArray(new FieldType[fieldTypeList.size()]);
+		return dao.query(prepare(), new ProjectionRowMapper<P>(projectionClass, fieldTypes));
+	}
+
 	/**
 	 * A short cut to {@link Dao#queryRaw(String, String...)}.
 	 */
@@ -1,18 +1,27 @@
 package com.j256.ormlite.stmt;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.ColumnarRawResults;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.Dao.BatchUpdateStatus;
 import com.j256.ormlite.dao.GenericRawResults;
+import com.j256.ormlite.dao.MissingIdCache;
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.dao.QueryResultCache;
 import com.j256.ormlite.dao.RawRowMapper;
 import com.j256.ormlite.dao.RawRowObjectMapper;
+import com.j256.ormlite.dao.RawRowView;
+import com.j256.ormlite.dao.RawRowViewMapper;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DataPersister;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
@@ -24,9 +33,11 @@ import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.stmt.mapped.MappedCreate;
 import com.j256.ormlite.stmt.mapped.MappedDelete;
 import com.j256.ormlite.stmt.mapped.MappedDeleteCollection;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.mapped.MappedQueryForId;
 import com.j256.ormlite.stmt.mapped.MappedRefresh;
 import com.j256.ormlite.stmt.mapped.MappedUpdate;
+import com.j256.ormlite.stmt.mapped.MappedUpsert;
 import com.j256.ormlite.stmt.mapped.MappedUpdateId;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.ConnectionSource;
@@ -49,6 +60,8 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 
 	private static Logger logger = LoggerFactory.getLogger(StatementExecutor.class);
 	private static final FieldType[] noFieldTypes = new FieldType[0];
+	// stored in the query result cache when a query-for-first finds nothing
+	private static final Object NO_RESULT = new Object();
 
 	private final DatabaseType databaseType;
 	private final TableInfo<T, ID> tableInfo;
@@ -57,13 +70,18 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	private PreparedQuery<T> preparedQueryForAll;
 	private MappedCreate<T, ID> mappedInsert;
 	private MappedUpdate<T, ID> mappedUpdate;
+	private MappedUpsert<T, ID> mappedUpsert;
+	private Boolean tableUpsertable;
 	private MappedUpdateId<T, ID> mappedUpdateId;
 	private MappedDelete<T, ID> mappedDelete;
+	private MappedDeleteCollection<T, ID> mappedDeleteCollection;
 	private MappedRefresh<T, ID> mappedRefresh;
 	private String countStarQuery;
 	private String ifExistsQuery;
 	private FieldType[] ifExistsFieldTypes;
 	private RawRowMapper<T> rawRowMapper;
+	private QueryResultCache queryResultCache;
+	private MissingIdCache missingIdCache;
 
 	/**
 	 * Provides statements for various SQL operations.
@@ -74,6 +92,30 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		this.dao = dao;
 	}
 
+	/**
+	 * Set the cache of query results used by the query methods and invalidated by the create, update, and delete
+	 * methods. Set to null to disable it.
+	 */
+	public void setQueryResultCache(QueryResultCache queryResultCache) {
+		this.queryResultCache = queryResultCache;
+	}
+
+	public QueryResultCache getQueryResultCache() {
+		return queryResultCache;
+	}
+
+	/**
+	 * Set the cache of ids which were not found by {@link #queryForId(DatabaseConnection, Object, ObjectCache)} and
+	 * which are dropped when objects with those ids are created. Set to null to disable it.
+	 */
+	public void setMissingIdCache(MissingIdCache missingIdCache) {
+		this.missingIdCache = missingIdCache;
+	}
+
+	public MissingIdCache getMissingIdCache() {
+		return missingIdCache;
+	}
+
 	/**
 	 * Return the object associated with the id or null if none. This does a SQL
 	 * <tt>select col1,col2,... from ... where ... = id</tt> type query.
@@ -82,7 +124,30 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedQueryForId == null) {
 			mappedQueryForId = MappedQueryForId.build(databaseType, tableInfo, null);
 		}
-		return mappedQueryForId.execute(databaseConnection, id, objectCache);
+		MissingIdCache cache = missingIdCache;
+		if (cache == null || id == null) {
+			return mappedQueryForId.execute(databaseConnection, id, objectCache);
+		}
+		Class<T> clazz = tableInfo.getDataClass();
+		if (cache.isMissing(clazz, id)) {
+			// a query may have put the object in the object cache since we found it missing
+			if (objectCache != null) {
+				T cached = objectCache.get(clazz, id);
+				if (cached != null) {
+					cache.invalidate(clazz, id);
+					return cached;
+				}
+			}
+			logger.debug("query-for-id found id {} in the missing-id cache", id);
+			return null;
+		}
+		// read the version before the query so a create that happens in the meantime stops us caching the miss
+		long version = cache.getVersion(clazz);
+		T result = mappedQueryForId.execute(databaseConnection, id, objectCache);
+		if (result == null) {
+			cache.putMissing(clazz, id, version);
+		}
+		return result;
 	}
 
 	/**
@@ -90,17 +155,42 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public T queryForFirst(DatabaseConnection databaseConnection, PreparedStmt<T> preparedStmt, ObjectCache objectCache)
 			throws SQLException {
+		QueryResultCache cache = queryResultCache;
+		QueryResultCache.CacheKey cacheKey = buildEntityCacheKey(cache, "queryForFirst", preparedStmt);
+		long cacheVersion = 0;
+		if (cacheKey != null) {
+			Object cachedId = cache.get(cacheKey);
+			if (cachedId == NO_RESULT) {
+				logger.debug("query-for-first of '{}' returned a cached empty result", preparedStmt.getStatement());
+				return null;
+			} else if (cachedId != null) {
+				T result = queryForCachedId(databaseConnection, cachedId, objectCache);
+				if (result != null) {
+					logger.debug("query-for-first of '{}' returned a cached result", preparedStmt.getStatement());
+					return result;
+				}
+			}
+			cacheVersion = cache.getVersion(tableInfo.getTableName());
+		}
 		CompiledStatement stmt = preparedStmt.compile(databaseConnection, StatementType.SELECT);
 		DatabaseResults results = null;
 		try {
 			results = stmt.runQuery(objectCache);
+			T result;
 			if (results.first()) {
 				logger.debug("query-for-first of '{}' returned at least 1 result", preparedStmt.getStatement());
-				return preparedStmt.mapRow(results);
+				result = preparedStmt.mapRow(results);
 			} else {
 				logger.debug("query-for-first of '{}' returned at 0 results", preparedStmt.getStatement());
-				return null;
+				result = null;
+			}
+			if (cacheKey != null) {
+				Object id = (result == null ? NO_RESULT : tableInfo.getIdField().extractJavaFieldValue(result));
+				if (id != null) {
+					cache.put(cacheKey, id, cacheVersion);
+				}
 			}
+			return result;
 		} finally {
 			if (results != null) {
 				results.close();
@@ -137,12 +227,27 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 * Return a long value from a prepared query.
 	 */
 	public long queryForLong(DatabaseConnection databaseConnection, PreparedStmt<T> preparedStmt) throws SQLException {
+		QueryResultCache cache = queryResultCache;
+		QueryResultCache.CacheKey cacheKey = buildCacheKey(cache, "queryForLong", preparedStmt);
+		long cacheVersion = 0;
+		if (cacheKey != null) {
+			Long cached = (Long) cache.get(cacheKey);
+			if (cached != null) {
+				logger.debug("query of '{}' returned cached {}", preparedStmt.getStatement(), cached);
+				return cached;
+			}
+			cacheVersion = cache.getVersion(tableInfo.getTableName());
+		}
 		CompiledStatement stmt = preparedStmt.compile(databaseConnection, StatementType.SELECT_LONG);
 		DatabaseResults results = null;
 		try {
 			results = stmt.runQuery(null);
 			if (results.first()) {
-				return results.getLong(0);
+				long value = results.getLong(0);
+				if (cacheKey != null) {
+					cache.put(cacheKey, value, cacheVersion);
+				}
+				return value;
 			} else {
 				throw new SQLException("No result found in queryForLong: " + preparedStmt.getStatement());
 			}
@@ -193,6 +298,21 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public List<T> query(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt, ObjectCache objectCache)
 			throws SQLException {
+		QueryResultCache cache = queryResultCache;
+		QueryResultCache.CacheKey cacheKey = buildEntityCacheKey(cache, "query", preparedStmt);
+		long cacheVersion = 0;
+		if (cacheKey != null) {
+			Object[] cachedIds = (Object[]) cache.get(cacheKey);
+			if (cachedIds != null) {
+				List<T> results = queryForCachedIds(connectionSource, cachedIds, objectCache);
+				if (results != null) {
+					logger.debug("query of '{}' returned {} cached results", preparedStmt.getStatement(),
+							results.size());
+					return results;
+				}
+			}
+			cacheVersion = cache.getVersion(tableInfo.getTableName());
+		}
 		SelectIterator<T, ID> iterator =
 				buildIterator(/* no dao specified because no removes */null, connectionSource, preparedStmt, objectCache,
 						DatabaseConnection.DEFAULT_RESULT_FLAGS);
@@ -202,12 +322,54 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 				results.add(iterator.nextThrow());
 			}
 			logger.debug("query of '{}' returned {} results", preparedStmt.getStatement(), results.size());
+			if (cacheKey != null) {
+				Object[] ids = extractIds(results);
+				if (ids != null) {
+					cache.put(cacheKey, ids, cacheVersion);
+				}
+			}
 			return results;
 		} finally {
 			iterator.close();
 		}
 	}
 
+	/**
+	 * Return a list of the rows matched by the prepared statement mapped by the row mapper.
+	 */
+	public <UO> List<UO> query(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt,
+			GenericRowMapper<UO> rowMapper, ObjectCache objectCache) throws SQLException {
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection();
+		CompiledStatement compiledStatement = null;
+		try {
+			compiledStatement =
+					preparedStmt.compile(connection, StatementType.SELECT, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+			SelectIterator<UO, Void> iterator =
+					new SelectIterator<UO, Void>(tableInfo.getDataClass(), null, rowMapper, connectionSource,
+							connection, compiledStatement, preparedStmt.getStatement(), objectCache);
+			// the iterator now owns the connection and the statement
+			connection = null;
+			compiledStatement = null;
+			try {
+				List<UO> results = new ArrayList<UO>();
+				while (iterator.hasNextThrow()) {
+					results.add(iterator.nextThrow());
+				}
+				logger.debug("mapped query of '{}' returned {} results", preparedStmt.getStatement(), results.size());
+				return results;
+			} finally {
+				iterator.close();
+			}
+		} finally {
+			if (compiledStatement != null) {
+				compiledStatement.close();
+			}
+			if (connection != null) {
+				connectionSource.releaseConnection(connection);
+			}
+		}
+	}
+
 	/**
 	 * Create and return a SelectIterator for the class using the default mapped query for all statement.
 	 */
@@ -260,6 +422,37 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Return the results of a raw query read into columns.
+	 */
+	public ColumnarRawResults queryRawColumnar(DatabaseConnection databaseConnection, String query,
+			DataType[] columnTypes, String[] arguments) throws SQLException {
+		logger.debug("executing raw columnar query for: {}", query);
+		if (arguments.length > 0) {
+			// need to do the (Object) cast to force args to be a single object
+			logger.trace("query arguments: {}", (Object) arguments);
+		}
+		CompiledStatement stmt = null;
+		DatabaseResults results = null;
+		try {
+			stmt =
+					databaseConnection.compileStatement(query, StatementType.SELECT, noFieldTypes,
+							DatabaseConnection.DEFAULT_RESULT_FLAGS);
+			assignStatementArguments(stmt, arguments);
+			results = stmt.runQuery(null);
+			ColumnarRawResults columnarResults = ColumnarRawResults.fromResults(results, columnTypes);
+			logger.debug("raw columnar query returned {} rows", columnarResults.getRowCount());
+			return columnarResults;
+		} finally {
+			if (results != null) {
+				results.close();
+			}
+			if (stmt != null) {
+				stmt.close();
+			}
+		}
+	}
+
 	/**
 	 * Return a results object associated with an internal iterator that returns String[] results.
 	 */
@@ -326,6 +519,40 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Return a results object associated with an internal iterator is mapped by the user's rowMapper which is passed a
+	 * reusable view of each row.
+	 */
+	public <UO> GenericRawResults<UO> queryRaw(ConnectionSource connectionSource, String query,
+			RawRowViewMapper<UO> rowMapper, String[] arguments, ObjectCache objectCache) throws SQLException {
+		logger.debug("executing raw query for: {}", query);
+		if (arguments.length > 0) {
+			// need to do the (Object) cast to force args to be a single object
+			logger.trace("query arguments: {}", (Object) arguments);
+		}
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection();
+		CompiledStatement compiledStatement = null;
+		try {
+			compiledStatement =
+					connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
+							DatabaseConnection.DEFAULT_RESULT_FLAGS);
+			assignStatementArguments(compiledStatement, arguments);
+			RawResultsImpl<UO> rawResults =
+					new RawResultsImpl<UO>(connectionSource, connection, query, String[].class, compiledStatement,
+							new UserRawRowViewMapper<UO>(rowMapper), objectCache);
+			compiledStatement = null;
+			connection = null;
+			return rawResults;
+		} finally {
+			if (compiledStatement != null) {
+				compiledStatement.close();
+			}
+			if (connection != null) {
+				connectionSource.releaseConnection(connection);
+			}
+		}
+	}
+
 	/**
 	 * Return a results object associated with an internal iterator is mapped by the user's rowMapper.
 	 */
@@ -409,6 +636,8 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			return compiledStatement.runUpdate();
 		} finally {
 			compiledStatement.close();
+			clearQueryResultCache();
+			clearMissingIdCache();
 		}
 	}
 
@@ -417,7 +646,12 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public int executeRawNoArgs(DatabaseConnection connection, String statement) throws SQLException {
 		logger.debug("running raw execute statement: {}", statement);
-		return connection.executeStatement(statement, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		try {
+			return connection.executeStatement(statement, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		} finally {
+			clearQueryResultCache();
+			clearMissingIdCache();
+		}
 	}
 
 	/**
@@ -437,6 +671,8 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			return compiledStatement.runExecute();
 		} finally {
 			compiledStatement.close();
+			clearQueryResultCache();
+			clearMissingIdCache();
 		}
 	}
 
@@ -445,9 +681,95 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public int create(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
 		if (mappedInsert == null) {
-			mappedInsert = MappedCreate.build(databaseType, tableInfo);
+			mappedInsert = MappedCreate.build(databaseType, tableInfo, getConnectionSource());
+		}
+		try {
+			int numRows = mappedInsert.insert(databaseType, databaseConnection, data, objectCache);
+			invalidateMissingId(data);
+			return numRows;
+		} finally {
+			invalidateQueryResultCache();
+		}
+	}
+
+	/**
+	 * Create a collection of new entries in the database using batches of the insert statement.
+	 */
+	public int create(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(databaseType, tableInfo, getConnectionSource());
+		}
+		try {
+			int numRows = mappedInsert.insertBatch(databaseType, databaseConnection, datas, objectCache);
+			for (T data : datas) {
+				invalidateMissingId(data);
+			}
+			return numRows;
+		} finally {
+			invalidateQueryResultCache();
+		}
+	}
+
+	/**
+	 * Convert a collection of objects into the arguments of the insert statement without using the database so it can
+	 * be done in a different thread from the insert. See
+	 * {@link #createPrepared(DatabaseConnection, MappedCreate.PreparedBatch, ObjectCache)}.
+	 * 
+	 * @return The prepared rows or null if creating the objects needs the database and they have to be passed to
+	 *         {@link #create(DatabaseConnection, Collection, ObjectCache)} instead.
+	 */
+	public MappedCreate.PreparedBatch<T> prepareCreate(Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(databaseType, tableInfo, getConnectionSource());
+		}
+		return mappedInsert.prepareBatch(databaseType, datas, objectCache);
+	}
+
+	/**
+	 * Create new entries in the database from the rows returned by {@link #prepareCreate(Collection, ObjectCache)}.
+	 */
+	public int createPrepared(DatabaseConnection databaseConnection, MappedCreate.PreparedBatch<T> preparedBatch,
+			ObjectCache objectCache) throws SQLException {
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(databaseType, tableInfo, getConnectionSource());
+		}
+		try {
+			int numRows = mappedInsert.insertPreparedBatch(databaseConnection, preparedBatch, objectCache);
+			for (T data : preparedBatch.getDatas()) {
+				invalidateMissingId(data);
+			}
+			return numRows;
+		} finally {
+			invalidateQueryResultCache();
+		}
+	}
+
+	/**
+	 * Return true if objects can be created or updated with a single upsert statement.
+	 */
+	public boolean isUpsertable() {
+		if (tableUpsertable == null) {
+			tableUpsertable = MappedUpsert.isTableUpsertable(databaseType, tableInfo);
+		}
+		return tableUpsertable;
+	}
+
+	/**
+	 * Insert an object into the database or update it if a row with the same id already exists.
+	 */
+	public int upsert(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
+		if (mappedUpsert == null) {
+			mappedUpsert = MappedUpsert.build(databaseType, tableInfo);
+		}
+		try {
+			int numRows = mappedUpsert.upsert(databaseConnection, data, objectCache);
+			invalidateMissingId(data);
+			return numRows;
+		} finally {
+			invalidateQueryResultCache();
 		}
-		return mappedInsert.insert(databaseType, databaseConnection, data, objectCache);
 	}
 
 	/**
@@ -457,7 +779,32 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedUpdate == null) {
 			mappedUpdate = MappedUpdate.build(databaseType, tableInfo);
 		}
-		return mappedUpdate.update(databaseConnection, data, objectCache);
+		try {
+			int numRows = mappedUpdate.update(databaseConnection, data, objectCache);
+			// the row exists so any miss that we remembered is out of date
+			invalidateMissingId(data);
+			return numRows;
+		} finally {
+			invalidateQueryResultCache();
+		}
+	}
+
+	/**
+	 * Update a collection of objects in the database using batches of the update statement.
+	 */
+	public BatchUpdateStatus<T> update(DatabaseConnection databaseConnection, Collection<T> datas,
+			ObjectCache objectCache) throws SQLException {
+		if (mappedUpdate == null) {
+			mappedUpdate = MappedUpdate.build(databaseType, tableInfo);
+		}
+		List<T> failedDatas = new ArrayList<T>();
+		int rowC;
+		try {
+			rowC = mappedUpdate.updateBatch(databaseConnection, datas, objectCache, failedDatas);
+		} finally {
+			invalidateQueryResultCache();
+		}
+		return new BatchUpdateStatus<T>(rowC, failedDatas);
 	}
 
 	/**
@@ -468,7 +815,16 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedUpdateId == null) {
 			mappedUpdateId = MappedUpdateId.build(databaseType, tableInfo);
 		}
-		return mappedUpdateId.execute(databaseConnection, data, newId, objectCache);
+		try {
+			int numRows = mappedUpdateId.execute(databaseConnection, data, newId, objectCache);
+			MissingIdCache cache = missingIdCache;
+			if (cache != null) {
+				cache.invalidate(tableInfo.getDataClass(), newId);
+			}
+			return numRows;
+		} finally {
+			invalidateQueryResultCache();
+		}
 	}
 
 	/**
@@ -480,6 +836,12 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			return stmt.runUpdate();
 		} finally {
 			stmt.close();
+			invalidateQueryResultCache();
+			// the update may have changed ids so we don't know which of the misses are out of date
+			MissingIdCache cache = missingIdCache;
+			if (cache != null) {
+				cache.clear(tableInfo.getDataClass());
+			}
 		}
 	}
 
@@ -501,7 +863,11 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedDelete == null) {
 			mappedDelete = MappedDelete.build(databaseType, tableInfo);
 		}
-		return mappedDelete.delete(databaseConnection, data, objectCache);
+		try {
+			return mappedDelete.delete(databaseConnection, data, objectCache);
+		} finally {
+			invalidateQueryResultCache();
+		}
 	}
 
 	/**
@@ -511,7 +877,11 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedDelete == null) {
 			mappedDelete = MappedDelete.build(databaseType, tableInfo);
 		}
-		return mappedDelete.deleteById(databaseConnection, id, objectCache);
+		try {
+			return mappedDelete.deleteById(databaseConnection, id, objectCache);
+		} finally {
+			invalidateQueryResultCache();
+		}
 	}
 
 	/**
@@ -519,8 +889,14 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public int deleteObjects(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
 			throws SQLException {
-		// have to build this on the fly because the collection has variable number of args
-		return MappedDeleteCollection.deleteObjects(databaseType, tableInfo, databaseConnection, datas, objectCache);
+		if (mappedDeleteCollection == null) {
+			mappedDeleteCollection = MappedDeleteCollection.build(databaseType, tableInfo);
+		}
+		try {
+			return mappedDeleteCollection.deleteObjects(databaseConnection, datas, objectCache);
+		} finally {
+			invalidateQueryResultCache();
+		}
 	}
 
 	/**
@@ -528,8 +904,14 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public int deleteIds(DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache)
 			throws SQLException {
-		// have to build this on the fly because the collection has variable number of args
-		return MappedDeleteCollection.deleteIds(databaseType, tableInfo, databaseConnection, ids, objectCache);
+		if (mappedDeleteCollection == null) {
+			mappedDeleteCollection = MappedDeleteCollection.build(databaseType, tableInfo);
+		}
+		try {
+			return mappedDeleteCollection.deleteIds(databaseConnection, ids, objectCache);
+		} finally {
+			invalidateQueryResultCache();
+		}
 	}
 
 	/**
@@ -541,6 +923,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			return stmt.runUpdate();
 		} finally {
 			stmt.close();
+			invalidateQueryResultCache();
 		}
 	}
 
@@ -605,6 +988,135 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		return (count != 0);
 	}
 
+	/**
+	 * Return the key of the prepared statement in the query result cache or null if the results are not cached.
+	 */
+	private QueryResultCache.CacheKey buildCacheKey(QueryResultCache cache, String queryType,
+			PreparedStmt<T> preparedStmt) throws SQLException {
+		if (cache == null || !(preparedStmt instanceof MappedPreparedStmt)) {
+			return null;
+		}
+		return new QueryResultCache.CacheKey(tableInfo.getTableName(), queryType, preparedStmt.getStatement(),
+				((MappedPreparedStmt<?, ?>) preparedStmt).getArgumentKeyValues());
+	}
+
+	/**
+	 * Return the key of a query whose objects are cached as their ids or null if they are not cached. Only queries
+	 * which select all of the columns of a table with an id are cached since the objects are read back by their ids.
+	 */
+	private QueryResultCache.CacheKey buildEntityCacheKey(QueryResultCache cache, String queryType,
+			PreparedStmt<T> preparedStmt) throws SQLException {
+		if (tableInfo.getIdField() == null || !(preparedStmt instanceof MappedPreparedStmt)
+				|| !((MappedPreparedStmt<?, ?>) preparedStmt).isAllFieldsSelected()) {
+			return null;
+		}
+		return buildCacheKey(cache, queryType, preparedStmt);
+	}
+
+	/**
+	 * Return the ids of the objects to put in the query result cache or null if one of them doesn't have an id.
+	 */
+	private Object[] extractIds(List<T> results) throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		Object[] ids = new Object[results.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = idField.extractJavaFieldValue(results.get(i));
+			if (ids[i] == null) {
+				return null;
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Read back the objects of cached query results by their ids from the object cache or the database so each caller
+	 * gets its own objects unless they are shared through the object cache. Returns null if one of the rows has gone
+	 * away in which case the query needs to be run again.
+	 */
+	private List<T> queryForCachedIds(ConnectionSource connectionSource, Object[] ids, ObjectCache objectCache)
+			throws SQLException {
+		List<T> results = new ArrayList<T>(ids.length);
+		if (ids.length == 0) {
+			return results;
+		}
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection();
+		try {
+			for (Object id : ids) {
+				T result = queryForCachedId(connection, id, objectCache);
+				if (result == null) {
+					return null;
+				}
+				results.add(result);
+			}
+			return results;
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	private T queryForCachedId(DatabaseConnection databaseConnection, Object id, ObjectCache objectCache)
+			throws SQLException {
+		if (mappedQueryForId == null) {
+			mappedQueryForId = MappedQueryForId.build(databaseType, tableInfo, null);
+		}
+		@SuppressWarnings("unchecked")
+		ID castId = (ID) id;
+		return mappedQueryForId.execute(databaseConnection, castId, objectCache);
+	}
+
+	/**
+	 * Drop the cached query results for our table after it has been changed.
+	 */
+	private void invalidateQueryResultCache() {
+		QueryResultCache cache = queryResultCache;
+		if (cache != null) {
+			cache.invalidate(tableInfo.getTableName());
+		}
+	}
+
+	/**
+	 * Drop all of the cached query results after a raw statement which may have changed any table.
+	 */
+	private void clearQueryResultCache() {
+		QueryResultCache cache = queryResultCache;
+		if (cache != null) {
+			cache.clearAll();
+		}
+	}
+
+	/**
+	 * Return the connection source of our dao or null if we don't have one.
+	 */
+	private ConnectionSource getConnectionSource() {
+		if (dao == null) {
+			return null;
+		} else {
+			return dao.getConnectionSource();
+		}
+	}
+
+	/**
+	 * Drop the id of an object which has just been written from the missing-id cache. Null objects, which the batch
+	 * creates skip, are ignored.
+	 */
+	private void invalidateMissingId(T data) throws SQLException {
+		MissingIdCache cache = missingIdCache;
+		FieldType idField = tableInfo.getIdField();
+		if (cache != null && idField != null && data != null) {
+			cache.invalidate(tableInfo.getDataClass(), idField.extractJavaFieldValue(data));
+		}
+	}
+
+	/**
+	 * Drop all of the missing ids after a raw statement which may have created rows in any table.
+	 */
+	private void clearMissingIdCache() {
+		MissingIdCache cache = missingIdCache;
+		if (cache != null) {
+			cache.clearAll();
+		}
+	}
+
 	private void assignStatementArguments(CompiledStatement compiledStatement, String[] arguments) throws SQLException {
 		for (int i = 0; i < arguments.length; i++) {
 			compiledStatement.setObject(i, arguments[i], SqlType.STRING);
@@ -645,14 +1157,118 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Map raw results to return a user object from a view of the row which is reused for every row.
+	 */
+	private static class UserRawRowViewMapper<UO> implements GenericRowMapper<UO> {
+
+		private final RawRowViewMapper<UO> mapper;
+		private final ResultsRowView rowView = new ResultsRowView();
+
+		public UserRawRowViewMapper(RawRowViewMapper<UO> mapper) {
+			this.mapper = mapper;
+		}
+
+		public UO mapRow(DatabaseResults results) throws SQLException {
+			rowView.results = results;
+			try {
+				return mapper.mapRow(rowView);
+			} finally {
+				// the view is only valid during the call
+				rowView.results = null;
+			}
+		}
+	}
+
+	/**
+	 * Read-only view of the current row which reads straight from the database results.
+	 */
+	private static class ResultsRowView implements RawRowView {
+
+		DatabaseResults results;
+		private String[] columnNames;
+
+		public int getColumnCount() throws SQLException {
+			return getResults().getColumnCount();
+		}
+
+		public String[] getColumnNames() throws SQLException {
+			if (columnNames == null) {
+				columnNames = getResults().getColumnNames();
+			}
+			return columnNames;
+		}
+
+		public String getString(int columnIndex) throws SQLException {
+			return getResults().getString(columnIndex);
+		}
+
+		public boolean getBoolean(int columnIndex) throws SQLException {
+			return getResults().getBoolean(columnIndex);
+		}
+
+		public char getChar(int columnIndex) throws SQLException {
+			return getResults().getChar(columnIndex);
+		}
+
+		public byte getByte(int columnIndex) throws SQLException {
+			return getResults().getByte(columnIndex);
+		}
+
+		public byte[] getBytes(int columnIndex) throws SQLException {
+			return getResults().getBytes(columnIndex);
+		}
+
+		public short getShort(int columnIndex) throws SQLException {
+			return getResults().getShort(columnIndex);
+		}
+
+		public int getInt(int columnIndex) throws SQLException {
+			return getResults().getInt(columnIndex);
+		}
+
+		public long getLong(int columnIndex) throws SQLException {
+			return getResults().getLong(columnIndex);
+		}
+
+		public float getFloat(int columnIndex) throws SQLException {
+			return getResults().getFloat(columnIndex);
+		}
+
+		public double getDouble(int columnIndex) throws SQLException {
+			return getResults().getDouble(columnIndex);
+		}
+
+		public Timestamp getTimestamp(int columnIndex) throws SQLException {
+			return getResults().getTimestamp(columnIndex);
+		}
+
+		public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+			return getResults().getBigDecimal(columnIndex);
+		}
+
+		public boolean wasNull(int columnIndex) throws SQLException {
+			return getResults().wasNull(columnIndex);
+		}
+
+		private DatabaseResults getResults() {
+			if (results == null) {
+				throw new IllegalStateException("Raw row view is only valid while the row is being mapped");
+			}
+			return results;
+		}
+	}
+
 	/**
 	 * Map raw results to return a user object from an Object array.
 	 */
-	private static class UserRawRowObjectMapper<UO> implements GenericRowMapper<UO> {
+	static class UserRawRowObjectMapper<UO> implements GenericRowMapper<UO> {
 
 		private final RawRowObjectMapper<UO> mapper;
 		private final DataType[] columnTypes;
 		private String[] columnNames;
+		// persisters for each of the result columns, null for the columns past the end of the column-types
+		private DataPersister[] columnPersisters;
 
 		public UserRawRowObjectMapper(RawRowObjectMapper<UO> mapper, DataType[] columnTypes) {
 			this.mapper = mapper;
@@ -660,13 +1276,19 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 
 		public UO mapRow(DatabaseResults results) throws SQLException {
-			int columnN = results.getColumnCount();
-			Object[] objectResults = new Object[columnN];
-			for (int colC = 0; colC < columnN; colC++) {
-				if (colC >= columnTypes.length) {
-					objectResults[colC] = null;
-				} else {
-					objectResults[colC] = columnTypes[colC].getDataPersister().resultToJava(null, results, colC);
+			DataPersister[] persisters = columnPersisters;
+			if (persisters == null) {
+				persisters = new DataPersister[results.getColumnCount()];
+				for (int colC = 0; colC < persisters.length && colC < columnTypes.length; colC++) {
+					persisters[colC] = columnTypes[colC].getDataPersister();
+				}
+				columnPersisters = persisters;
+			}
+			Object[] objectResults = new Object[persisters.length];
+			for (int colC = 0; colC < persisters.length; colC++) {
+				DataPersister persister = persisters[colC];
+				if (persister != null) {
+					objectResults[colC] = persister.resultToJava(null, results, colC);
 				}
 			}
 			return mapper.mapRow(getColumnNames(results), columnTypes, objectResults);
@@ -684,25 +1306,32 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	/**
 	 * Map raw results to return Object[].
 	 */
-	private static class ObjectArrayRowMapper implements GenericRowMapper<Object[]> {
+	static class ObjectArrayRowMapper implements GenericRowMapper<Object[]> {
 
 		private final DataType[] columnTypes;
+		// persisters for each of the result columns, resolved from the first row
+		private DataPersister[] columnPersisters;
 
 		public ObjectArrayRowMapper(DataType[] columnTypes) {
 			this.columnTypes = columnTypes;
 		}
 
 		public Object[] mapRow(DatabaseResults results) throws SQLException {
-			int columnN = results.getColumnCount();
-			Object[] result = new Object[columnN];
-			for (int colC = 0; colC < columnN; colC++) {
-				DataType dataType;
-				if (colC >= columnTypes.length) {
-					dataType = DataType.STRING;
-				} else {
-					dataType = columnTypes[colC];
+			DataPersister[] persisters = columnPersisters;
+			if (persisters == null) {
+				persisters = new DataPersister[results.getColumnCount()];
+				for (int colC = 0; colC < persisters.length; colC++) {
+					if (colC >= columnTypes.length) {
+						persisters[colC] = DataType.STRING.getDataPersister();
+					} else {
+						persisters[colC] = columnTypes[colC].getDataPersister();
+					}
 				}
-				result[colC] = dataType.getDataPersister().resultToJava(null, results, colC);
+				columnPersisters = persisters;
+			}
+			Object[] result = new Object[persisters.length];
+			for (int colC = 0; colC < persisters.length; colC++) {
+				result[colC] = persisters[colC].resultToJava(null, results, colC);
 			}
 			return result;
 		}
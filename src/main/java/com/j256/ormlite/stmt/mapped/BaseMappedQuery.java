@@ -1,14 +1,15 @@
 package com.j256.ormlite.stmt.mapped;
 
+import java.lang.ref.WeakReference;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
 
 import com.j256.ormlite.dao.BaseForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.dao.ObjectCacheStatistics;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -19,8 +20,8 @@ import com.j256.ormlite.table.TableInfo;
 public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID> implements GenericRowMapper<T> {
 
 	protected final FieldType[] resultsFieldTypes;
-	// cache of column names to results position
-	private Map<String, Integer> columnPositions = null;
+	// results positions of the resultsFieldTypes, resolved again whenever we are given different results
+	private volatile ColumnPositions columnPositions = null;
 	private Object parent = null;
 	private Object parentId = null;
 
@@ -31,21 +32,37 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 	}
 
 	public T mapRow(DatabaseResults results) throws SQLException {
-		Map<String, Integer> colPosMap;
-		if (columnPositions == null) {
-			colPosMap = new HashMap<String, Integer>();
-		} else {
-			colPosMap = columnPositions;
+		ColumnPositions colPositions = columnPositions;
+		if (colPositions == null || colPositions.resultsRef.get() != results) {
+			colPositions = findColumnPositions(results);
+			columnPositions = colPositions;
 		}
+		int[] positions = colPositions.positions;
 
 		ObjectCache objectCache = results.getObjectCache();
+		long loadStartNanos = 0;
 		if (objectCache != null) {
-			Object id = idField.resultToJava(results, colPosMap);
-			T cachedInstance = objectCache.get(clazz, id);
+			int idPosition = colPositions.idPosition;
+			if (idPosition < 0) {
+				// the id is not one of our result fields
+				idPosition = results.findColumn(idField.getColumnName());
+			}
+			Object id = idField.resultToJava(results, idPosition);
+			boolean checkedBeforeQuery = isCacheCheckedBeforeQuery();
+			T cachedInstance;
+			if (checkedBeforeQuery && objectCache instanceof ObjectCacheStatistics) {
+				// another thread may have cached it while we were querying but the miss was already counted
+				cachedInstance = ((ObjectCacheStatistics) objectCache).getWithoutStats(clazz, id);
+			} else {
+				cachedInstance = objectCache.get(clazz, id);
+			}
 			if (cachedInstance != null) {
 				// if we have a cached instance for this id then return it
 				return cachedInstance;
 			}
+			if (objectCache instanceof ObjectCacheStatistics && !checkedBeforeQuery) {
+				loadStartNanos = System.nanoTime();
+			}
 		}
 
 		// create our instance
@@ -53,11 +70,14 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		// populate its fields
 		Object id = null;
 		boolean foreignCollections = false;
-		for (FieldType fieldType : resultsFieldTypes) {
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
 			if (fieldType.isForeignCollection()) {
 				foreignCollections = true;
+			} else if (fieldType != idField && fieldType.resultToField(instance, results, positions[i])) {
+				// the primitive was copied into the field without boxing
 			} else {
-				Object val = fieldType.resultToJava(results, colPosMap);
+				Object val = fieldType.resultToJava(results, positions[i]);
 				/*
 				 * This is pretty subtle. We introduced multiple foreign fields to the same type which use the {@link
 				 * ForeignCollectionField} foreignColumnName field. The bug that was created was that all the fields
@@ -86,16 +106,31 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 				}
 			}
 		}
+		DirtyTracker<T> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			// remember the values from the database so we can update just the changed fields
+			dirtyTracker.snapshot(instance);
+		}
 		// if we have a cache and we have an id then add it to the cache
 		if (objectCache != null && id != null) {
 			objectCache.put(clazz, id, instance);
 		}
-		if (columnPositions == null) {
-			columnPositions = colPosMap;
+		if (loadStartNanos != 0) {
+			((ObjectCacheStatistics) objectCache).recordLoad(clazz, System.nanoTime() - loadStartNanos);
 		}
 		return instance;
 	}
 
+	/**
+	 * Return true if the object was already looked for in the cache before the query was run. Then
+	 * {@link #mapRow(DatabaseResults)} looks for it again, in case another thread cached it in the meantime, with
+	 * {@link ObjectCacheStatistics#getWithoutStats(Class, Object)} so the miss isn't counted twice. It also leaves
+	 * recording the load with {@link ObjectCacheStatistics#recordLoad(Class, long)} to the caller.
+	 */
+	protected boolean isCacheCheckedBeforeQuery() {
+		return false;
+	}
+
 	/**
 	 * If we have a foreign collection object then this sets the value on the foreign object in the class.
 	 */
@@ -103,4 +138,44 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		this.parent = parent;
 		this.parentId = parentId;
 	}
+
+	/**
+	 * Find the positions of our result columns in the results. This is done once per set of results since the same
+	 * statement can be used to map the rows of other queries, such as raw select-star queries, whose columns may be in
+	 * a different order.
+	 */
+	private ColumnPositions findColumnPositions(DatabaseResults results) throws SQLException {
+		int[] positions = new int[resultsFieldTypes.length];
+		int idPosition = -1;
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
+			if (fieldType.isForeignCollection()) {
+				// these don't have a column
+				positions[i] = -1;
+			} else {
+				positions[i] = results.findColumn(fieldType.getColumnName());
+				if (fieldType == idField) {
+					idPosition = positions[i];
+				}
+			}
+		}
+		return new ColumnPositions(results, positions, idPosition);
+	}
+
+	/**
+	 * Column positions in the results aligned with the resultsFieldTypes along with the position of the id column. The
+	 * results are weakly referenced so we don't keep them alive after they have been closed.
+	 */
+	private static class ColumnPositions {
+
+		final WeakReference<DatabaseResults> resultsRef;
+		final int[] positions;
+		final int idPosition;
+
+		public ColumnPositions(DatabaseResults results, int[] positions, int idPosition) {
+			this.resultsRef = new WeakReference<DatabaseResults>(results);
+			this.positions = positions;
+			this.idPosition = idPosition;
+		}
+	}
 }
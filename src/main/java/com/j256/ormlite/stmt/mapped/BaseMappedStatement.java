@@ -18,6 +18,9 @@ public abstract class BaseMappedStatement<T, ID> {
 
 	protected static Logger logger = LoggerFactory.getLogger(BaseMappedStatement.class);
 
+	/** maximum number of rows that we send to the database in one batch */
+	protected static final int MAX_BATCH_SIZE = 1000;
+
 	protected final TableInfo<T, ID> tableInfo;
 	protected final Class<T> clazz;
 	protected final FieldType idField;
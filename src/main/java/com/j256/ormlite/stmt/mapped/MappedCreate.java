@@ -1,14 +1,20 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.GeneratedKeyHolder;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -19,15 +25,28 @@ import com.j256.ormlite.table.TableInfo;
 public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
 	private final String queryNextSequenceStmt;
+	/** allocator for sequences that reserve more than one id per query, null if none */
+	private final PooledSequenceAllocator sequenceAllocator;
 	private String dataClassName;
 	private int versionFieldTypeIndex;
+	private final int maxMultiRows;
+	/** multiple row insert statements indexed by the number of rows, null if not supported */
+	private final MultiRowInsert[] multiRowInserts;
 
 	private MappedCreate(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
-			String queryNextSequenceStmt, int versionFieldTypeIndex) {
+			String queryNextSequenceStmt, PooledSequenceAllocator sequenceAllocator, int versionFieldTypeIndex,
+			int maxMultiRows) {
 		super(tableInfo, statement, argFieldTypes);
 		this.dataClassName = tableInfo.getDataClass().getSimpleName();
 		this.queryNextSequenceStmt = queryNextSequenceStmt;
+		this.sequenceAllocator = sequenceAllocator;
 		this.versionFieldTypeIndex = versionFieldTypeIndex;
+		this.maxMultiRows = maxMultiRows;
+		if (maxMultiRows > 0) {
+			this.multiRowInserts = new MultiRowInsert[maxMultiRows + 1];
+		} else {
+			this.multiRowInserts = null;
+		}
 	}
 
 	/**
@@ -36,55 +55,14 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 	public int insert(DatabaseType databaseType, DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
 		KeyHolder keyHolder = null;
-		if (idField != null) {
-			boolean assignId;
-			if (idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data)) {
-				assignId = false;
-			} else {
-				assignId = true;
-			}
-			if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
-				if (assignId) {
-					idField.assignField(data, idField.generateId(), false, objectCache);
-				}
-			} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
-				if (assignId) {
-					assignSequenceId(databaseConnection, data, objectCache);
-				}
-			} else if (idField.isGeneratedId()) {
-				if (assignId) {
-					// get the id back from the database
-					keyHolder = new KeyHolder();
-				}
-			} else {
-				// the id should have been set by the caller already
-			}
+		if (assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache)) {
+			// get the id back from the database
+			keyHolder = new KeyHolder();
 		}
 
 		try {
-			// implement {@link DatabaseField#foreignAutoCreate()}, need to do this _before_ getFieldObjects() below
-			if (tableInfo.isForeignAutoCreate()) {
-				for (FieldType fieldType : tableInfo.getFieldTypes()) {
-					if (!fieldType.isForeignAutoCreate()) {
-						continue;
-					}
-					// get the field value
-					Object foreignObj = fieldType.extractRawJavaFieldValue(data);
-					if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
-						fieldType.createWithForeignDao(foreignObj);
-					}
-				}
-			}
-
-			Object[] args = getFieldObjects(data);
-			Object versionDefaultValue = null;
-			// implement {@link DatabaseField#version()}
-			if (versionFieldTypeIndex >= 0 && args[versionFieldTypeIndex] == null) {
-				// if the version is null then we need to initialize it before create
-				FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
-				versionDefaultValue = versionFieldType.moveToNextValue(null);
-				args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValue);
-			}
+			Object[] args = buildInsertArgs(data);
+			Object versionDefaultValue = assignVersionDefaultValue(args);
 
 			int rowC;
 			try {
@@ -104,30 +82,15 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 				logger.trace("insert arguments: {}", (Object) args);
 			}
 			if (rowC > 0) {
-				if (versionDefaultValue != null) {
-					argFieldTypes[versionFieldTypeIndex].assignField(data, versionDefaultValue, false, null);
-				}
+				Number key = null;
 				if (keyHolder != null) {
-					// assign the key returned by the database to the object's id field after it was inserted
-					Number key = keyHolder.getKey();
+					key = keyHolder.getKey();
 					if (key == null) {
 						// may never happen but let's be careful out there
 						throw new SQLException("generated-id key was not set by the update call");
 					}
-					if (key.longValue() == 0L) {
-						// sanity check because the generated-key returned is 0 by default, may never happen
-						throw new SQLException("generated-id key must not be 0 value");
-					}
-					assignIdValue(data, key, "keyholder", objectCache);
-				}
-				/*
-				 * If we have a cache and if all of the foreign-collection fields have been assigned then add to cache.
-				 * However, if one of the foreign collections has not be assigned then don't add it to the cache.
-				 */
-				if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
-					Object id = idField.extractJavaFieldValue(data);
-					objectCache.put(clazz, id, data);
 				}
+				assignAfterInsert(data, versionDefaultValue, key, objectCache);
 			}
 
 			return rowC;
@@ -136,7 +99,114 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
-	public static <T, ID> MappedCreate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo) {
+	/**
+	 * Create a collection of objects in the database using batches of the insert statement. The rows that need their
+	 * generated-id returned from the database and those that don't are sent in separate batches but the order of the
+	 * inserts is maintained. If the database type uses multiple row inserts then the rows that don't need their
+	 * generated-id are inserted with statements that have multiple rows of VALUES instead.
+	 * 
+	 * @return The number of rows inserted.
+	 */
+	public int insertBatch(DatabaseType databaseType, DatabaseConnection databaseConnection, Collection<T> datas,
+			ObjectCache objectCache) throws SQLException {
+		List<BatchRow<T>> batchRows = new ArrayList<BatchRow<T>>();
+		int rowC = 0;
+		for (T data : datas) {
+			if (data == null) {
+				// ignore creating a null object
+				continue;
+			}
+			boolean generatedKey = assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache);
+			BatchRow<T> batchRow = buildBatchRow(data, generatedKey);
+			if (!batchRows.isEmpty() && !isSameBatch(batchRows, batchRow)) {
+				rowC += insertRows(databaseConnection, batchRows, objectCache);
+				batchRows.clear();
+			}
+			batchRows.add(batchRow);
+		}
+		if (!batchRows.isEmpty()) {
+			rowC += insertRows(databaseConnection, batchRows, objectCache);
+		}
+		return rowC;
+	}
+
+	/**
+	 * Return true if the objects of the table can be converted into the arguments of the insert statement with
+	 * {@link #prepareBatch(DatabaseType, Collection, ObjectCache)} without a database connection. Ids from sequences
+	 * that are selected before the insert and foreign auto-create fields need the database.
+	 */
+	public boolean isBatchPreparable(DatabaseType databaseType) {
+		if (tableInfo.isForeignAutoCreate()) {
+			return false;
+		} else if (idField != null && idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+
+	/**
+	 * Convert a collection of objects into the arguments of the insert statement so they can be inserted later with
+	 * {@link #insertPreparedBatch(DatabaseConnection, PreparedBatch, ObjectCache)}. This does not use the database so
+	 * it can be run in a different thread from the insert.
+	 * 
+	 * @return The prepared rows or null if the table is not {@link #isBatchPreparable(DatabaseType)}.
+	 */
+	public PreparedBatch<T> prepareBatch(DatabaseType databaseType, Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		if (!isBatchPreparable(databaseType)) {
+			return null;
+		}
+		List<BatchRow<T>> batchRows = new ArrayList<BatchRow<T>>(datas.size());
+		for (T data : datas) {
+			if (data == null) {
+				// ignore creating a null object
+				continue;
+			}
+			// no connection is needed since we aren't selecting from a sequence
+			boolean generatedKey = assignIdBeforeInsert(databaseType, null, data, objectCache);
+			batchRows.add(buildBatchRow(data, generatedKey));
+		}
+		return new PreparedBatch<T>(batchRows);
+	}
+
+	/**
+	 * Insert the rows that were converted by {@link #prepareBatch(DatabaseType, Collection, ObjectCache)} in the same
+	 * way as {@link #insertBatch(DatabaseType, DatabaseConnection, Collection, ObjectCache)}.
+	 * 
+	 * @return The number of rows inserted.
+	 */
+	public int insertPreparedBatch(DatabaseConnection databaseConnection, PreparedBatch<T> preparedBatch,
+			ObjectCache objectCache) throws SQLException {
+		List<BatchRow<T>> batchRows = new ArrayList<BatchRow<T>>();
+		int rowC = 0;
+		for (BatchRow<T> batchRow : preparedBatch.batchRows) {
+			if (!batchRows.isEmpty() && !isSameBatch(batchRows, batchRow)) {
+				rowC += insertRows(databaseConnection, batchRows, objectCache);
+				batchRows.clear();
+			}
+			batchRows.add(batchRow);
+		}
+		if (!batchRows.isEmpty()) {
+			rowC += insertRows(databaseConnection, batchRows, objectCache);
+		}
+		return rowC;
+	}
+
+	public static <T, ID> MappedCreate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
+			throws SQLException {
+		return build(databaseType, tableInfo, null);
+	}
+
+	/**
+	 * Build the insert statement for the table.
+	 * 
+	 * @param connectionSource
+	 *            Source of the database connections. Ids reserved from a sequence with an allocation size are shared
+	 *            with the other statements on the same connection source. If null then they are not shared.
+	 */
+	public static <T, ID> MappedCreate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			ConnectionSource connectionSource) throws SQLException {
 		StringBuilder sb = new StringBuilder(128);
 		appendTableName(databaseType, sb, "INSERT INTO ", tableInfo.getTableName());
 		sb.append('(');
@@ -182,7 +252,283 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		sb.append(")");
 		FieldType idField = tableInfo.getIdField();
 		String queryNext = buildQueryNextSequence(databaseType, idField);
-		return new MappedCreate<T, ID>(tableInfo, sb.toString(), argFieldTypes, queryNext, versionFieldTypeIndex);
+		PooledSequenceAllocator sequenceAllocator = null;
+		if (queryNext != null && idField.getAllocationSize() > 1) {
+			sequenceAllocator =
+					PooledSequenceAllocator.getAllocator(connectionSource, idField.getGeneratedIdSequence(),
+							idField.getAllocationSize());
+		}
+		int maxMultiRows = 0;
+		if (databaseType.isBatchUseMultiRowInsert() && argFieldC > 0) {
+			maxMultiRows = Math.min(MAX_BATCH_SIZE, databaseType.getMaxStatementArguments() / argFieldC);
+			maxMultiRows = Math.max(1, Math.min(maxMultiRows, databaseType.getMaxMultiRowInsertRows()));
+		}
+		return new MappedCreate<T, ID>(tableInfo, sb.toString(), argFieldTypes, queryNext, sequenceAllocator,
+				versionFieldTypeIndex, maxMultiRows);
+	}
+
+	private BatchRow<T> buildBatchRow(T data, boolean generatedKey) throws SQLException {
+		try {
+			Object[] args = buildInsertArgs(data);
+			Object versionDefaultValue = assignVersionDefaultValue(args);
+			return new BatchRow<T>(data, args, versionDefaultValue, generatedKey);
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run insert stmt on object " + data + ": " + statement, e);
+		}
+	}
+
+	/**
+	 * Return true if the row can be sent to the database with the rows already in the batch. The rows that need their
+	 * generated-id returned are sent separately from those that don't.
+	 */
+	private boolean isSameBatch(List<BatchRow<T>> batchRows, BatchRow<T> batchRow) {
+		boolean generatedKeys = batchRows.get(0).generatedKey;
+		return batchRow.generatedKey == generatedKeys && batchRows.size() < maxBatchRows(generatedKeys);
+	}
+
+	/**
+	 * Return the maximum number of rows that we send to the database at one time.
+	 */
+	private int maxBatchRows(boolean generatedKeys) {
+		if (generatedKeys || multiRowInserts == null) {
+			return MAX_BATCH_SIZE;
+		} else {
+			return maxMultiRows;
+		}
+	}
+
+	private int insertRows(DatabaseConnection databaseConnection, List<BatchRow<T>> batchRows,
+			ObjectCache objectCache) throws SQLException {
+		boolean generatedKeys = batchRows.get(0).generatedKey;
+		if (generatedKeys || multiRowInserts == null) {
+			return insertBatchRows(databaseConnection, batchRows, generatedKeys, objectCache);
+		} else {
+			return insertMultiRows(databaseConnection, batchRows, objectCache);
+		}
+	}
+
+	/**
+	 * Insert the rows using a single statement with multiple rows of VALUES.
+	 */
+	private int insertMultiRows(DatabaseConnection databaseConnection, List<BatchRow<T>> batchRows,
+			ObjectCache objectCache) throws SQLException {
+		int numRows = batchRows.size();
+		MultiRowInsert multiRowInsert = getMultiRowInsert(numRows);
+		Object[] args = new Object[multiRowInsert.argFieldTypes.length];
+		int argC = 0;
+		for (BatchRow<T> batchRow : batchRows) {
+			System.arraycopy(batchRow.args, 0, args, argC, batchRow.args.length);
+			argC += batchRow.args.length;
+		}
+		int rowC;
+		try {
+			rowC = databaseConnection.insert(multiRowInsert.statement, args, multiRowInsert.argFieldTypes, null);
+		} catch (SQLException e) {
+			logger.debug("insert {} rows with statement '{}', threw exception: {}", numRows, multiRowInsert.statement,
+					e);
+			throw SqlExceptionUtil.create("Unable to run multi-row insert stmt on " + numRows + " objects: "
+					+ multiRowInsert.statement, e);
+		}
+		logger.debug("insert {} rows with statement '{}', changed {} rows", numRows, multiRowInsert.statement, rowC);
+		if (rowC > 0) {
+			try {
+				for (BatchRow<T> batchRow : batchRows) {
+					assignAfterInsert(batchRow.data, batchRow.versionDefaultValue, null, objectCache);
+				}
+			} catch (SQLException e) {
+				throw SqlExceptionUtil.create("Unable to run multi-row insert stmt on " + numRows + " objects: "
+						+ multiRowInsert.statement, e);
+			}
+		}
+		return rowC;
+	}
+
+	/**
+	 * Return the insert statement for a certain number of rows. These are cached so we don't build the statements each
+	 * time.
+	 */
+	private MultiRowInsert getMultiRowInsert(int numRows) {
+		MultiRowInsert multiRowInsert = multiRowInserts[numRows];
+		if (multiRowInsert == null) {
+			// it's ok if multiple threads build the same statement here, it's immutable
+			multiRowInsert = buildMultiRowInsert(numRows);
+			multiRowInserts[numRows] = multiRowInsert;
+		}
+		return multiRowInsert;
+	}
+
+	private MultiRowInsert buildMultiRowInsert(int numRows) {
+		int numArgs = argFieldTypes.length;
+		StringBuilder sb = new StringBuilder(statement.length() + (numRows - 1) * (numArgs * 2 + 2));
+		// the statement ends with the first row of VALUES
+		sb.append(statement);
+		FieldType[] multiArgFieldTypes = new FieldType[numRows * numArgs];
+		System.arraycopy(argFieldTypes, 0, multiArgFieldTypes, 0, numArgs);
+		for (int rowC = 1; rowC < numRows; rowC++) {
+			sb.append(",(");
+			for (int argC = 0; argC < numArgs; argC++) {
+				if (argC > 0) {
+					sb.append(',');
+				}
+				sb.append('?');
+			}
+			sb.append(')');
+			System.arraycopy(argFieldTypes, 0, multiArgFieldTypes, rowC * numArgs, numArgs);
+		}
+		return new MultiRowInsert(sb.toString(), multiArgFieldTypes);
+	}
+
+	private int insertBatchRows(DatabaseConnection databaseConnection, List<BatchRow<T>> batchRows,
+			boolean generatedKeys, ObjectCache objectCache) throws SQLException {
+		List<Object[]> argsList = new ArrayList<Object[]>(batchRows.size());
+		for (BatchRow<T> batchRow : batchRows) {
+			argsList.add(batchRow.args);
+		}
+		BatchKeyHolder keyHolder = null;
+		if (generatedKeys) {
+			keyHolder = new BatchKeyHolder(batchRows.size());
+		}
+		int[] rowCounts;
+		try {
+			rowCounts = databaseConnection.insertBatch(statement, argsList, argFieldTypes, keyHolder);
+		} catch (SQLException e) {
+			logger.debug("insert batch of {} rows with statement '{}', threw exception: {}", batchRows.size(),
+					statement, e);
+			throw SqlExceptionUtil.create("Unable to run batch insert stmt on " + batchRows.size() + " objects: "
+					+ statement, e);
+		}
+		logger.debug("insert batch of {} rows with statement '{}'", batchRows.size(), statement);
+		try {
+			if (rowCounts.length != batchRows.size()) {
+				throw new SQLException("batch insert returned " + rowCounts.length + " row counts for "
+						+ batchRows.size() + " rows");
+			}
+			if (keyHolder != null && keyHolder.keys.size() != batchRows.size()) {
+				throw new SQLException("batch insert returned " + keyHolder.keys.size() + " generated-id keys for "
+						+ batchRows.size() + " rows");
+			}
+			int rowC = 0;
+			for (int i = 0; i < rowCounts.length; i++) {
+				int count = rowCounts[i];
+				if (count == Statement.SUCCESS_NO_INFO) {
+					// the driver doesn't know the count but the row was inserted
+					count = 1;
+				} else if (count <= 0) {
+					continue;
+				}
+				rowC += count;
+				Number key = null;
+				if (keyHolder != null) {
+					key = keyHolder.keys.get(i);
+				}
+				BatchRow<T> batchRow = batchRows.get(i);
+				assignAfterInsert(batchRow.data, batchRow.versionDefaultValue, key, objectCache);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run batch insert stmt on " + batchRows.size() + " objects: "
+					+ statement, e);
+		}
+	}
+
+	/**
+	 * Assign the id of the object if it is generated by us or from a sequence.
+	 * 
+	 * @return True if the id is going to be generated by the database and needs to be returned by the insert.
+	 */
+	private boolean assignIdBeforeInsert(DatabaseType databaseType, DatabaseConnection databaseConnection, T data,
+			ObjectCache objectCache) throws SQLException {
+		if (idField == null) {
+			return false;
+		}
+		boolean assignId;
+		if (idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data)) {
+			assignId = false;
+		} else {
+			assignId = true;
+		}
+		if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
+			if (assignId) {
+				idField.assignField(data, idField.generateId(), false, objectCache);
+			}
+			return false;
+		} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
+			if (assignId) {
+				assignSequenceId(databaseConnection, data, objectCache);
+			}
+			return false;
+		} else if (idField.isGeneratedId()) {
+			return assignId;
+		} else {
+			// the id should have been set by the caller already
+			return false;
+		}
+	}
+
+	/**
+	 * Create any foreign objects that need it and then return the arguments for the insert statement.
+	 */
+	private Object[] buildInsertArgs(T data) throws SQLException {
+		// implement {@link DatabaseField#foreignAutoCreate()}, need to do this _before_ getFieldObjects() below
+		if (tableInfo.isForeignAutoCreate()) {
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (!fieldType.isForeignAutoCreate()) {
+					continue;
+				}
+				// get the field value
+				Object foreignObj = fieldType.extractRawJavaFieldValue(data);
+				if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
+					fieldType.createWithForeignDao(foreignObj);
+				}
+			}
+		}
+		return getFieldObjects(data);
+	}
+
+	/**
+	 * Implement the version field. If the version is null then we need to initialize it before create.
+	 * 
+	 * @return The version value to assign to the object after the insert or null if none.
+	 */
+	private Object assignVersionDefaultValue(Object[] args) throws SQLException {
+		if (versionFieldTypeIndex >= 0 && args[versionFieldTypeIndex] == null) {
+			FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
+			Object versionDefaultValue = versionFieldType.moveToNextValue(null);
+			args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValue);
+			return versionDefaultValue;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Assign the version and generated-id to the object after it has been inserted and possibly add it to the cache.
+	 */
+	private void assignAfterInsert(T data, Object versionDefaultValue, Number key, ObjectCache objectCache)
+			throws SQLException {
+		if (versionDefaultValue != null) {
+			argFieldTypes[versionFieldTypeIndex].assignField(data, versionDefaultValue, false, null);
+		}
+		if (key != null) {
+			if (key.longValue() == 0L) {
+				// sanity check because the generated-key returned is 0 by default, may never happen
+				throw new SQLException("generated-id key must not be 0 value");
+			}
+			// assign the key returned by the database to the object's id field after it was inserted
+			assignIdValue(data, key, "keyholder", objectCache);
+		}
+		DirtyTracker<T> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.snapshot(data);
+		}
+		/*
+		 * If we have a cache and if all of the foreign-collection fields have been assigned then add to cache. However,
+		 * if one of the foreign collections has not be assigned then don't add it to the cache.
+		 */
+		if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
+			Object id = idField.extractJavaFieldValue(data);
+			objectCache.put(clazz, id, data);
+		}
 	}
 
 	private boolean foreignCollectionsAreAssigned(FieldType[] foreignCollections, Object data) throws SQLException {
@@ -229,12 +575,18 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
 	private void assignSequenceId(DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
-		// call the query-next-sequence stmt to increment the sequence
-		long seqVal = databaseConnection.queryForLong(queryNextSequenceStmt);
-		logger.debug("queried for sequence {} using stmt: {}", seqVal, queryNextSequenceStmt);
-		if (seqVal == 0) {
-			// sanity check that it is working
-			throw new SQLException("Should not have returned 0 for stmt: " + queryNextSequenceStmt);
+		long seqVal;
+		if (sequenceAllocator == null) {
+			// call the query-next-sequence stmt to increment the sequence
+			seqVal = databaseConnection.queryForLong(queryNextSequenceStmt);
+			logger.debug("queried for sequence {} using stmt: {}", seqVal, queryNextSequenceStmt);
+			if (seqVal == 0) {
+				// sanity check that it is working
+				throw new SQLException("Should not have returned 0 for stmt: " + queryNextSequenceStmt);
+			}
+		} else {
+			// the sequence is only queried when the reserved block of ids has been used up
+			seqVal = sequenceAllocator.nextValue(databaseConnection, queryNextSequenceStmt);
 		}
 		assignIdValue(data, seqVal, "sequence", objectCache);
 	}
@@ -248,6 +600,81 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
+	/**
+	 * Rows of a batch insert which were converted by {@link MappedCreate#prepareBatch(DatabaseType, Collection,
+	 * ObjectCache)} but not yet sent to the database.
+	 */
+	public static class PreparedBatch<T> {
+		private final List<BatchRow<T>> batchRows;
+
+		private PreparedBatch(List<BatchRow<T>> batchRows) {
+			this.batchRows = batchRows;
+		}
+
+		/**
+		 * Return the objects of the rows in order.
+		 */
+		public List<T> getDatas() {
+			List<T> datas = new ArrayList<T>(batchRows.size());
+			for (BatchRow<T> batchRow : batchRows) {
+				datas.add(batchRow.data);
+			}
+			return datas;
+		}
+
+		/**
+		 * Return the number of rows.
+		 */
+		public int size() {
+			return batchRows.size();
+		}
+	}
+
+	/**
+	 * Row of a batch insert that has been prepared but not yet sent to the database.
+	 */
+	private static class BatchRow<T> {
+		final T data;
+		final Object[] args;
+		final Object versionDefaultValue;
+		final boolean generatedKey;
+
+		public BatchRow(T data, Object[] args, Object versionDefaultValue, boolean generatedKey) {
+			this.data = data;
+			this.args = args;
+			this.versionDefaultValue = versionDefaultValue;
+			this.generatedKey = generatedKey;
+		}
+	}
+
+	/**
+	 * Insert statement with multiple rows of VALUES and the field types of all of its arguments.
+	 */
+	private static class MultiRowInsert {
+		final String statement;
+		final FieldType[] argFieldTypes;
+
+		public MultiRowInsert(String statement, FieldType[] argFieldTypes) {
+			this.statement = statement;
+			this.argFieldTypes = argFieldTypes;
+		}
+	}
+
+	/**
+	 * Key holder which collects the generated keys for a batch of rows in order.
+	 */
+	private static class BatchKeyHolder implements GeneratedKeyHolder {
+		final List<Number> keys;
+
+		public BatchKeyHolder(int numRows) {
+			this.keys = new ArrayList<Number>(numRows);
+		}
+
+		public void addKey(Number key) {
+			keys.add(key);
+		}
+	}
+
 	private static class KeyHolder implements GeneratedKeyHolder {
 		Number key;
 
@@ -1,6 +1,7 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collection;
 
 import com.j256.ormlite.dao.ObjectCache;
@@ -13,88 +14,162 @@ import com.j256.ormlite.table.TableInfo;
 /**
  * A mapped statement for deleting objects that correspond to a collection of IDs.
  * 
+ * <p>
+ * The ids are deleted in chunks of at most {@link DatabaseType#getMaxStatementArguments()}. Each chunk is padded, by
+ * repeating its last id, up to the next power of two so only a handful of statements are ever generated for a table.
+ * The statements are built once and reused so the database can cache them.
+ * </p>
+ * 
  * @author graywatson
  */
 public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 
-	private MappedDeleteCollection(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes) {
+	private final DatabaseType databaseType;
+	private final int maxIds;
+	/** delete statements indexed by the log2 of the number of ids */
+	private final String[] bucketStatements;
+	private final FieldType[][] bucketArgFieldTypes;
+
+	private MappedDeleteCollection(DatabaseType databaseType, TableInfo<T, ID> tableInfo, String statement,
+			FieldType[] argFieldTypes, int maxIds) {
 		super(tableInfo, statement, argFieldTypes);
+		this.databaseType = databaseType;
+		this.maxIds = maxIds;
+		this.bucketStatements = new String[Integer.numberOfTrailingZeros(maxIds) + 1];
+		this.bucketStatements[this.bucketStatements.length - 1] = statement;
+		this.bucketArgFieldTypes = new FieldType[bucketStatements.length][];
+		for (int i = 0; i < bucketArgFieldTypes.length; i++) {
+			bucketArgFieldTypes[i] = new FieldType[1 << i];
+			Arrays.fill(bucketArgFieldTypes[i], idField);
+		}
 	}
 
 	/**
-	 * Delete all of the objects in the collection. This builds a {@link MappedDeleteCollection} on the fly because the
-	 * datas could be variable sized.
+	 * Delete all of the objects in the collection. This builds a {@link MappedDeleteCollection} on the fly. Use
+	 * {@link #build(DatabaseType, TableInfo)} and {@link #deleteObjects(DatabaseConnection, Collection, ObjectCache)}
+	 * to reuse the statements.
 	 */
 	public static <T, ID> int deleteObjects(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
 			DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache) throws SQLException {
-		MappedDeleteCollection<T, ID> deleteCollection =
-				MappedDeleteCollection.build(databaseType, tableInfo, datas.size());
-		Object[] fieldObjects = new Object[datas.size()];
+		return build(databaseType, tableInfo).deleteObjects(databaseConnection, datas, objectCache);
+	}
+
+	/**
+	 * Delete all of the objects in the collection. This builds a {@link MappedDeleteCollection} on the fly. Use
+	 * {@link #build(DatabaseType, TableInfo)} and {@link #deleteIds(DatabaseConnection, Collection, ObjectCache)} to
+	 * reuse the statements.
+	 */
+	public static <T, ID> int deleteIds(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache) throws SQLException {
+		return build(databaseType, tableInfo).deleteIds(databaseConnection, ids, objectCache);
+	}
+
+	public static <T, ID> MappedDeleteCollection<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
+			throws SQLException {
 		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Cannot delete " + tableInfo.getDataClass()
+					+ " because it doesn't have an id field defined");
+		}
+		// the largest power of two that fits in the argument limit
+		int maxIds = Integer.highestOneBit(Math.max(1, databaseType.getMaxStatementArguments()));
+		FieldType[] argFieldTypes = new FieldType[maxIds];
+		String statement = buildStatement(databaseType, tableInfo, idField, maxIds, argFieldTypes);
+		return new MappedDeleteCollection<T, ID>(databaseType, tableInfo, statement, argFieldTypes, maxIds);
+	}
+
+	/**
+	 * Delete all of the objects in the collection.
+	 */
+	public int deleteObjects(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		Object[] fieldObjects = new Object[datas.size()];
 		int objC = 0;
 		for (T data : datas) {
 			fieldObjects[objC] = idField.extractJavaFieldToSqlArgValue(data);
 			objC++;
 		}
-		return updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, fieldObjects, objectCache);
+		return deleteRows(databaseConnection, fieldObjects, objectCache);
 	}
 
 	/**
-	 * Delete all of the objects in the collection. This builds a {@link MappedDeleteCollection} on the fly because the
-	 * ids could be variable sized.
+	 * Delete all of the ids in the collection.
 	 */
-	public static <T, ID> int deleteIds(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
-			DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache) throws SQLException {
-		MappedDeleteCollection<T, ID> deleteCollection =
-				MappedDeleteCollection.build(databaseType, tableInfo, ids.size());
+	public int deleteIds(DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache)
+			throws SQLException {
 		Object[] fieldObjects = new Object[ids.size()];
-		FieldType idField = tableInfo.getIdField();
 		int objC = 0;
 		for (ID id : ids) {
 			fieldObjects[objC] = idField.convertJavaFieldToSqlArgValue(id);
 			objC++;
 		}
-		return updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, fieldObjects, objectCache);
+		return deleteRows(databaseConnection, fieldObjects, objectCache);
 	}
 
-	/**
-	 * This is private because the execute is the only method that should be called here.
-	 */
-	private static <T, ID> MappedDeleteCollection<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
-			int dataSize) throws SQLException {
-		FieldType idField = tableInfo.getIdField();
-		if (idField == null) {
-			throw new SQLException("Cannot delete " + tableInfo.getDataClass()
-					+ " because it doesn't have an id field defined");
+	private int deleteRows(DatabaseConnection databaseConnection, Object[] ids, ObjectCache objectCache)
+			throws SQLException {
+		int rowC = 0;
+		for (int start = 0; start < ids.length; start += maxIds) {
+			int idC = Math.min(maxIds, ids.length - start);
+			rowC += deleteChunk(databaseConnection, ids, start, idC, objectCache);
 		}
-		StringBuilder sb = new StringBuilder(128);
-		appendTableName(databaseType, sb, "DELETE FROM ", tableInfo.getTableName());
-		FieldType[] argFieldTypes = new FieldType[dataSize];
-		appendWhereIds(databaseType, idField, sb, dataSize, argFieldTypes);
-		return new MappedDeleteCollection<T, ID>(tableInfo, sb.toString(), argFieldTypes);
+		return rowC;
 	}
 
-	private static <T, ID> int updateRows(DatabaseConnection databaseConnection, Class<T> clazz,
-			MappedDeleteCollection<T, ID> deleteCollection, Object[] args, ObjectCache objectCache) throws SQLException {
+	private int deleteChunk(DatabaseConnection databaseConnection, Object[] ids, int start, int idC,
+			ObjectCache objectCache) throws SQLException {
+		int bucket = bucketIndex(idC);
+		int argC = 1 << bucket;
+		Object[] args = new Object[argC];
+		System.arraycopy(ids, start, args, 0, idC);
+		// pad with the last id so we can use the statement for the bucket
+		for (int i = idC; i < argC; i++) {
+			args[i] = ids[start + idC - 1];
+		}
+		String bucketStatement = getBucketStatement(bucket);
 		try {
-			int rowC = databaseConnection.delete(deleteCollection.statement, args, deleteCollection.argFieldTypes);
+			int rowC = databaseConnection.delete(bucketStatement, args, bucketArgFieldTypes[bucket]);
 			if (rowC > 0 && objectCache != null) {
-				for (Object id : args) {
-					objectCache.remove(clazz, id);
+				for (int i = 0; i < idC; i++) {
+					objectCache.remove(clazz, args[i]);
 				}
 			}
-			logger.debug("delete-collection with statement '{}' and {} args, changed {} rows",
-					deleteCollection.statement, args.length, rowC);
-			if (args.length > 0) {
-				// need to do the (Object) cast to force args to be a single object
-				logger.trace("delete-collection arguments: {}", (Object) args);
-			}
+			logger.debug("delete-collection with statement '{}' and {} args, changed {} rows", bucketStatement, idC,
+					rowC);
+			// need to do the (Object) cast to force args to be a single object
+			logger.trace("delete-collection arguments: {}", (Object) args);
 			return rowC;
 		} catch (SQLException e) {
-			throw SqlExceptionUtil.create("Unable to run delete collection stmt: " + deleteCollection.statement, e);
+			throw SqlExceptionUtil.create("Unable to run delete collection stmt: " + bucketStatement, e);
 		}
 	}
 
+	/**
+	 * Return the log2 of the smallest power of two that is greater than or equal to the number of ids.
+	 */
+	private static int bucketIndex(int idC) {
+		return 32 - Integer.numberOfLeadingZeros(idC - 1);
+	}
+
+	private String getBucketStatement(int bucket) {
+		synchronized (bucketStatements) {
+			String bucketStatement = bucketStatements[bucket];
+			if (bucketStatement == null) {
+				bucketStatement = buildStatement(databaseType, tableInfo, idField, 1 << bucket, null);
+				bucketStatements[bucket] = bucketStatement;
+			}
+			return bucketStatement;
+		}
+	}
+
+	private static <T, ID> String buildStatement(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			FieldType idField, int idC, FieldType[] argFieldTypes) {
+		StringBuilder sb = new StringBuilder(128);
+		appendTableName(databaseType, sb, "DELETE FROM ", tableInfo.getTableName());
+		appendWhereIds(databaseType, idField, sb, idC, argFieldTypes);
+		return sb.toString();
+	}
+
 	private static void appendWhereIds(DatabaseType databaseType, FieldType idField, StringBuilder sb, int numDatas,
 			FieldType[] fieldTypes) {
 		sb.append("WHERE ");
@@ -60,6 +60,27 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID> implements
 		return type;
 	}
 
+	/**
+	 * Return the current SQL values of the arguments followed by the row limit, which may not be part of the SQL. This
+	 * identifies the results of the statement along with its SQL.
+	 */
+	public Object[] getArgumentKeyValues() throws SQLException {
+		Object[] values = new Object[argHolders.length + 1];
+		for (int i = 0; i < argHolders.length; i++) {
+			values[i] = argHolders[i].getSqlArgValue();
+		}
+		values[argHolders.length] = limit;
+		return values;
+	}
+
+	/**
+	 * Return true if the statement selects all of the columns of the table so its rows map to the same objects as
+	 * query-for-id.
+	 */
+	public boolean isAllFieldsSelected() {
+		return resultsFieldTypes == tableInfo.getFieldTypes();
+	}
+
 	public void setArgumentHolderValue(int index, Object value) throws SQLException {
 		if (index < 0) {
 			throw new SQLException("argument holder index " + index + " must be >= 0");
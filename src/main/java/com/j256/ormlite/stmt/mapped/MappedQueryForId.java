@@ -3,6 +3,7 @@ package com.j256.ormlite.stmt.mapped;
 import java.sql.SQLException;
 
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.dao.ObjectCacheStatistics;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -27,15 +28,22 @@ public class MappedQueryForId<T, ID> extends BaseMappedQuery<T, ID> {
 	 * Query for an object in the database which matches the id argument.
 	 */
 	public T execute(DatabaseConnection databaseConnection, ID id, ObjectCache objectCache) throws SQLException {
+		long loadStartNanos = 0;
 		if (objectCache != null) {
 			T result = objectCache.get(clazz, id);
 			if (result != null) {
 				return result;
 			}
+			if (objectCache instanceof ObjectCacheStatistics) {
+				loadStartNanos = System.nanoTime();
+			}
 		}
 		Object[] args = new Object[] { convertIdToFieldObject(id) };
 		// @SuppressWarnings("unchecked")
 		Object result = databaseConnection.queryForOne(statement, args, argFieldTypes, this, objectCache);
+		if (loadStartNanos != 0 && result != null && result != DatabaseConnection.MORE_THAN_ONE) {
+			((ObjectCacheStatistics) objectCache).recordLoad(clazz, System.nanoTime() - loadStartNanos);
+		}
 		if (result == null) {
 			logger.debug("{} using '{}' and {} args, got no results", label, statement, args.length);
 		} else if (result == DatabaseConnection.MORE_THAN_ONE) {
@@ -51,6 +59,15 @@ public class MappedQueryForId<T, ID> extends BaseMappedQuery<T, ID> {
 		return castResult;
 	}
 
+	/**
+	 * We look in the cache and record the time of the whole query in
+	 * {@link #execute(DatabaseConnection, Object, ObjectCache)}.
+	 */
+	@Override
+	protected boolean isCacheCheckedBeforeQuery() {
+		return true;
+	}
+
 	public static <T, ID> MappedQueryForId<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
 			FieldType idFieldType) throws SQLException {
 		if (idFieldType == null) {
@@ -6,6 +6,7 @@ import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -40,6 +41,10 @@ public class MappedRefresh<T, ID> extends MappedQueryForId<T, ID> {
 				fieldType.assignField(data, fieldType.extractJavaFieldValue(result), false, objectCache);
 			}
 		}
+		DirtyTracker<T> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.snapshot(data);
+		}
 		return 1;
 	}
 
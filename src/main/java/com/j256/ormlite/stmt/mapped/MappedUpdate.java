@@ -1,12 +1,23 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -16,14 +27,28 @@ import com.j256.ormlite.table.TableInfo;
  */
 public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 
+	private static final int MAX_PARTIAL_UPDATES = 64;
+
+	private final DatabaseType databaseType;
 	private final FieldType versionFieldType;
 	private final int versionFieldTypeIndex;
+	private final int[] setFieldIndexes;
+	private final Map<BitSet, PartialUpdate> partialUpdateMap = Collections
+			.synchronizedMap(new LinkedHashMap<BitSet, PartialUpdate>(16, 0.75F, true) {
+				private static final long serialVersionUID = -3417206862564016254L;
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<BitSet, PartialUpdate> eldest) {
+					return size() > MAX_PARTIAL_UPDATES;
+				}
+			});
 
-	private MappedUpdate(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
-			FieldType versionFieldType, int versionFieldTypeIndex) {
+	private MappedUpdate(DatabaseType databaseType, TableInfo<T, ID> tableInfo, String statement,
+			FieldType[] argFieldTypes, FieldType versionFieldType, int versionFieldTypeIndex, int[] setFieldIndexes) {
 		super(tableInfo, statement, argFieldTypes);
+		this.databaseType = databaseType;
 		this.versionFieldType = versionFieldType;
 		this.versionFieldTypeIndex = versionFieldTypeIndex;
+		this.setFieldIndexes = setFieldIndexes;
 	}
 
 	public static <T, ID> MappedUpdate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
@@ -32,60 +57,43 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		if (idField == null) {
 			throw new SQLException("Cannot update " + tableInfo.getDataClass() + " because it doesn't have an id field");
 		}
-		StringBuilder sb = new StringBuilder(64);
-		appendTableName(databaseType, sb, "UPDATE ", tableInfo.getTableName());
-		boolean first = true;
-		int argFieldC = 0;
+		FieldType[] fieldTypes = tableInfo.getFieldTypes();
+		int setFieldC = 0;
 		FieldType versionFieldType = null;
 		int versionFieldTypeIndex = -1;
 		// first we count up how many arguments we are going to have
-		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+		for (FieldType fieldType : fieldTypes) {
 			if (isFieldUpdatable(fieldType, idField)) {
 				if (fieldType.isVersion()) {
 					versionFieldType = fieldType;
-					versionFieldTypeIndex = argFieldC;
+					versionFieldTypeIndex = setFieldC;
 				}
-				argFieldC++;
+				setFieldC++;
 			}
 		}
-		// one more for where id = ?
-		argFieldC++;
-		if (versionFieldType != null) {
-			// one more for the AND version = ?
-			argFieldC++;
-		}
-		FieldType[] argFieldTypes = new FieldType[argFieldC];
-		argFieldC = 0;
-		for (FieldType fieldType : tableInfo.getFieldTypes()) {
-			if (!isFieldUpdatable(fieldType, idField)) {
-				continue;
+		FieldType[] setFieldTypes = new FieldType[setFieldC];
+		int[] setFieldIndexes = new int[setFieldC];
+		setFieldC = 0;
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (isFieldUpdatable(fieldTypes[i], idField)) {
+				setFieldTypes[setFieldC] = fieldTypes[i];
+				setFieldIndexes[setFieldC] = i;
+				setFieldC++;
 			}
-			if (first) {
-				sb.append("SET ");
-				first = false;
-			} else {
-				sb.append(", ");
-			}
-			appendFieldColumnName(databaseType, sb, fieldType, null);
-			argFieldTypes[argFieldC++] = fieldType;
-			sb.append("= ?");
-		}
-		sb.append(' ');
-		appendWhereFieldEq(databaseType, idField, sb, null);
-		argFieldTypes[argFieldC++] = idField;
-		if (versionFieldType != null) {
-			sb.append(" AND ");
-			appendFieldColumnName(databaseType, sb, versionFieldType, null);
-			sb.append("= ?");
-			argFieldTypes[argFieldC++] = versionFieldType;
 		}
-		return new MappedUpdate<T, ID>(tableInfo, sb.toString(), argFieldTypes, versionFieldType, versionFieldTypeIndex);
+		FieldType[] argFieldTypes = buildArgFieldTypes(setFieldTypes, idField, versionFieldType);
+		String statement = buildStatement(databaseType, tableInfo, setFieldTypes, idField, versionFieldType);
+		return new MappedUpdate<T, ID>(databaseType, tableInfo, statement, argFieldTypes, versionFieldType,
+				versionFieldTypeIndex, setFieldIndexes);
 	}
 
 	/**
-	 * Update the object in the database.
+	 * Update the object in the database. If dirty tracking is enabled for the table and we have a snapshot of the
+	 * object then only the columns that have changed are updated. If none have changed then the database is not
+	 * touched and 0 is returned.
 	 */
 	public int update(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
+		String updateStatement = statement;
 		try {
 			// there is always and id field as an argument so just return 0 lines updated
 			if (argFieldTypes.length <= 1) {
@@ -98,38 +106,233 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 				newVersion = versionFieldType.moveToNextValue(newVersion);
 				args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(newVersion);
 			}
-			int rowC = databaseConnection.update(statement, args, argFieldTypes);
-			if (rowC > 0) {
-				if (newVersion != null) {
-					// if we have updated a row then update the version field in our object to the new value
-					versionFieldType.assignField(data, newVersion, false, null);
-				}
-				if (objectCache != null) {
-					// if we've changed something then see if we need to update our cache
-					Object id = idField.extractJavaFieldValue(data);
-					T cachedData = objectCache.get(clazz, id);
-					if (cachedData != null && cachedData != data) {
-						// copy each field from the updated data into the cached object
-						for (FieldType fieldType : tableInfo.getFieldTypes()) {
-							if (fieldType != idField) {
-								fieldType.assignField(cachedData, fieldType.extractJavaFieldValue(data), false,
-										objectCache);
-							}
-						}
+			FieldType[] updateArgFieldTypes = argFieldTypes;
+			DirtyTracker<T> dirtyTracker = tableInfo.getDirtyTracker();
+			if (dirtyTracker != null) {
+				Object[] snapshot = dirtyTracker.getSnapshot(data);
+				if (snapshot != null) {
+					BitSet changedFields = findChangedFields(snapshot, args);
+					if (changedFields.isEmpty()) {
+						logger.debug("update data of {} skipped because no fields have changed", data);
+						return 0;
+					}
+					if (changedFields.cardinality() < setFieldIndexes.length) {
+						PartialUpdate partialUpdate = getPartialUpdate(changedFields);
+						updateStatement = partialUpdate.statement;
+						updateArgFieldTypes = partialUpdate.argFieldTypes;
+						args = partialUpdate.buildArgs(args);
 					}
 				}
 			}
-			logger.debug("update data with statement '{}' and {} args, changed {} rows", statement, args.length, rowC);
+			int rowC = databaseConnection.update(updateStatement, args, updateArgFieldTypes);
+			if (rowC > 0) {
+				assignAfterUpdate(data, newVersion, objectCache);
+			}
+			logger.debug("update data with statement '{}' and {} args, changed {} rows", updateStatement, args.length,
+					rowC);
 			if (args.length > 0) {
 				// need to do the (Object) cast to force args to be a single object
 				logger.trace("update arguments: {}", (Object) args);
 			}
 			return rowC;
 		} catch (SQLException e) {
-			throw SqlExceptionUtil.create("Unable to run update stmt on object " + data + ": " + statement, e);
+			throw SqlExceptionUtil.create("Unable to run update stmt on object " + data + ": " + updateStatement, e);
+		}
+	}
+
+	/**
+	 * Update a collection of objects in the database using batches of the update statement on the connection. The
+	 * version field of each object is checked and moved to its next value as with {@link #update}.
+	 * 
+	 * @param failedDatas
+	 *            List to which we add the objects whose rows were not updated because the row did not exist or the
+	 *            version did not match. If the database does not return the count for a row then it is assumed to have
+	 *            been updated.
+	 * @return The number of rows updated in the database.
+	 */
+	public int updateBatch(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache,
+			List<T> failedDatas) throws SQLException {
+		// there is always and id field as an argument so just return 0 lines updated
+		if (argFieldTypes.length <= 1) {
+			return 0;
+		}
+		CompiledStatement compiledStmt =
+				databaseConnection.compileStatement(statement, StatementType.UPDATE, argFieldTypes,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		try {
+			List<T> batchDatas = new ArrayList<T>();
+			List<Object> batchVersions = new ArrayList<Object>();
+			int rowC = 0;
+			for (T data : datas) {
+				if (data == null) {
+					// ignore updating a null object
+					continue;
+				}
+				Object[] args = getFieldObjects(data);
+				Object newVersion = null;
+				if (versionFieldType != null) {
+					newVersion = versionFieldType.extractJavaFieldValue(data);
+					newVersion = versionFieldType.moveToNextValue(newVersion);
+					args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(newVersion);
+				}
+				for (int i = 0; i < args.length; i++) {
+					compiledStmt.setObject(i, args[i], argFieldTypes[i].getSqlType());
+				}
+				compiledStmt.addBatch();
+				batchDatas.add(data);
+				batchVersions.add(newVersion);
+				if (batchDatas.size() >= MAX_BATCH_SIZE) {
+					rowC += runUpdateBatch(compiledStmt, batchDatas, batchVersions, objectCache, failedDatas);
+					batchDatas.clear();
+					batchVersions.clear();
+				}
+			}
+			if (!batchDatas.isEmpty()) {
+				rowC += runUpdateBatch(compiledStmt, batchDatas, batchVersions, objectCache, failedDatas);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run batch update stmt on " + datas.size() + " objects: "
+					+ statement, e);
+		} finally {
+			compiledStmt.close();
+		}
+	}
+
+	private int runUpdateBatch(CompiledStatement compiledStmt, List<T> batchDatas, List<Object> batchVersions,
+			ObjectCache objectCache, List<T> failedDatas) throws SQLException {
+		int[] rowCounts = compiledStmt.runBatch();
+		logger.debug("update batch of {} rows with statement '{}'", batchDatas.size(), statement);
+		if (rowCounts.length != batchDatas.size()) {
+			throw new SQLException("batch update returned " + rowCounts.length + " row counts for "
+					+ batchDatas.size() + " rows");
+		}
+		int rowC = 0;
+		for (int i = 0; i < rowCounts.length; i++) {
+			int count = rowCounts[i];
+			T data = batchDatas.get(i);
+			if (count == Statement.SUCCESS_NO_INFO) {
+				// the driver doesn't know the count so we assume the row was updated
+				count = 1;
+			} else if (count <= 0) {
+				failedDatas.add(data);
+				continue;
+			}
+			rowC += count;
+			assignAfterUpdate(data, batchVersions.get(i), objectCache);
+		}
+		return rowC;
+	}
+
+	/**
+	 * Assign the new version to the object after it has been updated and copy its fields into any cached object.
+	 */
+	private void assignAfterUpdate(T data, Object newVersion, ObjectCache objectCache) throws SQLException {
+		if (newVersion != null) {
+			// if we have updated a row then update the version field in our object to the new value
+			versionFieldType.assignField(data, newVersion, false, null);
+		}
+		DirtyTracker<T> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.snapshot(data);
+		}
+		if (objectCache != null) {
+			// if we've changed something then see if we need to update our cache
+			Object id = idField.extractJavaFieldValue(data);
+			T cachedData = objectCache.get(clazz, id);
+			if (cachedData != null && cachedData != data) {
+				// copy each field from the updated data into the cached object
+				for (FieldType fieldType : tableInfo.getFieldTypes()) {
+					if (fieldType != idField) {
+						fieldType.assignField(cachedData, fieldType.extractJavaFieldValue(data), false, objectCache);
+					}
+				}
+			}
 		}
 	}
 
+	/**
+	 * Return the SET arguments whose values are different from the snapshot. The version field is not compared since
+	 * it is always moved to its next value.
+	 */
+	private BitSet findChangedFields(Object[] snapshot, Object[] args) {
+		BitSet changedFields = new BitSet(setFieldIndexes.length);
+		for (int i = 0; i < setFieldIndexes.length; i++) {
+			if (i != versionFieldTypeIndex && !DirtyTracker.isValueEqual(snapshot[setFieldIndexes[i]], args[i])) {
+				changedFields.set(i);
+			}
+		}
+		if (!changedFields.isEmpty() && versionFieldType != null) {
+			// the version always has to be updated if anything else is
+			changedFields.set(versionFieldTypeIndex);
+		}
+		return changedFields;
+	}
+
+	private PartialUpdate getPartialUpdate(BitSet changedFields) {
+		PartialUpdate partialUpdate = partialUpdateMap.get(changedFields);
+		if (partialUpdate != null) {
+			return partialUpdate;
+		}
+		int setFieldC = changedFields.cardinality();
+		FieldType[] setFieldTypes = new FieldType[setFieldC];
+		int[] argIndexes = new int[setFieldC];
+		setFieldC = 0;
+		for (int i = changedFields.nextSetBit(0); i >= 0; i = changedFields.nextSetBit(i + 1)) {
+			setFieldTypes[setFieldC] = argFieldTypes[i];
+			argIndexes[setFieldC] = i;
+			setFieldC++;
+		}
+		String partialStatement = buildStatement(databaseType, tableInfo, setFieldTypes, idField, versionFieldType);
+		partialUpdate =
+				new PartialUpdate(partialStatement, buildArgFieldTypes(setFieldTypes, idField, versionFieldType),
+						argIndexes, setFieldIndexes.length);
+		partialUpdateMap.put(changedFields, partialUpdate);
+		return partialUpdate;
+	}
+
+	private static FieldType[] buildArgFieldTypes(FieldType[] setFieldTypes, FieldType idField,
+			FieldType versionFieldType) {
+		// one more for where id = ?
+		int argFieldC = setFieldTypes.length + 1;
+		if (versionFieldType != null) {
+			// one more for the AND version = ?
+			argFieldC++;
+		}
+		FieldType[] argFieldTypes = new FieldType[argFieldC];
+		System.arraycopy(setFieldTypes, 0, argFieldTypes, 0, setFieldTypes.length);
+		argFieldTypes[setFieldTypes.length] = idField;
+		if (versionFieldType != null) {
+			argFieldTypes[setFieldTypes.length + 1] = versionFieldType;
+		}
+		return argFieldTypes;
+	}
+
+	private static <T, ID> String buildStatement(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			FieldType[] setFieldTypes, FieldType idField, FieldType versionFieldType) {
+		StringBuilder sb = new StringBuilder(64);
+		appendTableName(databaseType, sb, "UPDATE ", tableInfo.getTableName());
+		boolean first = true;
+		for (FieldType fieldType : setFieldTypes) {
+			if (first) {
+				sb.append("SET ");
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			appendFieldColumnName(databaseType, sb, fieldType, null);
+			sb.append("= ?");
+		}
+		sb.append(' ');
+		appendWhereFieldEq(databaseType, idField, sb, null);
+		if (versionFieldType != null) {
+			sb.append(" AND ");
+			appendFieldColumnName(databaseType, sb, versionFieldType, null);
+			sb.append("= ?");
+		}
+		return sb.toString();
+	}
+
 	private static boolean isFieldUpdatable(FieldType fieldType, FieldType idField) {
 		if (fieldType == idField || fieldType.isForeignCollection() || fieldType.isReadOnly()) {
 			return false;
@@ -137,4 +340,34 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 			return true;
 		}
 	}
+
+	/**
+	 * Update statement which only sets some of the fields along with the arguments it needs from the full update.
+	 */
+	private static class PartialUpdate {
+		final String statement;
+		final FieldType[] argFieldTypes;
+		private final int[] argIndexes;
+		private final int setFieldC;
+
+		public PartialUpdate(String statement, FieldType[] argFieldTypes, int[] argIndexes, int setFieldC) {
+			this.statement = statement;
+			this.argFieldTypes = argFieldTypes;
+			this.argIndexes = argIndexes;
+			this.setFieldC = setFieldC;
+		}
+
+		/**
+		 * Convert the arguments of the full update into the arguments for this one.
+		 */
+		public Object[] buildArgs(Object[] fullArgs) {
+			Object[] args = new Object[argFieldTypes.length];
+			for (int i = 0; i < argIndexes.length; i++) {
+				args[i] = fullArgs[argIndexes[i]];
+			}
+			// the where arguments follow the set arguments
+			System.arraycopy(fullArgs, setFieldC, args, argIndexes.length, args.length - argIndexes.length);
+			return args;
+		}
+	}
 }
@@ -0,0 +1,129 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DirtyTracker;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Mapped statement for inserting an object or updating it if a row with the same id already exists using a single
+ * statement. See {@link DatabaseType#isUpsertSupported()}.
+ * 
+ * @author graywatson
+ */
+public class MappedUpsert<T, ID> extends BaseMappedStatement<T, ID> {
+
+	private MappedUpsert(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes) {
+		super(tableInfo, statement, argFieldTypes);
+	}
+
+	public static <T, ID> MappedUpsert<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
+			throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Cannot upsert " + tableInfo.getDataClass() + " because it doesn't have an id field");
+		}
+		int argFieldC = 0;
+		// first we count up how many arguments we are going to have
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (isFieldUpsertable(fieldType)) {
+				argFieldC++;
+			}
+		}
+		FieldType[] argFieldTypes = new FieldType[argFieldC];
+		argFieldC = 0;
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (isFieldUpsertable(fieldType)) {
+				argFieldTypes[argFieldC++] = fieldType;
+			}
+		}
+		StringBuilder sb = new StringBuilder(128);
+		databaseType.appendUpsertStatement(sb, tableInfo.getTableName(), argFieldTypes, idField);
+		return new MappedUpsert<T, ID>(tableInfo, sb.toString(), argFieldTypes);
+	}
+
+	/**
+	 * Return true if objects of the table can be upserted. Version fields and foreign auto-create fields need separate
+	 * create and update logic so they are not supported. Generated ids are not supported either since the upsert would
+	 * insert the id from the object instead of letting the database generate it like a create does.
+	 */
+	public static <T, ID> boolean isTableUpsertable(DatabaseType databaseType, TableInfo<T, ID> tableInfo) {
+		FieldType idField = tableInfo.getIdField();
+		if (!databaseType.isUpsertSupported() || idField == null || idField.isGeneratedId()
+				|| tableInfo.isForeignAutoCreate()) {
+			return false;
+		}
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType.isVersion()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Insert the object in the database or update it if a row with the same id already exists.
+	 * 
+	 * @return The number of rows affected which, depending on the database type, may be different for an insert and an
+	 *         update.
+	 */
+	public int upsert(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
+		try {
+			Object[] args = getFieldObjects(data);
+			int rowC = databaseConnection.update(statement, args, argFieldTypes);
+			DirtyTracker<T> dirtyTracker = tableInfo.getDirtyTracker();
+			if (rowC > 0 && dirtyTracker != null) {
+				dirtyTracker.snapshot(data);
+			}
+			if (rowC > 0 && objectCache != null) {
+				// if we've changed something then see if we need to update our cache
+				Object id = idField.extractJavaFieldValue(data);
+				T cachedData = objectCache.get(clazz, id);
+				if (cachedData == null) {
+					// the row may have been inserted so add it to the cache like a create does
+					if (foreignCollectionsAreAssigned(data)) {
+						objectCache.put(clazz, id, data);
+					}
+				} else if (cachedData != data) {
+					// copy each field from the upserted data into the cached object
+					for (FieldType fieldType : tableInfo.getFieldTypes()) {
+						if (fieldType != idField) {
+							fieldType.assignField(cachedData, fieldType.extractJavaFieldValue(data), false,
+									objectCache);
+						}
+					}
+				}
+			}
+			logger.debug("upsert data with statement '{}' and {} args, changed {} rows", statement, args.length, rowC);
+			if (args.length > 0) {
+				// need to do the (Object) cast to force args to be a single object
+				logger.trace("upsert arguments: {}", (Object) args);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run upsert stmt on object " + data + ": " + statement, e);
+		}
+	}
+
+	private boolean foreignCollectionsAreAssigned(T data) throws SQLException {
+		for (FieldType fieldType : tableInfo.getForeignCollections()) {
+			if (fieldType.extractJavaFieldValue(data) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isFieldUpsertable(FieldType fieldType) {
+		if (fieldType.isForeignCollection() || fieldType.isReadOnly()) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Hands out ids from a database sequence which is incremented by more than 1 so we don't have to query the sequence
+ * before every insert. If the sequence returns N then the ids N to N + allocationSize - 1 are handed out before the
+ * sequence is queried again. See {@link DatabaseField#allocationSize()}.
+ * 
+ * <p>
+ * There is one allocator per connection-source and sequence name so DAOs on the same database which share a sequence
+ * also share the reserved ids. Connection-sources to different databases have their own allocators even if the
+ * sequences have the same name.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class PooledSequenceAllocator {
+
+	private static final Map<ConnectionSource, Map<String, PooledSequenceAllocator>> allocatorMap =
+			new WeakHashMap<ConnectionSource, Map<String, PooledSequenceAllocator>>();
+
+	private final String sequenceName;
+	private final int allocationSize;
+	private long nextValue;
+	private long limitValue;
+
+	private PooledSequenceAllocator(String sequenceName, int allocationSize) {
+		this.sequenceName = sequenceName;
+		this.allocationSize = allocationSize;
+	}
+
+	/**
+	 * Return the allocator for the sequence on the connection source, creating it if necessary. If the connection
+	 * source is null then a new allocator is returned which is not shared.
+	 * 
+	 * @throws SQLException
+	 *             If the sequence is already being used with a different allocation size.
+	 */
+	public static PooledSequenceAllocator getAllocator(ConnectionSource connectionSource, String sequenceName,
+			int allocationSize) throws SQLException {
+		if (connectionSource == null) {
+			return new PooledSequenceAllocator(sequenceName, allocationSize);
+		}
+		synchronized (allocatorMap) {
+			Map<String, PooledSequenceAllocator> sequenceMap = allocatorMap.get(connectionSource);
+			if (sequenceMap == null) {
+				sequenceMap = new HashMap<String, PooledSequenceAllocator>();
+				allocatorMap.put(connectionSource, sequenceMap);
+			}
+			PooledSequenceAllocator allocator = sequenceMap.get(sequenceName);
+			if (allocator == null) {
+				allocator = new PooledSequenceAllocator(sequenceName, allocationSize);
+				sequenceMap.put(sequenceName, allocator);
+			} else if (allocator.allocationSize != allocationSize) {
+				throw new SQLException("Sequence " + sequenceName + " is already used with an allocation size of "
+						+ allocator.allocationSize + ", not " + allocationSize);
+			}
+			return allocator;
+		}
+	}
+
+	/**
+	 * Return the next id from the block of reserved ids. If they have all been used then the query-next-sequence
+	 * statement is run to reserve another block.
+	 */
+	public synchronized long nextValue(DatabaseConnection databaseConnection, String queryNextSequenceStmt)
+			throws SQLException {
+		if (nextValue >= limitValue) {
+			// call the query-next-sequence stmt to increment the sequence
+			long seqVal = databaseConnection.queryForLong(queryNextSequenceStmt);
+			if (seqVal == 0) {
+				// sanity check that it is working
+				throw new SQLException("Should not have returned 0 for stmt: " + queryNextSequenceStmt);
+			}
+			nextValue = seqVal;
+			limitValue = seqVal + allocationSize;
+		}
+		return nextValue++;
+	}
+
+	public String getSequenceName() {
+		return sequenceName;
+	}
+
+	public int getAllocationSize() {
+		return allocationSize;
+	}
+}
@@ -37,6 +37,24 @@ public interface CompiledStatement {
 	 */
 	public int runExecute() throws SQLException;
 
+	/**
+	 * Add the current set of parameters to the batch of commands for this statement. The parameters can then be set
+	 * again for the next row.
+	 */
+	public void addBatch() throws SQLException;
+
+	/**
+	 * Run the batch of commands that were added with {@link #addBatch()} returning the number of rows affected by each
+	 * command. With some database types, the values may be negative if the number of rows is not known.
+	 */
+	public int[] runBatch() throws SQLException;
+
+	/**
+	 * Remove any commands that were added with {@link #addBatch()} and clear the current parameters so the statement
+	 * can be used again.
+	 */
+	public void clearBatch() throws SQLException;
+
 	/**
 	 * Close the statement.
 	 */
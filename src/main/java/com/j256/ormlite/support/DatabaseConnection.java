@@ -2,6 +2,7 @@ package com.j256.ormlite.support;
 
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
@@ -98,6 +99,25 @@ public interface DatabaseConnection {
 	public int insert(String statement, Object[] args, FieldType[] argfieldTypes, GeneratedKeyHolder keyHolder)
 			throws SQLException;
 
+	/**
+	 * Perform a batch of SQL inserts with the associated SQL statement, a list of argument rows, and types. This will
+	 * possibly return generated keys if keyHolder is not null in which case a key should be added for each of the rows
+	 * in the order of the argument list.
+	 * 
+	 * @param statement
+	 *            SQL statement to use for inserting.
+	 * @param argsList
+	 *            List of object arguments for the SQL '?'s, one entry per row.
+	 * @param argfieldTypes
+	 *            Field types of the arguments.
+	 * @param keyHolder
+	 *            The holder that gets set with the generated key values which may be null.
+	 * @return The number of rows affected by each of the rows of arguments. With some database types, the values may be
+	 *         negative if the number of rows is not known.
+	 */
+	public int[] insertBatch(String statement, List<Object[]> argsList, FieldType[] argfieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException;
+
 	/**
 	 * Perform a SQL update with the associated SQL statement, arguments, and types.
 	 * 
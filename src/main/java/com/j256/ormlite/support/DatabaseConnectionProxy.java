@@ -2,6 +2,7 @@ package com.j256.ormlite.support;
 
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
@@ -90,6 +91,15 @@ public class DatabaseConnectionProxy implements DatabaseConnection {
 		}
 	}
 
+	public int[] insertBatch(String statement, List<Object[]> argsList, FieldType[] argfieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException {
+		if (proxy == null) {
+			return new int[0];
+		} else {
+			return proxy.insertBatch(statement, argsList, argfieldTypes, keyHolder);
+		}
+	}
+
 	public int update(String statement, Object[] args, FieldType[] argfieldTypes) throws SQLException {
 		if (proxy == null) {
 			return 0;
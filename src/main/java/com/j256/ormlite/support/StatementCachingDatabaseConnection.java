@@ -0,0 +1,305 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+/**
+ * Database connection proxy which keeps a least-recently-used cache of compiled statements so the same SQL is not
+ * prepared over and over. When a statement returned by {@link #compileStatement} is closed, it goes back into the cache
+ * instead of being closed. The next compile of the same SQL, statement-type, and result-flags reuses it. Statements
+ * that are pushed out of the cache, or that find the cache already holding the same SQL, are really closed.
+ * 
+ * <p>
+ * It can be used with the connection sources through the {@link StatementCachingProxyFactory}.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> A cached statement is only handed out again after it has been closed, so a statement can be compiled
+ * while another copy of it is still being used. Like the underlying connection, this should not be used by multiple
+ * threads at the same time.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class StatementCachingDatabaseConnection extends DatabaseConnectionProxy {
+
+	public static final int DEFAULT_CACHE_SIZE = 50;
+
+	private static Logger logger = LoggerFactory.getLogger(StatementCachingDatabaseConnection.class);
+
+	private final int cacheSize;
+	private final Map<StatementKey, CompiledStatement> statementMap;
+	private boolean closed;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	public StatementCachingDatabaseConnection(DatabaseConnection proxy) {
+		this(proxy, DEFAULT_CACHE_SIZE);
+	}
+
+	public StatementCachingDatabaseConnection(DatabaseConnection proxy, int cacheSize) {
+		super(proxy);
+		this.cacheSize = cacheSize;
+		this.statementMap = new LinkedHashMap<StatementKey, CompiledStatement>(16, 0.75F, true);
+	}
+
+	@Override
+	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
+			int resultFlags) throws SQLException {
+		StatementKey key = new StatementKey(statement, type, resultFlags);
+		CompiledStatement compiledStatement;
+		synchronized (statementMap) {
+			// we remove it from the cache while it is in use
+			compiledStatement = statementMap.remove(key);
+			if (compiledStatement == null) {
+				missCount++;
+			} else {
+				hitCount++;
+			}
+		}
+		if (compiledStatement == null) {
+			compiledStatement = super.compileStatement(statement, type, argFieldTypes, resultFlags);
+			if (compiledStatement == null) {
+				return null;
+			}
+		}
+		return new CachedCompiledStatement(key, compiledStatement);
+	}
+
+	@Override
+	public void close() throws SQLException {
+		closeStatements();
+		super.close();
+	}
+
+	@Override
+	public void closeQuietly() {
+		try {
+			closeStatements();
+		} catch (SQLException e) {
+			// ignored
+		}
+		super.closeQuietly();
+	}
+
+	/**
+	 * Return the number of compiles which were satisfied by the cache.
+	 */
+	public long getHitCount() {
+		synchronized (statementMap) {
+			return hitCount;
+		}
+	}
+
+	/**
+	 * Return the number of compiles which were not in the cache.
+	 */
+	public long getMissCount() {
+		synchronized (statementMap) {
+			return missCount;
+		}
+	}
+
+	/**
+	 * Return the number of statements which were closed because they were pushed out of the cache.
+	 */
+	public long getEvictionCount() {
+		synchronized (statementMap) {
+			return evictionCount;
+		}
+	}
+
+	/**
+	 * Return the number of statements in the cache which are waiting to be reused.
+	 */
+	public int getCachedCount() {
+		synchronized (statementMap) {
+			return statementMap.size();
+		}
+	}
+
+	/**
+	 * Put the statement back in the cache or close it if there is no room.
+	 */
+	private void releaseStatement(StatementKey key, CompiledStatement compiledStatement) throws SQLException {
+		CompiledStatement evicted = null;
+		synchronized (statementMap) {
+			if (closed || cacheSize <= 0 || statementMap.containsKey(key)) {
+				evicted = compiledStatement;
+			} else {
+				statementMap.put(key, compiledStatement);
+				if (statementMap.size() > cacheSize) {
+					Iterator<CompiledStatement> iterator = statementMap.values().iterator();
+					evicted = iterator.next();
+					iterator.remove();
+					evictionCount++;
+				}
+			}
+		}
+		if (evicted != null) {
+			evicted.close();
+		}
+	}
+
+	private void closeStatements() throws SQLException {
+		CompiledStatement[] statements;
+		synchronized (statementMap) {
+			closed = true;
+			statements = statementMap.values().toArray(new CompiledStatement[statementMap.size()]);
+			statementMap.clear();
+		}
+		SQLException firstException = null;
+		for (CompiledStatement statement : statements) {
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				if (firstException == null) {
+					firstException = e;
+				}
+			}
+		}
+		if (firstException != null) {
+			throw firstException;
+		}
+		logger.debug("closed {} cached statements", statements.length);
+	}
+
+	/**
+	 * Key for the cache made up of the statement, its type, and the result flags.
+	 */
+	private static class StatementKey {
+		private final String statement;
+		private final StatementType type;
+		private final int resultFlags;
+
+		public StatementKey(String statement, StatementType type, int resultFlags) {
+			this.statement = statement;
+			this.type = type;
+			this.resultFlags = resultFlags;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = 31 + statement.hashCode();
+			result = 31 * result + (type == null ? 0 : type.hashCode());
+			return 31 * result + resultFlags;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			StatementKey other = (StatementKey) obj;
+			return statement.equals(other.statement) && type == other.type && resultFlags == other.resultFlags;
+		}
+	}
+
+	/**
+	 * Compiled statement that returns the real statement to the cache when it is closed.
+	 */
+	private class CachedCompiledStatement implements CompiledStatement {
+		private final StatementKey key;
+		private final CompiledStatement statement;
+		private boolean parametersSet;
+		private boolean maxRowsSet;
+		private boolean queryTimeoutSet;
+		private boolean released;
+
+		public CachedCompiledStatement(StatementKey key, CompiledStatement statement) {
+			this.key = key;
+			this.statement = statement;
+		}
+
+		public int getColumnCount() throws SQLException {
+			return statement.getColumnCount();
+		}
+
+		public String getColumnName(int columnIndex) throws SQLException {
+			return statement.getColumnName(columnIndex);
+		}
+
+		public int runUpdate() throws SQLException {
+			return statement.runUpdate();
+		}
+
+		public DatabaseResults runQuery(ObjectCache objectCache) throws SQLException {
+			return statement.runQuery(objectCache);
+		}
+
+		public int runExecute() throws SQLException {
+			return statement.runExecute();
+		}
+
+		public void addBatch() throws SQLException {
+			statement.addBatch();
+		}
+
+		public int[] runBatch() throws SQLException {
+			return statement.runBatch();
+		}
+
+		public void clearBatch() throws SQLException {
+			statement.clearBatch();
+			parametersSet = false;
+		}
+
+		public void close() throws SQLException {
+			if (released) {
+				return;
+			}
+			released = true;
+			// reset the settings so the next user gets the statement as if it was just compiled
+			try {
+				if (parametersSet) {
+					// this also drops any batch rows that were added but not run
+					statement.clearBatch();
+				}
+				if (maxRowsSet) {
+					statement.setMaxRows(0);
+				}
+				if (queryTimeoutSet) {
+					statement.setQueryTimeout(0);
+				}
+			} catch (SQLException e) {
+				// don't put a statement which we could not reset back into the cache
+				statement.close();
+				throw e;
+			}
+			releaseStatement(key, statement);
+		}
+
+		public void closeQuietly() {
+			try {
+				close();
+			} catch (SQLException e) {
+				// ignored
+			}
+		}
+
+		public void setObject(int parameterIndex, Object obj, SqlType sqlType) throws SQLException {
+			statement.setObject(parameterIndex, obj, sqlType);
+			parametersSet = true;
+		}
+
+		public void setMaxRows(int max) throws SQLException {
+			statement.setMaxRows(max);
+			maxRowsSet = true;
+		}
+
+		public void setQueryTimeout(long millis) throws SQLException {
+			statement.setQueryTimeout(millis);
+			queryTimeoutSet = true;
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+
+/**
+ * Database connection proxy factory which wraps each connection in a {@link StatementCachingDatabaseConnection} so
+ * compiled statements are reused.
+ * 
+ * @author graywatson
+ */
+public class StatementCachingProxyFactory implements DatabaseConnectionProxyFactory {
+
+	private final int cacheSize;
+
+	public StatementCachingProxyFactory() {
+		this(StatementCachingDatabaseConnection.DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param cacheSize
+	 *            Number of compiled statements that each connection will keep for reuse.
+	 */
+	public StatementCachingProxyFactory(int cacheSize) {
+		this.cacheSize = cacheSize;
+	}
+
+	public DatabaseConnection createProxy(DatabaseConnection realConnection) throws SQLException {
+		return new StatementCachingDatabaseConnection(realConnection, cacheSize);
+	}
+}
@@ -0,0 +1,119 @@
+package com.j256.ormlite.table;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+
+/**
+ * Generates the {@link DatabaseTableConfig} for classes at build time and writes them to a configuration file. At
+ * startup, {@link #registerConfigResource(String)} loads the file and adds the configurations to the
+ * {@link DaoManager} so the DAOs are constructed without scanning the annotations of each class.
+ * 
+ * <p>
+ * This can be run from the build with {@link DatabaseTableConfigGeneratorMain}:
+ * </p>
+ * 
+ * <pre>
+ * java com.j256.ormlite.table.DatabaseTableConfigGeneratorMain com.j256.ormlite.db.H2DatabaseType \
+ *     target/classes/ormlite_config.txt com.example.Account com.example.Order ...
+ * </pre>
+ * 
+ * <p>
+ * <b>NOTE:</b> The file needs to be regenerated whenever the annotations of the classes change.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class DatabaseTableConfigGenerator {
+
+	/**
+	 * Write the configurations of the classes to the file.
+	 */
+	public static void writeConfigFile(DatabaseType databaseType, File configFile, Class<?>... classes)
+			throws SQLException, IOException {
+		BufferedWriter writer = new BufferedWriter(new FileWriter(configFile), 4096);
+		try {
+			writeConfigs(databaseType, writer, classes);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Write the configurations of the classes to the writer.
+	 */
+	public static void writeConfigs(DatabaseType databaseType, BufferedWriter writer, Class<?>... classes)
+			throws SQLException {
+		for (Class<?> clazz : classes) {
+			DatabaseTableConfigLoader.write(writer, fromClass(databaseType, clazz));
+		}
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not flush config writer", e);
+		}
+	}
+
+	/**
+	 * Load the configurations from the class-path resource and add them to the {@link DaoManager} cache.
+	 * 
+	 * @return The number of configurations loaded.
+	 */
+	public static int registerConfigResource(String resourceName) throws SQLException {
+		InputStream stream = DatabaseTableConfigGenerator.class.getClassLoader().getResourceAsStream(resourceName);
+		if (stream == null) {
+			throw new SQLException("Could not find config resource: " + resourceName);
+		}
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(stream), 4096);
+			List<DatabaseTableConfig<?>> configs = DatabaseTableConfigLoader.loadDatabaseConfigFromReader(reader);
+			DaoManager.addCachedDatabaseConfigs(configs);
+			return configs.size();
+		} finally {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				// ignored
+			}
+		}
+	}
+
+	/**
+	 * Build the table configuration for the class from its annotations with field configurations instead of field
+	 * types so it can be written out.
+	 */
+	public static <T> DatabaseTableConfig<T> fromClass(DatabaseType databaseType, Class<T> clazz) throws SQLException {
+		String tableName = DatabaseTableConfig.extractTableName(clazz);
+		if (databaseType.isEntityNamesMustBeUpCase()) {
+			tableName = tableName.toUpperCase();
+		}
+		List<DatabaseFieldConfig> fieldConfigs = new ArrayList<DatabaseFieldConfig>();
+		for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+			for (Field field : classWalk.getDeclaredFields()) {
+				DatabaseFieldConfig fieldConfig = DatabaseFieldConfig.fromField(databaseType, tableName, field);
+				if (fieldConfig != null) {
+					fieldConfigs.add(fieldConfig);
+				}
+			}
+		}
+		if (fieldConfigs.isEmpty()) {
+			throw new IllegalArgumentException("No fields have a " + DatabaseField.class.getSimpleName()
+					+ " annotation in " + clazz);
+		}
+		return new DatabaseTableConfig<T>(clazz, tableName, fieldConfigs);
+	}
+}
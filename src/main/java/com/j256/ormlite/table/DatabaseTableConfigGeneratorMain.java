@@ -0,0 +1,31 @@
+package com.j256.ormlite.table;
+
+import java.io.File;
+
+import com.j256.ormlite.db.DatabaseType;
+
+/**
+ * Command-line entry point which writes the configuration file with {@link DatabaseTableConfigGenerator} from the
+ * build. It is kept out of the generator so the library classes do not print to the console or exit the JVM.
+ * 
+ * @author graywatson
+ */
+public class DatabaseTableConfigGeneratorMain {
+
+	/**
+	 * Arguments are the database-type class name, the config file to write, and then the entity class names.
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 3) {
+			System.err.println("Usage: java " + DatabaseTableConfigGeneratorMain.class.getName()
+					+ " database-type-class config-file entity-class ...");
+			System.exit(1);
+		}
+		DatabaseType databaseType = (DatabaseType) Class.forName(args[0]).getDeclaredConstructor().newInstance();
+		Class<?>[] classes = new Class<?>[args.length - 2];
+		for (int i = 0; i < classes.length; i++) {
+			classes[i] = Class.forName(args[i + 2]);
+		}
+		DatabaseTableConfigGenerator.writeConfigFile(databaseType, new File(args[1]), classes);
+	}
+}
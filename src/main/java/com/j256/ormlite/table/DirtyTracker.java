@@ -0,0 +1,139 @@
+package com.j256.ormlite.table;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.j256.ormlite.field.FieldType;
+
+/**
+ * Holds a snapshot of the field values of objects as they were last read from or written to the database so updates
+ * can be limited to the columns that have changed. The values are stored as the SQL arguments for the fields in the
+ * same order as {@link TableInfo#getFieldTypes()}.
+ * 
+ * <p>
+ * The snapshots are keyed by the identity of the objects and weakly referenced so they don't keep the objects from
+ * being garbage collected.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class DirtyTracker<T> {
+
+	private final FieldType[] fieldTypes;
+	private final Map<IdentityKey, Object[]> snapshotMap = new HashMap<IdentityKey, Object[]>();
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+
+	public DirtyTracker(TableInfo<T, ?> tableInfo) {
+		this.fieldTypes = tableInfo.getFieldTypes();
+	}
+
+	/**
+	 * Record the current field values of the object.
+	 */
+	public void snapshot(T data) throws SQLException {
+		Object[] values = new Object[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (fieldType.isForeignCollection()) {
+				continue;
+			}
+			Object value = fieldType.extractJavaFieldToSqlArgValue(data);
+			if (value == null) {
+				value = fieldType.getDefaultValue();
+			} else if (value instanceof byte[]) {
+				// arrays can be changed in place so we need our own copy
+				value = ((byte[]) value).clone();
+			}
+			values[i] = value;
+		}
+		synchronized (snapshotMap) {
+			removeCollected();
+			snapshotMap.put(new IdentityKey(data, referenceQueue), values);
+		}
+	}
+
+	/**
+	 * Return the field values of the object from its last snapshot or null if there is none.
+	 */
+	public Object[] getSnapshot(T data) {
+		synchronized (snapshotMap) {
+			removeCollected();
+			return snapshotMap.get(new IdentityKey(data, null));
+		}
+	}
+
+	/**
+	 * Remove the snapshot for the object.
+	 */
+	public void remove(T data) {
+		synchronized (snapshotMap) {
+			snapshotMap.remove(new IdentityKey(data, null));
+		}
+	}
+
+	/**
+	 * Return the number of objects with snapshots.
+	 */
+	public int size() {
+		synchronized (snapshotMap) {
+			removeCollected();
+			return snapshotMap.size();
+		}
+	}
+
+	/**
+	 * Return true if the field value is the same as the snapshot value.
+	 */
+	public static boolean isValueEqual(Object snapshotValue, Object value) {
+		if (snapshotValue == null) {
+			return value == null;
+		} else if (value == null) {
+			return false;
+		} else if (snapshotValue instanceof byte[] && value instanceof byte[]) {
+			return Arrays.equals((byte[]) snapshotValue, (byte[]) value);
+		} else {
+			return snapshotValue.equals(value);
+		}
+	}
+
+	private void removeCollected() {
+		Object ref;
+		while ((ref = referenceQueue.poll()) != null) {
+			snapshotMap.remove(ref);
+		}
+	}
+
+	/**
+	 * Weak reference to an object which uses the identity of the object for hashing and equality so objects that
+	 * override equals can be tracked.
+	 */
+	private static class IdentityKey extends WeakReference<Object> {
+		private final int hashCode;
+
+		public IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+			super(referent, queue);
+			this.hashCode = System.identityHashCode(referent);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof IdentityKey)) {
+				return false;
+			}
+			Object referent = get();
+			return referent != null && referent == ((IdentityKey) obj).get();
+		}
+	}
+}
@@ -27,6 +27,7 @@ import com.j256.ormlite.support.ConnectionSource;
 public class TableInfo<T, ID> {
 
 	private static final FieldType[] NO_FOREIGN_COLLECTIONS = new FieldType[0];
+	private static final Object[] NO_CONSTRUCTOR_ARGS = new Object[0];
 
 	private final BaseDaoImpl<T, ID> baseDaoImpl;
 	private final Class<T> dataClass;
@@ -37,6 +38,7 @@ public class TableInfo<T, ID> {
 	private final Constructor<T> constructor;
 	private final boolean foreignAutoCreate;
 	private Map<String, FieldType> fieldNameMap;
+	private DirtyTracker<T> dirtyTracker;
 
 	/**
 	 * Creates a holder of information about a table/class.
@@ -194,7 +196,8 @@ public class TableInfo<T, ID> {
 				factory = baseDaoImpl.getObjectFactory();
 			}
 			if (factory == null) {
-				instance = constructor.newInstance();
+				// the shared empty array saves allocating the varargs array for every row
+				instance = constructor.newInstance(NO_CONSTRUCTOR_ARGS);
 			} else {
 				instance = factory.createObject(constructor, baseDaoImpl.getDataClass());
 			}
@@ -220,6 +223,20 @@ public class TableInfo<T, ID> {
 		return foreignAutoCreate;
 	}
 
+	/**
+	 * Return the tracker of the objects' field values if dirty tracking is enabled for the table or null if not.
+	 */
+	public DirtyTracker<T> getDirtyTracker() {
+		return dirtyTracker;
+	}
+
+	/**
+	 * Set the tracker of the objects' field values or null to disable dirty tracking.
+	 */
+	public void setDirtyTracker(DirtyTracker<T> dirtyTracker) {
+		this.dirtyTracker = dirtyTracker;
+	}
+
 	/**
 	 * Return an array with the fields that are {@link ForeignCollection}s or a blank array if none.
 	 */
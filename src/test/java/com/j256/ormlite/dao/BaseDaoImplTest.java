@@ -15,6 +15,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -27,11 +28,13 @@ import org.h2.api.Trigger;
 import org.junit.Test;
 
 import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao.BatchUpdateStatus;
 import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.h2.H2DatabaseType;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
@@ -76,6 +79,63 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		assertEquals(equal, result.equal);
 	}
 
+	@Test
+	public void testCreateBatch() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 10; i++) {
+			Foo foo = new Foo();
+			foo.equal = i;
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), dao.createBatch(foos));
+		for (Foo foo : foos) {
+			assertTrue(foo.id != 0);
+			Foo result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(foo.equal, result.equal);
+		}
+		assertEquals(foos.size(), dao.countOf());
+	}
+
+	@Test
+	public void testCreateBatchNullEmpty() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertEquals(0, dao.createBatch(null));
+		assertEquals(0, dao.createBatch(new ArrayList<Foo>()));
+		List<Foo> foos = new ArrayList<Foo>();
+		foos.add(null);
+		foos.add(new Foo());
+		assertEquals(1, dao.createBatch(foos));
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testCreateBatchVersion() throws Exception {
+		Dao<VersionField, Integer> dao = createDao(VersionField.class, true);
+		List<VersionField> foos = new ArrayList<VersionField>();
+		foos.add(new VersionField());
+		foos.add(new VersionField());
+		assertEquals(2, dao.createBatch(foos));
+		for (VersionField foo : foos) {
+			assertEquals(0, foo.version);
+			assertEquals(0, dao.queryForId(foo.id).version);
+		}
+	}
+
+	@Test
+	public void testCreateBatchCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		List<Foo> foos = new ArrayList<Foo>();
+		foos.add(new Foo());
+		foos.add(new Foo());
+		assertEquals(2, dao.createBatch(foos));
+		for (Foo foo : foos) {
+			assertSame(foo, dao.queryForId(foo.id));
+		}
+	}
+
 	@Test(expected = SQLException.class)
 	public void testQueryForIdThrow() throws Exception {
 		Dao<Foo, Integer> dao = createDao(Foo.class, true);
@@ -1106,6 +1166,121 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		assertEquals(foo2.equal, resultList.get(0).equal);
 	}
 
+	@Test
+	public void testQueryRawRowView() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		foo1.equal = 1231231232;
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		foo2.equal = 1231232;
+		assertEquals(1, dao.create(foo2));
+
+		final RawRowView[] views = new RawRowView[1];
+		GenericRawResults<Foo> results =
+				dao.queryRaw("SELECT " + Foo.ID_COLUMN_NAME + "," + Foo.EQUAL_COLUMN_NAME + " FROM FOO WHERE "
+						+ Foo.ID_COLUMN_NAME + " >= ? ORDER BY " + Foo.ID_COLUMN_NAME, new RawRowViewMapper<Foo>() {
+					public Foo mapRow(RawRowView row) throws SQLException {
+						assertEquals(2, row.getColumnCount());
+						assertEquals(2, row.getColumnNames().length);
+						if (views[0] == null) {
+							views[0] = row;
+						} else {
+							// the same view is used for every row
+							assertSame(views[0], row);
+						}
+						Foo foo = new Foo();
+						foo.id = row.getInt(0);
+						assertFalse(row.wasNull(0));
+						foo.equal = (int) row.getLong(1);
+						assertEquals(Integer.toString(foo.equal), row.getString(1));
+						return foo;
+					}
+				}, Integer.toString(foo1.id));
+		List<Foo> resultList = results.getResults();
+		assertEquals(2, resultList.size());
+		assertEquals(foo1.id, resultList.get(0).id);
+		assertEquals(foo1.equal, resultList.get(0).equal);
+		assertEquals(foo2.id, resultList.get(1).id);
+		assertEquals(foo2.equal, resultList.get(1).equal);
+
+		try {
+			// not valid after the row is mapped
+			views[0].getInt(0);
+			fail("Should have thrown");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testQueryRawColumnar() throws Exception {
+		Dao<Columnar, Integer> dao = createDao(Columnar.class, true);
+		// more than the initial capacity so the arrays grow
+		int rowN = 100;
+		for (int i = 0; i < rowN; i++) {
+			Columnar columnar = new Columnar();
+			if (i % 2 == 0) {
+				columnar.longObj = (long) i * 1000000000L;
+				columnar.stringField = "str" + i;
+			}
+			columnar.doubleField = i / 2.0;
+			columnar.date = new Date(i * 1000L);
+			assertEquals(1, dao.create(columnar));
+		}
+
+		ColumnarRawResults results =
+				dao.queryRawColumnar("SELECT " + Columnar.ID_FIELD + "," + Columnar.LONG_OBJ_FIELD + ","
+						+ Columnar.DOUBLE_FIELD + "," + Columnar.STRING_FIELD + "," + Columnar.DATE_FIELD + " FROM "
+						+ Columnar.class.getSimpleName() + " WHERE " + Columnar.ID_FIELD + " > ? ORDER BY "
+						+ Columnar.ID_FIELD, new DataType[] { DataType.INTEGER, DataType.LONG_OBJ, DataType.DOUBLE,
+						DataType.STRING, DataType.DATE }, "0");
+		assertEquals(rowN, results.getRowCount());
+		assertEquals(5, results.getColumnCount());
+		assertEquals(5, results.getColumnNames().length);
+		int[] ids = results.getIntColumn(0);
+		long[] longs = results.getLongColumn(1);
+		double[] doubles = results.getDoubleColumn(2);
+		String[] strings = results.getStringColumn(3);
+		Object[] dates = results.getObjectColumn(4);
+		assertEquals(rowN, ids.length);
+		assertEquals(rowN, dates.length);
+		for (int i = 0; i < rowN; i++) {
+			assertEquals(i + 1, ids[i]);
+			assertFalse(results.isNull(i, 0));
+			if (i % 2 == 0) {
+				assertEquals((long) i * 1000000000L, longs[i]);
+				assertFalse(results.isNull(i, 1));
+				assertEquals("str" + i, strings[i]);
+				assertFalse(results.isNull(i, 3));
+			} else {
+				assertEquals(0L, longs[i]);
+				assertTrue(results.isNull(i, 1));
+				assertNull(strings[i]);
+				assertTrue(results.isNull(i, 3));
+			}
+			assertEquals(i / 2.0, doubles[i], 0.0);
+			assertEquals(new Date(i * 1000L), dates[i]);
+		}
+		try {
+			results.getIntColumn(2);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testQueryRawColumnarEmpty() throws Exception {
+		Dao<Columnar, Integer> dao = createDao(Columnar.class, true);
+		ColumnarRawResults results =
+				dao.queryRawColumnar("SELECT " + Columnar.ID_FIELD + " FROM " + Columnar.class.getSimpleName(),
+						new DataType[0]);
+		assertEquals(0, results.getRowCount());
+		// columns without a data type are strings
+		assertEquals(0, results.getStringColumn(0).length);
+	}
+
 	@Test
 	public void testIsUpdatable() throws Exception {
 		Dao<Foo, Integer> dao = createDao(Foo.class, false);
@@ -2034,6 +2209,94 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		assertNull(dao.createIfNotExists(null));
 	}
 
+	@Test
+	public void testCreateBatchIfNotExists() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		foo1.equal = 198412893;
+		assertEquals(1, dao.create(foo1));
+
+		Foo other1 = new Foo();
+		other1.id = foo1.id;
+		Foo foo2 = new Foo();
+		foo2.equal = 2131;
+		Foo foo3 = new Foo();
+		foo3.equal = 5534;
+		List<Foo> foos = new ArrayList<Foo>();
+		foos.add(other1);
+		foos.add(foo2);
+		foos.add(null);
+		foos.add(foo3);
+		List<Foo> results = dao.createBatchIfNotExists(foos);
+		assertEquals(foos.size(), results.size());
+		// the first already exists so we should get the database copy
+		assertNotSame(other1, results.get(0));
+		assertEquals(foo1.id, results.get(0).id);
+		assertEquals(foo1.equal, results.get(0).equal);
+		assertSame(foo2, results.get(1));
+		assertNull(results.get(2));
+		assertSame(foo3, results.get(3));
+		assertEquals(3, dao.countOf());
+		assertEquals(foo2.equal, dao.queryForId(foo2.id).equal);
+		assertEquals(foo3.equal, dao.queryForId(foo3.id).equal);
+	}
+
+	@Test
+	public void testCreateBatchIfNotExistsSameId() throws Exception {
+		Dao<StringId, String> dao = createDao(StringId.class, true);
+		StringId foo1 = new StringId();
+		foo1.id = "foo";
+		StringId foo2 = new StringId();
+		foo2.id = foo1.id;
+		List<StringId> foos = new ArrayList<StringId>();
+		foos.add(foo1);
+		foos.add(foo2);
+		List<StringId> results = dao.createBatchIfNotExists(foos);
+		// only the first one is created
+		assertSame(foo1, results.get(0));
+		assertSame(foo1, results.get(1));
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testCreateBatchIfNotExistsChunked() throws Exception {
+		connectionSource.setDatabaseType(new MaxArgumentsDatabaseType());
+		Dao<StringId, String> dao = createDao(StringId.class, true);
+		List<StringId> foos = new ArrayList<StringId>();
+		for (int i = 0; i < 10; i++) {
+			StringId foo = new StringId();
+			foo.id = "foo" + i;
+			foos.add(foo);
+			if (i % 2 == 0) {
+				assertEquals(1, dao.create(foo));
+			}
+		}
+		List<StringId> others = new ArrayList<StringId>();
+		for (StringId foo : foos) {
+			StringId other = new StringId();
+			other.id = foo.id;
+			others.add(other);
+		}
+		List<StringId> results = dao.createBatchIfNotExists(others);
+		assertEquals(others.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			if (i % 2 == 0) {
+				assertNotSame(others.get(i), results.get(i));
+				assertEquals(foos.get(i).id, results.get(i).id);
+			} else {
+				assertSame(others.get(i), results.get(i));
+			}
+		}
+		assertEquals(foos.size(), dao.countOf());
+	}
+
+	@Test
+	public void testCreateBatchIfNotExistsNullEmpty() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertEquals(0, dao.createBatchIfNotExists(null).size());
+		assertEquals(0, dao.createBatchIfNotExists(new ArrayList<Foo>()).size());
+	}
+
 	@Test
 	public void testReplaceCache() throws Exception {
 		Dao<Foo, Object> dao = createDao(Foo.class, true);
@@ -2098,6 +2361,177 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		assertEquals(0, dao.update(foo1));
 	}
 
+	@Test
+	public void testUpdateCollection() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 10; i++) {
+			Foo foo = new Foo();
+			foo.equal = i;
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		for (Foo foo : foos) {
+			foo.equal += 100;
+		}
+		BatchUpdateStatus<Foo> status = dao.update(foos);
+		assertEquals(foos.size(), status.getNumLinesChanged());
+		assertTrue(status.isAllUpdated());
+		for (Foo foo : foos) {
+			assertEquals(foo.equal, dao.queryForId(foo.id).equal);
+		}
+	}
+
+	@Test
+	public void testUpdateCollectionNullEmpty() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		BatchUpdateStatus<Foo> status = dao.update((Collection<Foo>) null);
+		assertEquals(0, status.getNumLinesChanged());
+		assertTrue(status.isAllUpdated());
+		status = dao.update(new ArrayList<Foo>());
+		assertEquals(0, status.getNumLinesChanged());
+	}
+
+	@Test
+	public void testUpdateCollectionNotExists() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		foo2.id = foo1.id + 1000;
+		List<Foo> foos = new ArrayList<Foo>();
+		foos.add(foo1);
+		foos.add(foo2);
+		BatchUpdateStatus<Foo> status = dao.update(foos);
+		assertEquals(1, status.getNumLinesChanged());
+		assertFalse(status.isAllUpdated());
+		assertEquals(1, status.getFailedUpdates().size());
+		assertSame(foo2, status.getFailedUpdates().get(0));
+	}
+
+	@Test
+	public void testUpdateCollectionVersion() throws Exception {
+		Dao<VersionField, Integer> dao = createDao(VersionField.class, true);
+		VersionField foo1 = new VersionField();
+		assertEquals(1, dao.create(foo1));
+		VersionField foo2 = new VersionField();
+		assertEquals(1, dao.create(foo2));
+
+		// update the row behind the back of foo2 so its version no longer matches
+		VersionField result = dao.queryForId(foo2.id);
+		assertEquals(1, dao.update(result));
+
+		List<VersionField> foos = new ArrayList<VersionField>();
+		foos.add(foo1);
+		foos.add(foo2);
+		BatchUpdateStatus<VersionField> status = dao.update(foos);
+		assertEquals(1, status.getNumLinesChanged());
+		assertEquals(1, status.getFailedUpdates().size());
+		assertSame(foo2, status.getFailedUpdates().get(0));
+		// only the updated object moves to the next version
+		assertEquals(1, foo1.version);
+		assertEquals(0, foo2.version);
+		assertEquals(1, dao.queryForId(foo1.id).version);
+	}
+
+	@Test
+	public void testUpdateCollectionCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+
+		Foo other = new Foo();
+		other.id = foo.id;
+		other.equal = 12312;
+		List<Foo> foos = new ArrayList<Foo>();
+		foos.add(other);
+		assertEquals(1, dao.update(foos).getNumLinesChanged());
+		// the cached object should have been updated
+		assertEquals(other.equal, foo.equal);
+	}
+
+	@Test
+	public void testDirtyTrackingUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyTracking(true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		foo.equal = 2;
+		assertEquals(1, dao.create(foo));
+
+		Foo result = dao.queryForId(foo.id);
+		// change the row behind the back of the result
+		assertEquals(1, dao.updateRaw("UPDATE FOO SET " + Foo.EQUAL_COLUMN_NAME + " = 20 WHERE " + Foo.ID_COLUMN_NAME
+				+ " = ?", Integer.toString(foo.id)));
+		result.val = 10;
+		assertEquals(1, dao.update(result));
+
+		result = dao.queryForId(foo.id);
+		assertEquals(10, result.val);
+		// only the changed column should have been set
+		assertEquals(20, result.equal);
+	}
+
+	@Test
+	public void testDirtyTrackingNoChange() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyTracking(true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+		assertEquals(0, dao.update(foo));
+
+		foo.val = 2;
+		assertEquals(1, dao.update(foo));
+		assertEquals(0, dao.update(foo));
+
+		// without tracking we always update
+		dao.setDirtyTracking(false);
+		assertEquals(1, dao.update(foo));
+	}
+
+	@Test
+	public void testDirtyTrackingNotTracked() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		dao.setDirtyTracking(true);
+		// we don't have a snapshot of this object so it is updated in full
+		assertEquals(1, dao.update(foo));
+		assertEquals(0, dao.update(foo));
+	}
+
+	@Test
+	public void testDirtyTrackingVersion() throws Exception {
+		Dao<VersionField, Integer> dao = createDao(VersionField.class, true);
+		dao.setDirtyTracking(true);
+		VersionField foo = new VersionField();
+		assertEquals(1, dao.create(foo));
+
+		VersionField result = dao.queryForId(foo.id);
+		assertEquals(0, dao.update(result));
+		assertEquals(0, result.version);
+
+		result.stuff1 = "changed";
+		assertEquals(1, dao.update(result));
+		assertEquals(1, result.version);
+		// foo has the old version so it can't update the row
+		foo.stuff2 = "other";
+		assertEquals(0, dao.update(foo));
+
+		result = dao.queryForId(foo.id);
+		assertEquals("changed", result.stuff1);
+		assertNull(result.stuff2);
+		assertEquals(1, result.version);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testDirtyTrackingNoId() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, true);
+		dao.setDirtyTracking(true);
+	}
+
 	@Test
 	public void testVersionFieldNonDefault() throws Exception {
 		Dao<VersionField, Integer> dao = createDao(VersionField.class, true);
@@ -2644,6 +3078,25 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		}
 	}
 
+	protected static class StringId {
+		@DatabaseField(id = true)
+		String id;
+		@DatabaseField
+		String stuff;
+		public StringId() {
+		}
+	}
+
+	private static class MaxArgumentsDatabaseType extends H2DatabaseType {
+		public MaxArgumentsDatabaseType() throws SQLException {
+			super();
+		}
+		@Override
+		public int getMaxStatementArguments() {
+			return 3;
+		}
+	}
+
 	protected static class VersionField {
 		@DatabaseField(generatedId = true)
 		public int id;
@@ -2844,6 +3297,26 @@ public class BaseDaoImplTest extends BaseCoreTest {
 	protected static class ForeignSubClass extends ForeignIntId {
 	}
 
+	protected static class Columnar {
+		public static final String ID_FIELD = "id";
+		public static final String LONG_OBJ_FIELD = "longobj";
+		public static final String DOUBLE_FIELD = "doublefield";
+		public static final String STRING_FIELD = "stringfield";
+		public static final String DATE_FIELD = "datefield";
+		@DatabaseField(generatedId = true, columnName = ID_FIELD)
+		int id;
+		@DatabaseField(columnName = LONG_OBJ_FIELD)
+		Long longObj;
+		@DatabaseField(columnName = DOUBLE_FIELD)
+		double doubleField;
+		@DatabaseField(columnName = STRING_FIELD)
+		String stringField;
+		@DatabaseField(columnName = DATE_FIELD)
+		Date date;
+		public Columnar() {
+		}
+	}
+
 	public static class FooFactory implements ObjectFactory<Foo> {
 
 		final List<Foo> fooList = new ArrayList<Foo>();
@@ -0,0 +1,139 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+
+public class BulkLoaderTest extends BaseCoreTest {
+
+	@Test
+	public void testLoad() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 25; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foos.add(foo);
+		}
+		BulkLoader<Foo> loader = new BulkLoader<Foo>(dao);
+		loader.setBatchSize(10);
+		loader.setCommitRows(20);
+		assertEquals(foos.size(), loader.load(foos.iterator()));
+		assertEquals(foos.size(), loader.getRowCount());
+		assertEquals(3, loader.getBatchCount());
+		// one commit after 20 rows and one at the end
+		assertEquals(2, loader.getCommitCount());
+		assertEquals(0, loader.getBatchesInFlight());
+		assertTrue(loader.getRowsPerSecond() > 0);
+		assertEquals(foos.size(), dao.countOf());
+		for (Foo foo : foos) {
+			assertEquals(foo.val, dao.queryForId(foo.id).val);
+		}
+	}
+
+	@Test
+	public void testLoadEmpty() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		BulkLoader<Foo> loader = new BulkLoader<Foo>(dao);
+		assertEquals(0, loader.load(new ArrayList<Foo>().iterator()));
+		assertEquals(0, loader.getBatchCount());
+		// no empty transaction
+		assertEquals(0, loader.getCommitCount());
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testLoadWithNulls() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 10; i++) {
+			foos.add(i % 2 == 0 ? new Foo() : null);
+		}
+		BulkLoader<Foo> loader = new BulkLoader<Foo>(dao);
+		loader.setBatchSize(4);
+		// the nulls are skipped so they are not counted as inserted
+		assertEquals(5, loader.load(foos.iterator()));
+		assertEquals(5, loader.getRowCount());
+		assertEquals(5, dao.countOf());
+	}
+
+	@Test
+	public void testLoadEndsOnCommit() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 20; i++) {
+			foos.add(new Foo());
+		}
+		BulkLoader<Foo> loader = new BulkLoader<Foo>(dao);
+		loader.setBatchSize(10);
+		loader.setCommitRows(20);
+		assertEquals(foos.size(), loader.load(foos.iterator()));
+		assertEquals(2, loader.getBatchCount());
+		assertEquals(1, loader.getCommitCount());
+		assertEquals(foos.size(), dao.countOf());
+	}
+
+	@Test
+	public void testLoadIteratorThrows() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		BulkLoader<Foo> loader = new BulkLoader<Foo>(dao);
+		loader.setBatchSize(2);
+		loader.setCommitRows(2);
+		try {
+			loader.load(new ThrowingIterator(5, new IllegalStateException("Testing iterator failure")));
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		// the rows from the committed transactions stay in the database
+		assertEquals(loader.getCommitCount() * 2, dao.countOf());
+	}
+
+	@Test
+	public void testLoadIteratorThrowsError() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		BulkLoader<Foo> loader = new BulkLoader<Foo>(dao);
+		loader.setBatchSize(2);
+		try {
+			loader.load(new ThrowingIterator(5, new AssertionError("Testing iterator error")));
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			assertTrue(e.getCause() instanceof AssertionError);
+		}
+	}
+
+	private static class ThrowingIterator implements Iterator<Foo> {
+		private final int throwAfter;
+		private final Throwable throwable;
+		private int count;
+		public ThrowingIterator(int throwAfter, Throwable throwable) {
+			this.throwAfter = throwAfter;
+			this.throwable = throwable;
+		}
+		public boolean hasNext() {
+			return true;
+		}
+		public Foo next() {
+			if (++count > throwAfter) {
+				if (throwable instanceof Error) {
+					throw (Error) throwable;
+				} else {
+					throw (RuntimeException) throwable;
+				}
+			}
+			return new Foo();
+		}
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ConcurrentLruObjectCacheTest extends BaseObjectCacheTest {
+
+	@Test
+	public void testStuff() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		// small enough that there is only one segment so the ordering is exact
+		ConcurrentLruObjectCache cache = new ConcurrentLruObjectCache(2);
+		dao.setObjectCache(cache);
+
+		Foo foo1 = new Foo();
+		foo1.val = 12312321;
+		assertEquals(1, dao.create(foo1));
+		assertEquals(1, cache.size(Foo.class));
+
+		Foo foo2 = new Foo();
+		foo2.val = 21234761;
+		assertEquals(1, dao.create(foo2));
+		assertEquals(2, cache.size(Foo.class));
+
+		// touch foo1 so foo2 is the eldest
+		assertSame(foo1, dao.queryForId(foo1.id));
+
+		Foo foo3 = new Foo();
+		foo3.val = 79834761;
+		assertEquals(1, dao.create(foo3));
+		assertEquals(2, cache.size(Foo.class));
+
+		assertSame(foo1, dao.queryForId(foo1.id));
+		assertSame(foo3, dao.queryForId(foo3.id));
+		assertNotSame(foo2, dao.queryForId(foo2.id));
+	}
+
+	@Test
+	public void testCapacityAcrossSegments() {
+		int capacity = 100;
+		ConcurrentLruObjectCache cache = new ConcurrentLruObjectCache(capacity, 4);
+		cache.registerClass(Foo.class);
+		for (int i = 0; i < capacity * 10; i++) {
+			Foo foo = new Foo();
+			foo.id = i;
+			cache.put(Foo.class, i, foo);
+		}
+		assertEquals(capacity, cache.size(Foo.class));
+		assertEquals(capacity, cache.sizeAll());
+		cache.clear(Foo.class);
+		assertEquals(0, cache.size(Foo.class));
+	}
+
+	@Test
+	public void testUpdateIdAndRemove() {
+		ConcurrentLruObjectCache cache = new ConcurrentLruObjectCache(1000);
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertNull(cache.updateId(Foo.class, 2, 3));
+		assertSame(foo, cache.updateId(Foo.class, 1, 1000));
+		assertNull(cache.get(Foo.class, 1));
+		assertSame(foo, cache.get(Foo.class, 1000));
+		cache.remove(Foo.class, 1000);
+		assertNull(cache.get(Foo.class, 1000));
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testNotRegistered() {
+		ConcurrentLruObjectCache cache = new ConcurrentLruObjectCache(10);
+		cache.put(Foo.class, 1, new Foo());
+		assertNull(cache.get(Foo.class, 1));
+		assertNull(cache.updateId(Foo.class, 1, 2));
+		assertEquals(0, cache.size(Foo.class));
+	}
+
+	@Test
+	public void testStats() {
+		// small enough that there is only one segment so the ordering is exact
+		ConcurrentLruObjectCache cache = new ConcurrentLruObjectCache(2);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Parent.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		cache.put(Foo.class, 2, foo);
+		cache.put(Foo.class, 3, foo);
+		assertSame(foo, cache.get(Foo.class, 3));
+		assertNull(cache.get(Foo.class, 1));
+		// looking again without counting a hit or a miss
+		assertSame(foo, cache.getWithoutStats(Foo.class, 3));
+		assertNull(cache.getWithoutStats(Foo.class, 1));
+		cache.remove(Foo.class, 2);
+		// not there so not counted
+		cache.remove(Foo.class, 2);
+		cache.recordLoad(Foo.class, 100);
+		cache.put(Parent.class, 1, new Parent());
+
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(3, stats.getPutCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(1, stats.getRemovalCount());
+		assertEquals(1, stats.getLoadCount());
+		assertEquals(100, stats.getTotalLoadNanos());
+		assertEquals(4, cache.getStatsAll().getPutCount());
+		assertEquals(0, cache.getStats(Child.class).getPutCount());
+
+		cache.resetStats();
+		assertEquals(0, cache.getStats(Foo.class).getPutCount());
+		assertEquals(0, cache.getStatsAll().getHitCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroCapacity() {
+		new ConcurrentLruObjectCache(0);
+	}
+
+	@Override
+	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
+		ConcurrentLruObjectCache cache = new ConcurrentLruObjectCache(10);
+		dao.setObjectCache(cache);
+		return cache;
+	}
+}
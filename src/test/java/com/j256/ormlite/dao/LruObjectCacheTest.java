@@ -2,6 +2,7 @@ package com.j256.ormlite.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
@@ -99,6 +100,72 @@ public class LruObjectCacheTest extends BaseObjectCacheTest {
 		assertSame(foo2, foo3);
 	}
 
+	@Test
+	public void testStats() {
+		LruObjectCache cache = new LruObjectCache(2);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Parent.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		cache.put(Foo.class, 2, foo);
+		cache.put(Foo.class, 3, foo);
+		assertSame(foo, cache.get(Foo.class, 3));
+		assertNull(cache.get(Foo.class, 1));
+		// looking again without counting a hit or a miss
+		assertSame(foo, cache.getWithoutStats(Foo.class, 3));
+		assertNull(cache.getWithoutStats(Foo.class, 1));
+		cache.remove(Foo.class, 2);
+		// not there so not counted
+		cache.remove(Foo.class, 2);
+		cache.recordLoad(Foo.class, 100);
+		cache.put(Parent.class, 1, new Parent());
+
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(3, stats.getPutCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(1, stats.getRemovalCount());
+		assertEquals(1, stats.getLoadCount());
+		assertEquals(100, stats.getTotalLoadNanos());
+		assertEquals(0.5, stats.getHitRate(), 0.0);
+		assertEquals(4, cache.getStatsAll().getPutCount());
+		assertEquals(0, cache.getStats(Child.class).getPutCount());
+
+		cache.resetStats();
+		assertEquals(0, cache.getStats(Foo.class).getPutCount());
+		assertEquals(0, cache.getStatsAll().getHitCount());
+	}
+
+	@Test
+	public void testStatsLoad() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		LruObjectCache cache = new LruObjectCache(10);
+		dao.setObjectCache(cache);
+
+		assertNotSame(foo, dao.queryForId(foo.id));
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getLoadCount());
+		assertEquals(1, stats.getPutCount());
+		// the miss is only counted once even though the row is mapped after the lookup
+		assertEquals(1, stats.getMissCount());
+
+		dao.queryForId(foo.id);
+		dao.queryForAll();
+		stats = cache.getStats(Foo.class);
+		// both found it in the cache so no more loads
+		assertEquals(1, stats.getLoadCount());
+		assertEquals(2, stats.getHitCount());
+
+		cache.clearAll();
+		dao.queryForAll();
+		stats = cache.getStats(Foo.class);
+		assertEquals(2, stats.getLoadCount());
+		assertEquals(2, stats.getMissCount());
+	}
+
 	@Override
 	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
 		LruObjectCache cache = new LruObjectCache(10);
@@ -0,0 +1,208 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+
+public class MissingIdCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testQueryForIdMissCached() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		TestMissingIdCache cache = new TestMissingIdCache(100, 1000);
+		dao.setMissingIdCache(cache);
+		assertSame(cache, dao.getMissingIdCache());
+		// another dao which doesn't know about the cache
+		Dao<Foo, Integer> otherDao = BaseDaoImpl.createDao(connectionSource, Foo.class);
+
+		assertNull(dao.queryForId(1));
+		assertEquals(1, cache.size(Foo.class));
+		Foo foo1 = new Foo();
+		assertEquals(1, otherDao.create(foo1));
+		assertEquals(1, foo1.id);
+		// we remember that it was missing
+		assertNull(dao.queryForId(foo1.id));
+
+		// until the time-to-live runs out
+		cache.now += 1000;
+		assertNotNull(dao.queryForId(foo1.id));
+		assertEquals(0, cache.size(Foo.class));
+
+		// creating through the dao drops the id
+		assertNull(dao.queryForId(foo1.id + 1));
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		assertEquals(foo1.id + 1, foo2.id);
+		assertNotNull(dao.queryForId(foo2.id));
+
+		// the next generated id
+		int foo3Id = foo2.id + 1;
+
+		// as does changing the id
+		int newId = foo2.id + 100;
+		assertNull(dao.queryForId(newId));
+		assertEquals(1, dao.updateId(foo2, newId));
+		assertNotNull(dao.queryForId(newId));
+
+		// and create-or-update of a row that was created elsewhere
+		assertNull(dao.queryForId(foo3Id));
+		Foo foo3 = new Foo();
+		assertEquals(1, otherDao.create(foo3));
+		assertEquals(foo3Id, foo3.id);
+		assertNull(dao.queryForId(foo3.id));
+		dao.createOrUpdate(foo3);
+		assertNotNull(dao.queryForId(foo3.id));
+
+		dao.setMissingIdCache(null);
+		assertNull(dao.queryForId(newId + 1));
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testQueryForIdObjectCacheFirst() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		MissingIdCache cache = new MissingIdCache(100, 100000);
+		dao.setMissingIdCache(cache);
+		Dao<Foo, Integer> otherDao = BaseDaoImpl.createDao(connectionSource, Foo.class);
+
+		assertNull(dao.queryForId(1));
+		Foo foo = new Foo();
+		assertEquals(1, otherDao.create(foo));
+		assertEquals(1, foo.id);
+		assertNull(dao.queryForId(foo.id));
+		// another query puts the row into the object cache
+		assertEquals(1, dao.queryForAll().size());
+		assertNotNull(dao.queryForId(foo.id));
+		assertEquals(0, cache.size(Foo.class));
+	}
+
+	@Test
+	public void testCreateBatchWithNull() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		MissingIdCache cache = new MissingIdCache(100, 100000);
+		dao.setMissingIdCache(cache);
+		List<Foo> foos = new ArrayList<Foo>();
+		foos.add(new Foo());
+		foos.add(null);
+		assertEquals(1, dao.createBatch(foos));
+		assertNotNull(dao.queryForId(foos.get(0).id));
+	}
+
+	@Test
+	public void testTtl() {
+		TestMissingIdCache cache = new TestMissingIdCache(10, 100);
+		cache.setTtlMillis(Foo.class, 10);
+		cache.setTtlMillis(Bar.class, 0);
+		cache.putMissing(Foo.class, 1, cache.getVersion(Foo.class));
+		cache.putMissing(Bar.class, 1, cache.getVersion(Bar.class));
+		cache.putMissing(Baz.class, 1, cache.getVersion(Baz.class));
+		assertTrue(cache.isMissing(Foo.class, 1));
+		assertFalse(cache.isMissing(Foo.class, 2));
+		// time-to-live of 0 means not cached
+		assertFalse(cache.isMissing(Bar.class, 1));
+		assertTrue(cache.isMissing(Baz.class, 1));
+
+		cache.now += 10;
+		assertFalse(cache.isMissing(Foo.class, 1));
+		assertTrue(cache.isMissing(Baz.class, 1));
+		cache.now += 90;
+		assertFalse(cache.isMissing(Baz.class, 1));
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testInvalidate() {
+		MissingIdCache cache = new MissingIdCache(10, 100);
+		cache.putMissing(Foo.class, 1, cache.getVersion(Foo.class));
+		cache.putMissing(Foo.class, 2, cache.getVersion(Foo.class));
+		cache.putMissing(Bar.class, 1, cache.getVersion(Bar.class));
+		cache.invalidate(Foo.class, 1);
+		assertFalse(cache.isMissing(Foo.class, 1));
+		assertTrue(cache.isMissing(Foo.class, 2));
+		assertTrue(cache.isMissing(Bar.class, 1));
+
+		cache.clear(Foo.class);
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(1, cache.size(Bar.class));
+		cache.clearAll();
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testStaleMissNotStored() {
+		MissingIdCache cache = new MissingIdCache(10, 100);
+		// read before the query was run
+		long version = cache.getVersion(Foo.class);
+		// an object was created while the query was running
+		cache.invalidate(Foo.class, null);
+		cache.putMissing(Foo.class, 1, version);
+		assertFalse(cache.isMissing(Foo.class, 1));
+
+		version = cache.getVersion(Foo.class);
+		cache.clear(Foo.class);
+		cache.putMissing(Foo.class, 1, version);
+		assertFalse(cache.isMissing(Foo.class, 1));
+
+		version = cache.getVersion(Foo.class);
+		cache.clearAll();
+		cache.putMissing(Foo.class, 1, version);
+		assertFalse(cache.isMissing(Foo.class, 1));
+
+		// other classes are not affected
+		version = cache.getVersion(Foo.class);
+		cache.invalidate(Bar.class, 1);
+		cache.putMissing(Foo.class, 1, version);
+		assertTrue(cache.isMissing(Foo.class, 1));
+	}
+
+	@Test
+	public void testLru() {
+		MissingIdCache cache = new MissingIdCache(2, 100);
+		cache.putMissing(Foo.class, 1, cache.getVersion(Foo.class));
+		cache.putMissing(Foo.class, 2, cache.getVersion(Foo.class));
+		// touch 1 so 2 is the eldest
+		assertTrue(cache.isMissing(Foo.class, 1));
+		cache.putMissing(Bar.class, 1, cache.getVersion(Bar.class));
+		assertFalse(cache.isMissing(Foo.class, 2));
+		assertTrue(cache.isMissing(Foo.class, 1));
+		assertEquals(2, cache.sizeAll());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroCapacity() {
+		new MissingIdCache(0, 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeTtl() {
+		new MissingIdCache(10, 100).setTtlMillis(Foo.class, -1);
+	}
+
+	private static class Bar {
+	}
+
+	private static class Baz {
+	}
+
+	private static class TestMissingIdCache extends MissingIdCache {
+		long now = 1000;
+		public TestMissingIdCache(int capacity, long defaultTtlMillis) {
+			super(capacity, defaultTtlMillis);
+		}
+		@Override
+		protected long currentTimeMillis() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.j256.ormlite.dao;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hand-rolled benchmark of a number of threads hitting {@link LruObjectCache} and {@link ConcurrentLruObjectCache} at
+ * the same time with a mostly-read workload. This is not run as part of the tests. Run it with the test class-path:
+ * 
+ * <pre>
+ * java com.j256.ormlite.dao.ObjectCacheConcurrencyBenchmark [threads] [millis-per-run]
+ * </pre>
+ * 
+ * @author graywatson
+ */
+public class ObjectCacheConcurrencyBenchmark {
+
+	private static final int DEFAULT_THREADS = 32;
+	private static final int DEFAULT_MILLIS = 2000;
+	private static final int ROUNDS = 3;
+	private static final int CAPACITY = 10000;
+	private static final int ID_RANGE = 20000;
+	// out of 100 operations, how many are puts
+	private static final int PUT_PERCENT = 10;
+
+	public static void main(String[] args) throws Exception {
+		int threads = DEFAULT_THREADS;
+		if (args.length > 0) {
+			threads = Integer.parseInt(args[0]);
+		}
+		int millis = DEFAULT_MILLIS;
+		if (args.length > 1) {
+			millis = Integer.parseInt(args[1]);
+		}
+		for (int round = 0; round < ROUNDS; round++) {
+			System.out.println("round " + (round + 1) + ", " + threads + " threads:");
+			run("lru", new LruObjectCache(CAPACITY), threads, millis);
+			run("concurrent-lru", new ConcurrentLruObjectCache(CAPACITY), threads, millis);
+		}
+	}
+
+	private static void run(String label, final ObjectCache cache, int threadN, final int millis)
+			throws InterruptedException {
+		cache.registerClass(Foo.class);
+		for (int i = 0; i < CAPACITY; i++) {
+			cache.put(Foo.class, i, new Foo(i));
+		}
+		final AtomicLong opCount = new AtomicLong();
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		Thread[] threads = new Thread[threadN];
+		for (int i = 0; i < threadN; i++) {
+			final long seed = i;
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					Random random = new Random(seed);
+					long ops = 0;
+					try {
+						startLatch.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					long end = System.currentTimeMillis() + millis;
+					while (System.currentTimeMillis() < end) {
+						// check the clock every so often
+						for (int j = 0; j < 1000; j++) {
+							int id = random.nextInt(ID_RANGE);
+							if (random.nextInt(100) < PUT_PERCENT) {
+								cache.put(Foo.class, id, new Foo(id));
+							} else {
+								cache.get(Foo.class, id);
+							}
+						}
+						ops += 1000;
+					}
+					opCount.addAndGet(ops);
+				}
+			});
+			threads[i].start();
+		}
+		startLatch.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		System.out.printf("  %-15s %8.2f million ops/sec%n", label, opCount.get() / (millis * 1000.0));
+	}
+
+	private static class Foo {
+		@SuppressWarnings("unused")
+		final int id;
+		public Foo(int id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.QueryResultCache.CacheKey;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+
+public class QueryResultCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testQueryCached() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		QueryResultCache cache = new QueryResultCache(100, 60000);
+		dao.setQueryResultCache(cache);
+		assertSame(cache, dao.getQueryResultCache());
+
+		Foo foo1 = new Foo();
+		foo1.val = 1;
+		assertEquals(1, dao.create(foo1));
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, foo1.val);
+		PreparedQuery<Foo> preparedQuery = qb.prepare();
+		List<Foo> results1 = dao.query(preparedQuery);
+		assertEquals(1, results1.size());
+		assertNotSame(foo1, results1.get(0));
+		assertEquals(1, cache.sizeAll());
+
+		// the objects are read back by id so changes to the ones we were given are not seen by other callers
+		int val = results1.get(0).val;
+		results1.get(0).val = val + 100;
+		List<Foo> results2 = dao.query(preparedQuery);
+		assertEquals(1, cache.sizeAll());
+		assertEquals(1, results2.size());
+		assertNotSame(results1.get(0), results2.get(0));
+		assertEquals(foo1.id, results2.get(0).id);
+		assertEquals(val, results2.get(0).val);
+		Foo first = dao.queryForFirst(preparedQuery);
+		assertNotSame(results2.get(0), first);
+		assertEquals(foo1.id, first.id);
+		assertEquals(1, dao.countOf(dao.queryBuilder().setCountOf(true).prepare()));
+
+		// a different argument is a different key
+		qb.where().eq(Foo.VAL_COLUMN_NAME, foo1.val + 1);
+		assertEquals(0, dao.query(qb.prepare()).size());
+		assertNull(dao.queryForFirst(qb.prepare()));
+
+		// changing the table drops the results
+		Foo foo2 = new Foo();
+		foo2.val = foo1.val + 1;
+		assertEquals(1, dao.create(foo2));
+		assertEquals(0, cache.sizeAll());
+		List<Foo> results3 = dao.query(preparedQuery);
+		assertEquals(1, results3.size());
+		assertNotSame(results1.get(0), results3.get(0));
+		assertEquals(1, dao.query(qb.prepare()).size());
+		assertEquals(2, dao.countOf(dao.queryBuilder().setCountOf(true).prepare()));
+
+		dao.delete(foo2);
+		assertEquals(0, dao.query(qb.prepare()).size());
+
+		dao.updateRaw("DELETE FROM foo");
+		assertEquals(0, dao.query(preparedQuery).size());
+
+		dao.setQueryResultCache(null);
+		assertEquals(0, dao.query(preparedQuery).size());
+	}
+
+	@Test
+	public void testQueryCachedWithObjectCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		QueryResultCache cache = new QueryResultCache(100, 60000);
+		dao.setQueryResultCache(cache);
+
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().prepare();
+		List<Foo> results1 = dao.query(preparedQuery);
+		assertEquals(1, results1.size());
+		// shared through the object cache as they would be without the query result cache
+		assertSame(results1.get(0), dao.query(preparedQuery).get(0));
+	}
+
+	@Test
+	public void testQueryCachedRowGone() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		QueryResultCache cache = new QueryResultCache(100, 60000);
+		dao.setQueryResultCache(cache);
+		// another dao which doesn't know about the cache
+		Dao<Foo, Integer> otherDao = BaseDaoImpl.createDao(connectionSource, Foo.class);
+
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().prepare();
+		assertEquals(2, dao.query(preparedQuery).size());
+		assertEquals(1, cache.sizeAll());
+
+		// one of the cached ids is gone so the query is run again
+		assertEquals(1, otherDao.delete(foo1));
+		List<Foo> results = dao.query(preparedQuery);
+		assertEquals(1, results.size());
+		assertEquals(foo2.id, results.get(0).id);
+	}
+
+	@Test
+	public void testSelectColumnsNotCached() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		QueryResultCache cache = new QueryResultCache(100, 60000);
+		dao.setQueryResultCache(cache);
+
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.selectColumns(Foo.VAL_COLUMN_NAME);
+		assertEquals(1, dao.query(qb.prepare()).size());
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testInvalidate() {
+		QueryResultCache cache = new QueryResultCache(10, 60000);
+		CacheKey fooKey = new CacheKey("foo", "query", "select 1", new Object[] { 1 });
+		CacheKey barKey = new CacheKey("bar", "query", "select 1", new Object[] { 1 });
+		cache.put(fooKey, "foo-result", cache.getVersion("foo"));
+		cache.put(barKey, "bar-result", cache.getVersion("bar"));
+		assertEquals("foo-result", cache.get(new CacheKey("foo", "query", "select 1", new Object[] { 1 })));
+		assertNull(cache.get(new CacheKey("foo", "query", "select 1", new Object[] { 2 })));
+		assertNull(cache.get(new CacheKey("foo", "queryForFirst", "select 1", new Object[] { 1 })));
+
+		cache.invalidate("foo");
+		assertNull(cache.get(fooKey));
+		assertEquals("bar-result", cache.get(barKey));
+		assertEquals(0, cache.size("foo"));
+		assertEquals(1, cache.size("bar"));
+
+		cache.clearAll();
+		assertNull(cache.get(barKey));
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testStaleResultNotStored() {
+		QueryResultCache cache = new QueryResultCache(10, 60000);
+		CacheKey key = new CacheKey("foo", "query", "select 1", new Object[0]);
+		// read before the query was run
+		long version = cache.getVersion("foo");
+		// the table is changed while the query was running
+		cache.invalidate("foo");
+		cache.put(key, "stale", version);
+		assertNull(cache.get(key));
+
+		version = cache.getVersion("foo");
+		cache.clearAll();
+		cache.put(key, "stale", version);
+		assertNull(cache.get(key));
+
+		cache.put(key, "fresh", cache.getVersion("foo"));
+		assertEquals("fresh", cache.get(key));
+	}
+
+	@Test
+	public void testLru() {
+		QueryResultCache cache = new QueryResultCache(2, 60000);
+		CacheKey key1 = new CacheKey("foo", "query", "select 1", new Object[0]);
+		CacheKey key2 = new CacheKey("foo", "query", "select 2", new Object[0]);
+		CacheKey key3 = new CacheKey("bar", "query", "select 3", new Object[0]);
+		cache.put(key1, 1, cache.getVersion("foo"));
+		cache.put(key2, 2, cache.getVersion("foo"));
+		// touch key1 so key2 is the eldest
+		assertEquals(1, cache.get(key1));
+		cache.put(key3, 3, cache.getVersion("bar"));
+		assertNull(cache.get(key2));
+		assertEquals(1, cache.size("foo"));
+		assertEquals(1, cache.size("bar"));
+		assertEquals(2, cache.sizeAll());
+	}
+
+	@Test
+	public void testExpireAfterWrite() {
+		TestQueryResultCache cache = new TestQueryResultCache(10, 100);
+		CacheKey key = new CacheKey("foo", "query", "select 1", new Object[0]);
+		cache.put(key, "result", cache.getVersion("foo"));
+		cache.now += 99;
+		assertEquals("result", cache.get(key));
+		cache.now += 1;
+		assertNull(cache.get(key));
+		assertEquals(0, cache.size("foo"));
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroCapacity() {
+		new QueryResultCache(0, 60000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroExpireAfterWrite() {
+		new QueryResultCache(10, 0);
+	}
+
+	private static class TestQueryResultCache extends QueryResultCache {
+
+		long now = 1000;
+
+		public TestQueryResultCache(int capacity, long expireAfterWriteMillis) {
+			super(capacity, expireAfterWriteMillis);
+		}
+
+		@Override
+		protected long currentTimeMillis() {
+			return now;
+		}
+	}
+}
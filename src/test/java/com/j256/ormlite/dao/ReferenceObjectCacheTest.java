@@ -1,8 +1,14 @@
 package com.j256.ormlite.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -59,7 +65,8 @@ public class ReferenceObjectCacheTest extends BaseObjectCacheTest {
 		foo = null;
 		result = null;
 		System.gc();
-		assertEquals(1, cache.size(Foo.class));
+		// the entry may already have been removed through the reference queue
+		assertTrue(cache.size(Foo.class) <= 1);
 		cache.cleanNullReferences(Foo.class);
 		assertEquals(0, cache.size(Foo.class));
 	}
@@ -87,7 +94,8 @@ public class ReferenceObjectCacheTest extends BaseObjectCacheTest {
 		foo = null;
 		result = null;
 		System.gc();
-		assertEquals(1, cache.size(Foo.class));
+		// the entry may already have been removed through the reference queue
+		assertTrue(cache.size(Foo.class) <= 1);
 
 		// this will cause a cache miss because of a null reference
 		result = dao.queryForId(id);
@@ -118,7 +126,8 @@ public class ReferenceObjectCacheTest extends BaseObjectCacheTest {
 		foo = null;
 		result = null;
 		System.gc();
-		assertEquals(1, cache.size(Foo.class));
+		// the entry may already have been removed through the reference queue
+		assertTrue(cache.size(Foo.class) <= 1);
 
 		// this will cause a cache miss because of a null reference
 		result = dao.queryForId(id);
@@ -150,6 +159,124 @@ public class ReferenceObjectCacheTest extends BaseObjectCacheTest {
 		assertEquals(1, cache.size(Foo.class));
 	}
 
+	@Test
+	public void testWeakReclaimedByQueue() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertEquals(1, cache.size(Foo.class));
+		assertEquals(0, cache.getReclaimedCount());
+
+		foo = null;
+		// no cleanNullReferences call, the queue removes the entry
+		for (int i = 0; i < 100 && cache.sizeAll() > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(1, cache.getReclaimedCount());
+	}
+
+	@Test
+	public void testWeakUpdateIdReclaimed() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertSame(foo, cache.updateId(Foo.class, 1, 2));
+		assertSame(foo, cache.get(Foo.class, 2));
+
+		foo = null;
+		for (int i = 0; i < 100 && cache.sizeAll() > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		// the entry under the new id is removed
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(1, cache.getReclaimedCount());
+	}
+
+	@Test
+	public void testWeakReaper() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		cache.startReaper();
+		try {
+			cache.put(Foo.class, 1, new Foo());
+			for (int i = 0; i < 100 && cache.getReclaimedCount() == 0; i++) {
+				System.gc();
+				Thread.sleep(10);
+			}
+			assertEquals(1, cache.getReclaimedCount());
+			assertEquals(0, cache.size(Foo.class));
+		} finally {
+			cache.stopReaper();
+		}
+	}
+
+	@Test
+	public void testReaperStopsWhenCacheFreed() throws Exception {
+		Set<Thread> before = findReaperThreads();
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.startReaper();
+		Set<Thread> reapers = findReaperThreads();
+		reapers.removeAll(before);
+		assertEquals(1, reapers.size());
+		Thread reaper = reapers.iterator().next();
+		// forget the cache without stopping the reaper
+		cache = null;
+		for (int i = 0; i < 100 && reaper.isAlive(); i++) {
+			System.gc();
+			reaper.join(100);
+		}
+		assertFalse(reaper.isAlive());
+	}
+
+	private Set<Thread> findReaperThreads() {
+		Set<Thread> threads = new HashSet<Thread>();
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals(ReferenceObjectCache.class.getSimpleName() + "-reaper")) {
+				threads.add(thread);
+			}
+		}
+		return threads;
+	}
+
+	@Test
+	public void testStats() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		cache.put(Foo.class, 2, new Foo());
+		assertSame(foo, cache.get(Foo.class, 1));
+		assertNull(cache.get(Foo.class, 3));
+		// looking again without counting a hit or a miss
+		assertSame(foo, cache.getWithoutStats(Foo.class, 1));
+		assertNull(cache.getWithoutStats(Foo.class, 3));
+		cache.remove(Foo.class, 1);
+		cache.recordLoad(Foo.class, 10);
+		for (int i = 0; i < 100 && cache.sizeAll() > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(2, stats.getPutCount());
+		// the second one was freed by the GC
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(1, stats.getRemovalCount());
+		assertEquals(1, stats.getLoadCount());
+		assertEquals(10, stats.getTotalLoadNanos());
+		assertEquals(stats.getPutCount(), cache.getStatsAll().getPutCount());
+
+		cache.resetStats();
+		assertEquals(0, cache.getStats(Foo.class).getPutCount());
+	}
+
 	@Override
 	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
 		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
@@ -11,6 +11,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -490,6 +491,17 @@ public class RuntimeExceptionDaoTest extends BaseCoreTest {
 		verify(dao);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void testQueryRowMapperThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.query(null, (GenericRowMapper<Object>) null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.query(null, (GenericRowMapper<Object>) null);
+		verify(dao);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void testCreateThrow() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -501,6 +513,17 @@ public class RuntimeExceptionDaoTest extends BaseCoreTest {
 		verify(dao);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void testCreateBatchThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.createBatch(null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.createBatch(null);
+		verify(dao);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void testCreateIfNotExistsThrow() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -512,6 +535,17 @@ public class RuntimeExceptionDaoTest extends BaseCoreTest {
 		verify(dao);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void testCreateBatchIfNotExistsThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.createBatchIfNotExists(null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.createBatchIfNotExists(null);
+		verify(dao);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void testCreateOrUpdateThrow() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -523,6 +557,40 @@ public class RuntimeExceptionDaoTest extends BaseCoreTest {
 		verify(dao);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void testUpsertThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.upsert(null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.upsert(null);
+		verify(dao);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testUpdateCollectionThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.update((Collection<Foo>) null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.update((Collection<Foo>) null);
+		verify(dao);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testSetDirtyTrackingThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		dao.setDirtyTracking(true);
+		expectLastCall().andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.setDirtyTracking(true);
+		verify(dao);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void testUpdateThrow() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -723,6 +791,28 @@ public class RuntimeExceptionDaoTest extends BaseCoreTest {
 		verify(dao);
 	}
 
+	@Test(expected = RuntimeException.class)
+	public void testQueryRawRowViewMapperThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.queryRaw(null, (RawRowViewMapper<String>) null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.queryRaw(null, (RawRowViewMapper<String>) null);
+		verify(dao);
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testQueryRawColumnarThrow() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		expect(dao.queryRawColumnar(null, (DataType[]) null)).andThrow(new SQLException("Testing catch"));
+		replay(dao);
+		rtDao.queryRawColumnar(null, (DataType[]) null);
+		verify(dao);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void testQueryRawDateTypesThrow() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -812,6 +902,34 @@ public class RuntimeExceptionDaoTest extends BaseCoreTest {
 		verify(dao);
 	}
 
+	@Test
+	public void testSetQueryResultCache() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		QueryResultCache cache = new QueryResultCache(10, 60000);
+		dao.setQueryResultCache(cache);
+		expect(dao.getQueryResultCache()).andReturn(cache);
+		replay(dao);
+		rtDao.setQueryResultCache(cache);
+		assertSame(cache, rtDao.getQueryResultCache());
+		verify(dao);
+	}
+
+	@Test
+	public void testSetMissingIdCache() throws Exception {
+		@SuppressWarnings("unchecked")
+		Dao<Foo, String> dao = (Dao<Foo, String>) createMock(Dao.class);
+		RuntimeExceptionDao<Foo, String> rtDao = new RuntimeExceptionDao<Foo, String>(dao);
+		MissingIdCache cache = new MissingIdCache(10, 1000);
+		dao.setMissingIdCache(cache);
+		expect(dao.getMissingIdCache()).andReturn(cache);
+		replay(dao);
+		rtDao.setMissingIdCache(cache);
+		assertSame(cache, rtDao.getMissingIdCache());
+		verify(dao);
+	}
+
 	@Test(expected = RuntimeException.class)
 	public void testSetObjectCacheThrow() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -0,0 +1,189 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class WeightedObjectCacheTest extends BaseObjectCacheTest {
+
+	@Test
+	public void testWeightAcrossClasses() {
+		WeightedObjectCache cache = new WeightedObjectCache(100);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Parent.class);
+		cache.setWeigher(Parent.class, new ObjectWeigher() {
+			public long weigh(Object id, Object data) {
+				return 40;
+			}
+		});
+		Foo foo1 = new Foo();
+		cache.put(Foo.class, 1, foo1);
+		Foo foo2 = new Foo();
+		cache.put(Foo.class, 2, foo2);
+		Parent parent1 = new Parent();
+		cache.put(Parent.class, 1, parent1);
+		Parent parent2 = new Parent();
+		cache.put(Parent.class, 2, parent2);
+		assertEquals(82, cache.getWeight());
+		assertEquals(4, cache.sizeAll());
+
+		// touch foo1 so foo2 is the eldest
+		assertSame(foo1, cache.get(Foo.class, 1));
+		Parent parent3 = new Parent();
+		cache.put(Parent.class, 3, parent3);
+		// foo2 and then parent1 are ejected to get under 100
+		assertEquals(81, cache.getWeight());
+		assertNull(cache.get(Foo.class, 2));
+		assertNull(cache.get(Parent.class, 1));
+		assertSame(foo1, cache.get(Foo.class, 1));
+		assertSame(parent2, cache.get(Parent.class, 2));
+		assertSame(parent3, cache.get(Parent.class, 3));
+		assertEquals(1, cache.size(Foo.class));
+		assertEquals(2, cache.size(Parent.class));
+
+		cache.clear(Parent.class);
+		assertEquals(1, cache.getWeight());
+		assertEquals(0, cache.size(Parent.class));
+		assertSame(foo1, cache.get(Foo.class, 1));
+	}
+
+	@Test
+	public void testTooHeavy() {
+		WeightedObjectCache cache = new WeightedObjectCache(10);
+		cache.registerClass(Foo.class);
+		cache.setDefaultWeigher(new ObjectWeigher() {
+			public long weigh(Object id, Object data) {
+				return ((Integer) id).longValue();
+			}
+		});
+		cache.put(Foo.class, 5, new Foo());
+		cache.put(Foo.class, 11, new Foo());
+		assertNull(cache.get(Foo.class, 11));
+		assertEquals(5, cache.getWeight());
+	}
+
+	@Test
+	public void testExpireAfterWrite() {
+		final long[] now = new long[] { 1000 };
+		WeightedObjectCache cache = new WeightedObjectCache(100) {
+			@Override
+			protected long currentTimeMillis() {
+				return now[0];
+			}
+		};
+		cache.registerClass(Foo.class);
+		cache.registerClass(Parent.class);
+		cache.setDefaultExpireAfterWriteMillis(100);
+		cache.setExpireAfterWriteMillis(Parent.class, 0);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		Parent parent = new Parent();
+		cache.put(Parent.class, 1, parent);
+
+		now[0] += 99;
+		assertSame(foo, cache.get(Foo.class, 1));
+		now[0] += 1;
+		assertNull(cache.get(Foo.class, 1));
+		assertEquals(0, cache.size(Foo.class));
+		// parents don't expire
+		assertSame(parent, cache.get(Parent.class, 1));
+	}
+
+	@Test
+	public void testUpdateId() {
+		WeightedObjectCache cache = new WeightedObjectCache(100);
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertNull(cache.updateId(Foo.class, 2, 3));
+		assertSame(foo, cache.updateId(Foo.class, 1, 2));
+		assertNull(cache.get(Foo.class, 1));
+		assertSame(foo, cache.get(Foo.class, 2));
+		assertEquals(1, cache.size(Foo.class));
+		assertEquals(1, cache.getWeight());
+		cache.remove(Foo.class, 2);
+		assertEquals(0, cache.getWeight());
+		assertEquals(0, cache.sizeAll());
+	}
+
+	@Test
+	public void testNotRegistered() {
+		WeightedObjectCache cache = new WeightedObjectCache(100);
+		cache.put(Foo.class, 1, new Foo());
+		assertNull(cache.get(Foo.class, 1));
+		assertEquals(0, cache.size(Foo.class));
+	}
+
+	@Test
+	public void testStats() {
+		// the default weigher counts objects and the weight is shared by the classes
+		WeightedObjectCache cache = new WeightedObjectCache(2);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Parent.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		cache.put(Foo.class, 2, foo);
+		cache.put(Foo.class, 3, foo);
+		assertSame(foo, cache.get(Foo.class, 3));
+		assertNull(cache.get(Foo.class, 1));
+		// looking again without counting a hit or a miss
+		assertSame(foo, cache.getWithoutStats(Foo.class, 3));
+		assertNull(cache.getWithoutStats(Foo.class, 1));
+		cache.remove(Foo.class, 2);
+		// not there so not counted
+		cache.remove(Foo.class, 2);
+		cache.recordLoad(Foo.class, 100);
+		cache.put(Parent.class, 1, new Parent());
+
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(3, stats.getPutCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(1, stats.getRemovalCount());
+		assertEquals(1, stats.getLoadCount());
+		assertEquals(100, stats.getTotalLoadNanos());
+		assertEquals(4, cache.getStatsAll().getPutCount());
+		assertEquals(0, cache.getStats(Child.class).getPutCount());
+
+		cache.resetStats();
+		assertEquals(0, cache.getStats(Foo.class).getPutCount());
+		assertEquals(0, cache.getStatsAll().getHitCount());
+	}
+
+	@Test
+	public void testNonPositiveWeigher() {
+		WeightedObjectCache cache = new WeightedObjectCache(100);
+		cache.registerClass(Foo.class);
+		cache.setWeigher(Foo.class, new ObjectWeigher() {
+			public long weigh(Object id, Object data) {
+				return ((Integer) id).longValue();
+			}
+		});
+		for (int id : new int[] { 0, -1 }) {
+			try {
+				cache.put(Foo.class, id, new Foo());
+				fail("Should have thrown");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+		assertEquals(0, cache.sizeAll());
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroWeight() {
+		new WeightedObjectCache(0);
+	}
+
+	@Override
+	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
+		WeightedObjectCache cache = new WeightedObjectCache(100);
+		dao.setObjectCache(cache);
+		return cache;
+	}
+}
@@ -57,6 +57,21 @@ public class BaseSqliteDatabaseTypeTest extends BaseCoreTest {
 		assertTrue(new OurSqliteDatabaseType().isCreateIfNotExistsSupported());
 	}
 
+	@Test
+	public void testIsBatchUseMultiRowInsert() {
+		assertFalse(new OurSqliteDatabaseType().isBatchUseMultiRowInsert());
+	}
+
+	@Test
+	public void testGetMaxMultiRowInsertRows() {
+		assertEquals(500, new OurSqliteDatabaseType().getMaxMultiRowInsertRows());
+	}
+
+	@Test
+	public void testGetMaxStatementArguments() {
+		assertEquals(999, new OurSqliteDatabaseType().getMaxStatementArguments());
+	}
+
 	@Test
 	public void testGetFieldConverter() throws Exception {
 		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
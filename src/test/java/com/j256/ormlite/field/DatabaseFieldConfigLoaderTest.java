@@ -184,6 +184,13 @@ public class DatabaseFieldConfigLoaderTest {
 		body.append("readOnly=true").append(LINE_SEP);
 		checkConfigOutput(config, body, writer, buffer);
 
+		config.setAllocationSize(DatabaseField.DEFAULT_ALLOCATION_SIZE);
+		checkConfigOutput(config, body, writer, buffer);
+		int allocationSize = 50;
+		config.setAllocationSize(allocationSize);
+		body.append("allocationSize=").append(allocationSize).append(LINE_SEP);
+		checkConfigOutput(config, body, writer, buffer);
+
 		/*
 		 * Test foreign collection
 		 */
@@ -326,6 +333,7 @@ public class DatabaseFieldConfigLoaderTest {
 		eb.append(config1.getColumnDefinition(), config2.getColumnDefinition());
 		eb.append(config1.isForeignAutoCreate(), config2.isForeignAutoCreate());
 		eb.append(config1.isVersion(), config2.isVersion());
+		eb.append(config1.getAllocationSize(), config2.getAllocationSize());
 		// foreign collections
 		eb.append(config1.isForeignCollection(), config2.isForeignCollection());
 		eb.append(config1.isForeignCollectionEager(), config2.isForeignCollectionEager());
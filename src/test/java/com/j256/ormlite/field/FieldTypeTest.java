@@ -28,6 +28,7 @@ import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.types.IntType;
 import com.j256.ormlite.h2.H2DatabaseType;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.support.ConnectionSource;
@@ -103,6 +104,22 @@ public class FieldTypeTest extends BaseCoreTest {
 				GeneratedIdAndSequence.class);
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void testAllocationSizeNotGeneratedId() throws Exception {
+		Field[] fields = AllocationSizeNotGeneratedId.class.getDeclaredFields();
+		assertTrue(fields.length >= 1);
+		FieldType.createFieldType(connectionSource, AllocationSizeNotGeneratedId.class.getSimpleName(), fields[0],
+				AllocationSizeNotGeneratedId.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAllocationSizeZero() throws Exception {
+		Field[] fields = AllocationSizeZero.class.getDeclaredFields();
+		assertTrue(fields.length >= 1);
+		FieldType.createFieldType(connectionSource, AllocationSizeZero.class.getSimpleName(), fields[0],
+				AllocationSizeZero.class);
+	}
+
 	@Test
 	public void testGeneratedIdAndSequenceWorks() throws Exception {
 		Field[] fields = GeneratedIdSequence.class.getDeclaredFields();
@@ -484,6 +501,60 @@ public class FieldTypeTest extends BaseCoreTest {
 		verify(results);
 	}
 
+	@Test
+	public void testResultToFieldPrimitive() throws Exception {
+		Field field = LocalFoo.class.getDeclaredField("intLong");
+		FieldType fieldType =
+				FieldType.createFieldType(connectionSource, LocalFoo.class.getSimpleName(), field, LocalFoo.class);
+		DatabaseResults results = createMock(DatabaseResults.class);
+		int fieldNum = 1;
+		long value = 1231231231231L;
+		expect(results.getLong(fieldNum)).andReturn(value);
+		replay(results);
+		LocalFoo foo = new LocalFoo();
+		assertTrue(fieldType.resultToField(foo, results, fieldNum));
+		verify(results);
+		assertEquals(value, foo.intLong);
+	}
+
+	@Test
+	public void testResultToFieldNotPrimitive() throws Exception {
+		Field field = LocalFoo.class.getDeclaredField("serial");
+		FieldType fieldType =
+				FieldType.createFieldType(connectionSource, LocalFoo.class.getSimpleName(), field, LocalFoo.class);
+		DatabaseResults results = createMock(DatabaseResults.class);
+		replay(results);
+		assertFalse(fieldType.resultToField(new LocalFoo(), results, 1));
+		verify(results);
+	}
+
+	@Test
+	public void testResultToFieldSubclassPersister() throws Exception {
+		Field field = SubclassPersister.class.getDeclaredField("primitive");
+		FieldType fieldType =
+				FieldType.createFieldType(connectionSource, SubclassPersister.class.getSimpleName(), field,
+						SubclassPersister.class);
+		DatabaseResults results = createMock(DatabaseResults.class);
+		replay(results);
+		// subclasses of the built-in types go through resultToJava
+		assertFalse(fieldType.resultToField(new SubclassPersister(), results, 1));
+		verify(results);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testResultToFieldNullPrimitiveThrow() throws Exception {
+		Field field = ThrowIfNullNonPrimitive.class.getDeclaredField("primitive");
+		FieldType fieldType =
+				FieldType.createFieldType(connectionSource, ThrowIfNullNonPrimitive.class.getSimpleName(), field,
+						ThrowIfNullNonPrimitive.class);
+		DatabaseResults results = createMock(DatabaseResults.class);
+		int fieldNum = 1;
+		expect(results.getInt(fieldNum)).andReturn(0);
+		expect(results.wasNull(fieldNum)).andReturn(true);
+		replay(results);
+		fieldType.resultToField(new ThrowIfNullNonPrimitive(), results, fieldNum);
+	}
+
 	@Test
 	public void testSerializableNull() throws Exception {
 		Field[] fields = SerializableField.class.getDeclaredFields();
@@ -819,6 +890,16 @@ public class FieldTypeTest extends BaseCoreTest {
 		int id;
 	}
 
+	protected static class AllocationSizeNotGeneratedId {
+		@DatabaseField(id = true, allocationSize = 10)
+		int id;
+	}
+
+	protected static class AllocationSizeZero {
+		@DatabaseField(generatedIdSequence = "foo", allocationSize = 0)
+		int id;
+	}
+
 	protected static class GeneratedId {
 		@DatabaseField(generatedId = true)
 		int id;
@@ -965,6 +1046,21 @@ public class FieldTypeTest extends BaseCoreTest {
 		int primitive;
 	}
 
+	protected static class SubclassPersister {
+		@DatabaseField(persisterClass = SubclassIntType.class)
+		int primitive;
+	}
+
+	protected static class SubclassIntType extends IntType {
+		private static final SubclassIntType singleTon = new SubclassIntType();
+		public static SubclassIntType getSingleton() {
+			return singleTon;
+		}
+		private SubclassIntType() {
+			super(SqlType.INTEGER, new Class<?>[] { int.class });
+		}
+	}
+
 	protected static class InvalidType {
 		// we self reference here because we are looking for a class which isn't serializable
 		@DatabaseField(dataType = DataType.SERIALIZABLE)
@@ -0,0 +1,135 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+public class ReflectionFieldAccessorTest {
+
+	@Test
+	public void testPrimitives() throws Exception {
+		Foo foo = new Foo();
+		FieldAccessor accessor = buildAccessor("booleanField");
+		accessor.setValue(foo, true);
+		assertEquals(true, foo.booleanField);
+		assertEquals(true, accessor.getValue(foo));
+		accessor = buildAccessor("byteField");
+		accessor.setValue(foo, (byte) 1);
+		assertEquals((byte) 1, foo.byteField);
+		assertEquals((byte) 1, accessor.getValue(foo));
+		accessor = buildAccessor("charField");
+		accessor.setValue(foo, 'c');
+		assertEquals('c', foo.charField);
+		assertEquals('c', accessor.getValue(foo));
+		accessor = buildAccessor("shortField");
+		accessor.setValue(foo, (short) 2);
+		assertEquals((short) 2, foo.shortField);
+		assertEquals((short) 2, accessor.getValue(foo));
+		accessor = buildAccessor("intField");
+		accessor.setValue(foo, 3);
+		assertEquals(3, foo.intField);
+		assertEquals(3, accessor.getValue(foo));
+		accessor = buildAccessor("longField");
+		accessor.setValue(foo, 4L);
+		assertEquals(4L, foo.longField);
+		assertEquals(4L, accessor.getValue(foo));
+		accessor = buildAccessor("floatField");
+		accessor.setValue(foo, 5.0F);
+		assertEquals(5.0F, foo.floatField, 0.0F);
+		assertEquals(5.0F, accessor.getValue(foo));
+		accessor = buildAccessor("doubleField");
+		accessor.setValue(foo, 6.0);
+		assertEquals(6.0, foo.doubleField, 0.0);
+		assertEquals(6.0, accessor.getValue(foo));
+	}
+
+	@Test
+	public void testPrimitiveSetters() throws Exception {
+		Foo foo = new Foo();
+		buildAccessor("booleanField").setBoolean(foo, true);
+		assertEquals(true, foo.booleanField);
+		buildAccessor("byteField").setByte(foo, (byte) 1);
+		assertEquals((byte) 1, foo.byteField);
+		buildAccessor("charField").setChar(foo, 'c');
+		assertEquals('c', foo.charField);
+		buildAccessor("shortField").setShort(foo, (short) 2);
+		assertEquals((short) 2, foo.shortField);
+		buildAccessor("intField").setInt(foo, 3);
+		assertEquals(3, foo.intField);
+		buildAccessor("longField").setLong(foo, 4L);
+		assertEquals(4L, foo.longField);
+		buildAccessor("floatField").setFloat(foo, 5.0F);
+		assertEquals(5.0F, foo.floatField, 0.0F);
+		buildAccessor("doubleField").setDouble(foo, 6.0);
+		assertEquals(6.0, foo.doubleField, 0.0);
+		// reflection widens the int to a long
+		buildAccessor("longField").setInt(foo, 7);
+		assertEquals(7L, foo.longField);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPrimitiveSetterWrongType() throws Exception {
+		buildAccessor("stringField").setInt(new Foo(), 1);
+	}
+
+	@Test
+	public void testObject() throws Exception {
+		Foo foo = new Foo();
+		FieldAccessor accessor = buildAccessor("stringField");
+		accessor.setValue(foo, "wow");
+		assertEquals("wow", foo.stringField);
+		assertEquals("wow", accessor.getValue(foo));
+		accessor.setValue(foo, null);
+		assertEquals(null, foo.stringField);
+	}
+
+	@Test
+	public void testWidening() throws Exception {
+		Foo foo = new Foo();
+		FieldAccessor accessor = buildAccessor("longField");
+		// reflection widens the int to a long
+		accessor.setValue(foo, 7);
+		assertEquals(7L, foo.longField);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPrimitiveWrongType() throws Exception {
+		buildAccessor("intField").setValue(new Foo(), "not an int");
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPrimitiveNull() throws Exception {
+		buildAccessor("intField").setValue(new Foo(), null);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testObjectWrongType() throws Exception {
+		buildAccessor("stringField").setValue(new Foo(), 1);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testGetWrongObject() throws Exception {
+		buildAccessor("intField").getValue("not a foo");
+	}
+
+	private FieldAccessor buildAccessor(String fieldName) throws Exception {
+		Field field = Foo.class.getDeclaredField(fieldName);
+		field.setAccessible(true);
+		return new ReflectionFieldAccessor(field, null);
+	}
+
+	protected static class Foo {
+		boolean booleanField;
+		byte byteField;
+		char charField;
+		short shortField;
+		int intField;
+		long longField;
+		float floatField;
+		double doubleField;
+		String stringField;
+	}
+}
@@ -43,6 +43,19 @@ public class H2CompiledStatement implements CompiledStatement {
 		return preparedStatement.getUpdateCount();
 	}
 
+	public void addBatch() throws SQLException {
+		preparedStatement.addBatch();
+	}
+
+	public int[] runBatch() throws SQLException {
+		return preparedStatement.executeBatch();
+	}
+
+	public void clearBatch() throws SQLException {
+		preparedStatement.clearBatch();
+		preparedStatement.clearParameters();
+	}
+
 	public void close() throws SQLException {
 		preparedStatement.close();
 	}
@@ -9,6 +9,7 @@ import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
@@ -94,20 +95,33 @@ public class H2DatabaseConnection implements DatabaseConnection {
 		statementSetArgs(stmt, args, argFieldTypes);
 		int rowN = stmt.executeUpdate();
 		if (keyHolder != null) {
-			ResultSet resultSet = stmt.getGeneratedKeys();
-			ResultSetMetaData metaData = resultSet.getMetaData();
-			int colN = metaData.getColumnCount();
-			while (resultSet.next()) {
-				for (int colC = 1; colC <= colN; colC++) {
-					// get the id column data so we can pass it back to the caller thru the keyHolder
-					Number id = getIdColumnData(resultSet, metaData, colC);
-					keyHolder.addKey(id);
-				}
-			}
+			addGeneratedKeys(stmt, keyHolder);
 		}
 		return rowN;
 	}
 
+	public int[] insertBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException {
+		if (keyHolder == null) {
+			PreparedStatement stmt = connection.prepareStatement(statement);
+			for (Object[] args : argsList) {
+				statementSetArgs(stmt, args, argFieldTypes);
+				stmt.addBatch();
+			}
+			return stmt.executeBatch();
+		}
+		// H2 only returns the keys from the last row of a batch so we have to run the rows one at a time
+		PreparedStatement stmt = connection.prepareStatement(statement, Statement.RETURN_GENERATED_KEYS);
+		int[] rowCounts = new int[argsList.size()];
+		int rowC = 0;
+		for (Object[] args : argsList) {
+			statementSetArgs(stmt, args, argFieldTypes);
+			rowCounts[rowC++] = stmt.executeUpdate();
+			addGeneratedKeys(stmt, keyHolder);
+		}
+		return rowCounts;
+	}
+
 	public int update(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
 		PreparedStatement stmt = connection.prepareStatement(statement);
 		statementSetArgs(stmt, args, argFieldTypes);
@@ -212,6 +226,19 @@ public class H2DatabaseConnection implements DatabaseConnection {
 		}
 	}
 
+	private void addGeneratedKeys(PreparedStatement stmt, GeneratedKeyHolder keyHolder) throws SQLException {
+		ResultSet resultSet = stmt.getGeneratedKeys();
+		ResultSetMetaData metaData = resultSet.getMetaData();
+		int colN = metaData.getColumnCount();
+		while (resultSet.next()) {
+			for (int colC = 1; colC <= colN; colC++) {
+				// get the id column data so we can pass it back to the caller thru the keyHolder
+				Number id = getIdColumnData(resultSet, metaData, colC);
+				keyHolder.addKey(id);
+			}
+		}
+	}
+
 	private void statementSetArgs(PreparedStatement stmt, Object[] args, FieldType[] argFieldTypes) throws SQLException {
 		for (int i = 0; i < args.length; i++) {
 			Object arg = args[i];
@@ -16,6 +16,7 @@ import org.junit.Test;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
 
 public class QueryBuilderTest extends BaseCoreStmtTest {
@@ -1033,6 +1034,69 @@ public class QueryBuilderTest extends BaseCoreStmtTest {
 		assertEquals(foo4.id, result.id);
 	}
 
+	@Test
+	public void testQueryProjection() throws Exception {
+		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		foo1.val = 10;
+		foo1.equal = 11;
+		assertEquals(1, fooDao.create(foo1));
+		Foo foo2 = new Foo();
+		foo2.val = 20;
+		foo2.equal = 21;
+		assertEquals(1, fooDao.create(foo2));
+
+		QueryBuilder<Foo, Object> qb = fooDao.queryBuilder();
+		// the id column is added to the select but is not passed to the constructor
+		qb.selectColumns(Foo.EQUAL_COLUMN_NAME, Foo.VAL_COLUMN_NAME);
+		qb.orderBy(Foo.VAL_COLUMN_NAME, true);
+		List<ValEqual> results = qb.queryProjection(ValEqual.class);
+		assertEquals(2, results.size());
+		assertEquals(foo1.equal, results.get(0).equal);
+		assertEquals(foo1.val, (int) results.get(0).val);
+		assertEquals(foo2.equal, results.get(1).equal);
+		assertEquals(foo2.val, (int) results.get(1).val);
+	}
+
+	@Test
+	public void testQueryProjectionFactory() throws Exception {
+		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 10;
+		assertEquals(1, fooDao.create(foo));
+
+		QueryBuilder<Foo, Object> qb = fooDao.queryBuilder();
+		qb.selectColumns(Foo.ID_COLUMN_NAME, Foo.VAL_COLUMN_NAME);
+		ProjectionRowMapper<IdVal> mapper =
+				new ProjectionRowMapper<IdVal>(IdVal.class, new FieldType[] {
+						baseFooTableInfo.getFieldTypeByColumnName(Foo.ID_COLUMN_NAME),
+						baseFooTableInfo.getFieldTypeByColumnName(Foo.VAL_COLUMN_NAME) });
+		PreparedQuery<Foo> preparedQuery = qb.prepare();
+		// the mapper can be used over and over
+		for (int i = 0; i < 2; i++) {
+			List<IdVal> results = fooDao.query(preparedQuery, mapper);
+			assertEquals(1, results.size());
+			assertEquals(foo.id, results.get(0).id);
+			assertEquals(foo.val, results.get(0).val);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testQueryProjectionNoConstructor() throws Exception {
+		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
+		QueryBuilder<Foo, Object> qb = fooDao.queryBuilder();
+		qb.selectColumns(Foo.VAL_COLUMN_NAME);
+		qb.queryProjection(ValEqual.class);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testQueryProjectionSelectRaw() throws Exception {
+		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
+		QueryBuilder<Foo, Object> qb = fooDao.queryBuilder();
+		qb.selectRaw("MAX(" + Foo.VAL_COLUMN_NAME + ")");
+		qb.queryProjection(ValEqual.class);
+	}
+
 	/* ======================================================================================================== */
 
 	private static class LimitInline extends BaseDatabaseType {
@@ -1138,4 +1202,26 @@ public class QueryBuilderTest extends BaseCoreStmtTest {
 		public Two() {
 		}
 	}
+
+	protected static class ValEqual {
+		final int equal;
+		final Integer val;
+		public ValEqual(int equal, Integer val) {
+			this.equal = equal;
+			this.val = val;
+		}
+	}
+
+	protected static class IdVal {
+		int id;
+		int val;
+		private IdVal() {
+		}
+		public static IdVal create(int id, int val) {
+			IdVal idVal = new IdVal();
+			idVal.id = id;
+			idVal.val = val;
+			return idVal;
+		}
+	}
 }
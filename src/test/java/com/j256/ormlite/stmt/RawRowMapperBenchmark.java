@@ -0,0 +1,219 @@
+package com.j256.ormlite.stmt;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.dao.RawRowObjectMapper;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Hand-rolled benchmark of the per-row cost of the raw object-array and raw-row-object mappers against the previous
+ * per-cell loop which looked up the data-type's persister for every cell. This is not run as part of the tests. Run it
+ * with the test class-path:
+ * 
+ * <pre>
+ * java com.j256.ormlite.stmt.RawRowMapperBenchmark [iterations]
+ * </pre>
+ * 
+ * @author graywatson
+ */
+public class RawRowMapperBenchmark {
+
+	private static final int DEFAULT_ITERATIONS = 10000000;
+	private static final int ROUNDS = 5;
+	private static final DataType[] COLUMN_TYPES = new DataType[] { DataType.INTEGER, DataType.LONG, DataType.STRING,
+			DataType.DOUBLE, DataType.BOOLEAN, DataType.INTEGER_OBJ };
+
+	public static void main(String[] args) throws Exception {
+		int iterations = DEFAULT_ITERATIONS;
+		if (args.length > 0) {
+			iterations = Integer.parseInt(args[0]);
+		}
+		// one more column than we have types for
+		DatabaseResults results = new ConstantResults(COLUMN_TYPES.length + 1);
+		RawRowObjectMapper<Object> rawMapper = new RawRowObjectMapper<Object>() {
+			public Object mapRow(String[] columnNames, DataType[] dataTypes, Object[] resultColumns) {
+				return resultColumns;
+			}
+		};
+		for (int round = 0; round < ROUNDS; round++) {
+			System.out.println("round " + (round + 1) + ":");
+			runObjectArray(results, iterations);
+			runRawRowObject(results, rawMapper, iterations);
+		}
+	}
+
+	private static void runObjectArray(DatabaseResults results, int iterations) throws SQLException {
+		StatementExecutor.ObjectArrayRowMapper mapper = new StatementExecutor.ObjectArrayRowMapper(COLUMN_TYPES);
+		int sink = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += perCellObjectArray(results).length;
+		}
+		long beforeNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += mapper.mapRow(results).length;
+		}
+		long afterNanos = System.nanoTime() - start;
+		print("object-array", iterations, beforeNanos, afterNanos, sink);
+	}
+
+	private static void runRawRowObject(DatabaseResults results, RawRowObjectMapper<Object> rawMapper, int iterations)
+			throws SQLException {
+		StatementExecutor.UserRawRowObjectMapper<Object> mapper =
+				new StatementExecutor.UserRawRowObjectMapper<Object>(rawMapper, COLUMN_TYPES);
+		String[] columnNames = results.getColumnNames();
+		int sink = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += ((Object[]) perCellRawRowObject(results, rawMapper, columnNames)).length;
+		}
+		long beforeNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += ((Object[]) mapper.mapRow(results)).length;
+		}
+		long afterNanos = System.nanoTime() - start;
+		print("raw-row-object", iterations, beforeNanos, afterNanos, sink);
+	}
+
+	/**
+	 * The previous object-array mapping loop.
+	 */
+	private static Object[] perCellObjectArray(DatabaseResults results) throws SQLException {
+		int columnN = results.getColumnCount();
+		Object[] result = new Object[columnN];
+		for (int colC = 0; colC < columnN; colC++) {
+			DataType dataType;
+			if (colC >= COLUMN_TYPES.length) {
+				dataType = DataType.STRING;
+			} else {
+				dataType = COLUMN_TYPES[colC];
+			}
+			result[colC] = dataType.getDataPersister().resultToJava(null, results, colC);
+		}
+		return result;
+	}
+
+	/**
+	 * The previous raw-row-object mapping loop.
+	 */
+	private static Object perCellRawRowObject(DatabaseResults results, RawRowObjectMapper<Object> rawMapper,
+			String[] columnNames) throws SQLException {
+		int columnN = results.getColumnCount();
+		Object[] objectResults = new Object[columnN];
+		for (int colC = 0; colC < columnN; colC++) {
+			if (colC >= COLUMN_TYPES.length) {
+				objectResults[colC] = null;
+			} else {
+				objectResults[colC] = COLUMN_TYPES[colC].getDataPersister().resultToJava(null, results, colC);
+			}
+		}
+		return rawMapper.mapRow(columnNames, COLUMN_TYPES, objectResults);
+	}
+
+	private static void print(String label, int iterations, long beforeNanos, long afterNanos, int sink) {
+		System.out.printf("  %-14s per-cell %6.2f ns/row, precomputed %6.2f ns/row (%d)%n", label,
+				(double) beforeNanos / iterations, (double) afterNanos / iterations, sink);
+	}
+
+	/**
+	 * Results which return the same row of constant values so we are measuring the mapping and not the database.
+	 */
+	private static class ConstantResults implements DatabaseResults {
+		private final String[] columnNames;
+		private final Timestamp timestamp = new Timestamp(0);
+		public ConstantResults(int columnCount) {
+			columnNames = new String[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				columnNames[i] = "column" + i;
+			}
+		}
+		public int getColumnCount() {
+			return columnNames.length;
+		}
+		public String[] getColumnNames() {
+			return columnNames;
+		}
+		public boolean first() {
+			return true;
+		}
+		public boolean previous() {
+			return true;
+		}
+		public boolean next() {
+			return true;
+		}
+		public boolean last() {
+			return true;
+		}
+		public boolean moveRelative(int offset) {
+			return true;
+		}
+		public boolean moveAbsolute(int position) {
+			return true;
+		}
+		public int findColumn(String columnName) {
+			for (int i = 0; i < columnNames.length; i++) {
+				if (columnNames[i].equals(columnName)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+		public String getString(int columnIndex) {
+			return "value";
+		}
+		public boolean getBoolean(int columnIndex) {
+			return true;
+		}
+		public char getChar(int columnIndex) {
+			return 'x';
+		}
+		public byte getByte(int columnIndex) {
+			return 1;
+		}
+		public byte[] getBytes(int columnIndex) {
+			return new byte[] { 1 };
+		}
+		public short getShort(int columnIndex) {
+			return 1;
+		}
+		public int getInt(int columnIndex) {
+			return columnIndex;
+		}
+		public long getLong(int columnIndex) {
+			return columnIndex;
+		}
+		public float getFloat(int columnIndex) {
+			return columnIndex;
+		}
+		public double getDouble(int columnIndex) {
+			return columnIndex;
+		}
+		public Timestamp getTimestamp(int columnIndex) {
+			return timestamp;
+		}
+		public InputStream getBlobStream(int columnIndex) {
+			return null;
+		}
+		public BigDecimal getBigDecimal(int columnIndex) {
+			return BigDecimal.ONE;
+		}
+		public boolean wasNull(int columnIndex) {
+			return false;
+		}
+		public ObjectCache getObjectCache() {
+			return null;
+		}
+		public void close() {
+		}
+		public void closeQuietly() {
+		}
+	}
+}
@@ -44,6 +44,58 @@ public class BaseMappedQueryTest extends BaseCoreStmtTest {
 		verify(results);
 	}
 
+	@Test
+	public void testMappedQueryColumnPositionsFoundOnce() throws Exception {
+		Field field = Foo.class.getDeclaredField(Foo.ID_COLUMN_NAME);
+		String tableName = "basefoo";
+		FieldType[] resultFieldTypes =
+				new FieldType[] { FieldType.createFieldType(connectionSource, tableName, field, Foo.class) };
+		BaseMappedQuery<Foo, Integer> baseMappedQuery =
+				new BaseMappedQuery<Foo, Integer>(baseFooTableInfo, "select * from " + tableName, new FieldType[0],
+						resultFieldTypes) {
+				};
+		DatabaseResults results = createMock(DatabaseResults.class);
+		int colN = 1;
+		expect(results.getObjectCache()).andReturn(null).times(2);
+		// only looked up for the first row
+		expect(results.findColumn(Foo.ID_COLUMN_NAME)).andReturn(colN);
+		int id1 = 63365;
+		int id2 = 63366;
+		expect(results.getInt(colN)).andReturn(id1);
+		expect(results.getInt(colN)).andReturn(id2);
+		replay(results);
+		assertEquals(id1, baseMappedQuery.mapRow(results).id);
+		assertEquals(id2, baseMappedQuery.mapRow(results).id);
+		verify(results);
+	}
+
+	@Test
+	public void testMappedQueryColumnPositionsPerResults() throws Exception {
+		Field field = Foo.class.getDeclaredField(Foo.ID_COLUMN_NAME);
+		String tableName = "basefoo";
+		FieldType[] resultFieldTypes =
+				new FieldType[] { FieldType.createFieldType(connectionSource, tableName, field, Foo.class) };
+		BaseMappedQuery<Foo, Integer> baseMappedQuery =
+				new BaseMappedQuery<Foo, Integer>(baseFooTableInfo, "select * from " + tableName, new FieldType[0],
+						resultFieldTypes) {
+				};
+		// the id column is in a different position in the second results
+		DatabaseResults results1 = createMock(DatabaseResults.class);
+		expect(results1.getObjectCache()).andReturn(null);
+		expect(results1.findColumn(Foo.ID_COLUMN_NAME)).andReturn(1);
+		int id1 = 63365;
+		expect(results1.getInt(1)).andReturn(id1);
+		DatabaseResults results2 = createMock(DatabaseResults.class);
+		expect(results2.getObjectCache()).andReturn(null);
+		expect(results2.findColumn(Foo.ID_COLUMN_NAME)).andReturn(3);
+		int id2 = 63366;
+		expect(results2.getInt(3)).andReturn(id2);
+		replay(results1, results2);
+		assertEquals(id1, baseMappedQuery.mapRow(results1).id);
+		assertEquals(id2, baseMappedQuery.mapRow(results2).id);
+		verify(results1, results2);
+	}
+
 	@Test
 	public void testInnerQueryCacheLookup() throws Exception {
 		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
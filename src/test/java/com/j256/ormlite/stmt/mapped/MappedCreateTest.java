@@ -11,9 +11,13 @@ import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.easymock.IAnswer;
@@ -26,8 +30,10 @@ import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.h2.H2DatabaseType;
 import com.j256.ormlite.stmt.BaseCoreStmtTest;
 import com.j256.ormlite.stmt.StatementExecutor;
+import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.GeneratedKeyHolder;
 import com.j256.ormlite.table.DatabaseTable;
@@ -116,6 +122,60 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		verify(databaseConnection);
 	}
 
+	@Test
+	public void testSequenceAllocationSize() throws Exception {
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		// the sequence is incremented by the allocation size of 3
+		expect(databaseConnection.queryForLong(isA(String.class))).andReturn(10L);
+		expect(databaseConnection.queryForLong(isA(String.class))).andReturn(13L);
+		expect(
+				databaseConnection.insert(isA(String.class), isA(Object[].class), isA(FieldType[].class),
+						(GeneratedKeyHolder) isNull())).andReturn(1).times(4);
+		replay(databaseConnection);
+		NeedsSequenceDatabaseType needsSequence = new NeedsSequenceDatabaseType();
+		// two mapped creates on the same sequence share the reserved ids
+		MappedCreate<GeneratedIdSequenceAllocation, Integer> mappedCreate1 =
+				MappedCreate.build(needsSequence, new TableInfo<GeneratedIdSequenceAllocation, Integer>(
+						connectionSource, null, GeneratedIdSequenceAllocation.class), connectionSource);
+		MappedCreate<GeneratedIdSequenceAllocation, Integer> mappedCreate2 =
+				MappedCreate.build(needsSequence, new TableInfo<GeneratedIdSequenceAllocation, Integer>(
+						connectionSource, null, GeneratedIdSequenceAllocation.class), connectionSource);
+		GeneratedIdSequenceAllocation foo1 = new GeneratedIdSequenceAllocation();
+		assertEquals(1, mappedCreate1.insert(needsSequence, databaseConnection, foo1, null));
+		GeneratedIdSequenceAllocation foo2 = new GeneratedIdSequenceAllocation();
+		assertEquals(1, mappedCreate2.insert(needsSequence, databaseConnection, foo2, null));
+		GeneratedIdSequenceAllocation foo3 = new GeneratedIdSequenceAllocation();
+		assertEquals(1, mappedCreate1.insert(needsSequence, databaseConnection, foo3, null));
+		GeneratedIdSequenceAllocation foo4 = new GeneratedIdSequenceAllocation();
+		assertEquals(1, mappedCreate2.insert(needsSequence, databaseConnection, foo4, null));
+		verify(databaseConnection);
+		assertEquals(10, foo1.id);
+		assertEquals(11, foo2.id);
+		assertEquals(12, foo3.id);
+		assertEquals(13, foo4.id);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testSequenceAllocationSizeMismatch() throws Exception {
+		NeedsSequenceDatabaseType needsSequence = new NeedsSequenceDatabaseType();
+		MappedCreate.build(needsSequence, new TableInfo<GeneratedIdSequenceAllocation, Integer>(connectionSource,
+				null, GeneratedIdSequenceAllocation.class), connectionSource);
+		MappedCreate.build(needsSequence, new TableInfo<GeneratedIdSequenceOtherAllocation, Integer>(
+				connectionSource, null, GeneratedIdSequenceOtherAllocation.class), connectionSource);
+	}
+
+	@Test
+	public void testSequenceAllocatorPerConnectionSource() throws Exception {
+		ConnectionSource connectionSource1 = createMock(ConnectionSource.class);
+		ConnectionSource connectionSource2 = createMock(ConnectionSource.class);
+		PooledSequenceAllocator allocator = PooledSequenceAllocator.getAllocator(connectionSource1, "seq", 3);
+		assertSame(allocator, PooledSequenceAllocator.getAllocator(connectionSource1, "seq", 3));
+		// another database of the same type has its own sequence
+		assertNotSame(allocator, PooledSequenceAllocator.getAllocator(connectionSource2, "seq", 3));
+		// as do statements without a connection source
+		assertNotSame(allocator, PooledSequenceAllocator.getAllocator(null, "seq", 3));
+	}
+
 	@Test
 	public void testCreateReserverdFields() throws Exception {
 		Dao<ReservedField, Object> dao = createDao(ReservedField.class, true);
@@ -200,6 +260,87 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		assertFalse(foo3.id == foo2.id);
 	}
 
+	@Test
+	public void testCreateBatchMixedIds() throws Exception {
+		Dao<AllowGeneratedIdInsert, Integer> dao = createDao(AllowGeneratedIdInsert.class, true);
+		List<AllowGeneratedIdInsert> foos = new ArrayList<AllowGeneratedIdInsert>();
+		for (int i = 0; i < 6; i++) {
+			AllowGeneratedIdInsert foo = new AllowGeneratedIdInsert();
+			if (i % 3 == 0) {
+				foo.id = 1000 + i;
+			}
+			foo.stuff = Integer.toString(i);
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), dao.createBatch(foos));
+		for (AllowGeneratedIdInsert foo : foos) {
+			AllowGeneratedIdInsert result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(foo.stuff, result.stuff);
+		}
+		assertNotNull(dao.queryForId(1000));
+		assertNotNull(dao.queryForId(1003));
+	}
+
+	@Test
+	public void testCreateBatchMultiRow() throws Exception {
+		connectionSource.setDatabaseType(new MultiRowInsertDatabaseType(4, Integer.MAX_VALUE));
+		Dao<IdAndStuff, Integer> dao = createDao(IdAndStuff.class, true);
+		List<IdAndStuff> foos = new ArrayList<IdAndStuff>();
+		// 2 rows per statement so we should have a couple of full statements and a partial one
+		for (int i = 1; i <= 5; i++) {
+			IdAndStuff foo = new IdAndStuff();
+			foo.id = i;
+			foo.stuff = "stuff" + i;
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), dao.createBatch(foos));
+		assertEquals(foos.size(), dao.countOf());
+		for (IdAndStuff foo : foos) {
+			IdAndStuff result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(foo.stuff, result.stuff);
+		}
+	}
+
+	@Test
+	public void testCreateBatchMultiRowMaxRows() throws Exception {
+		// the arguments would allow all of the rows in one statement but the rows are limited to 2
+		connectionSource.setDatabaseType(new MultiRowInsertDatabaseType(999, 2));
+		Dao<IdAndStuff, Integer> dao = createDao(IdAndStuff.class, true);
+		List<IdAndStuff> foos = new ArrayList<IdAndStuff>();
+		for (int i = 1; i <= 5; i++) {
+			IdAndStuff foo = new IdAndStuff();
+			foo.id = i;
+			foo.stuff = "stuff" + i;
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), dao.createBatch(foos));
+		assertEquals(foos.size(), dao.countOf());
+	}
+
+	@Test
+	public void testCreateBatchMultiRowGeneratedId() throws Exception {
+		connectionSource.setDatabaseType(new MultiRowInsertDatabaseType(4, Integer.MAX_VALUE));
+		Dao<AllowGeneratedIdInsert, Integer> dao = createDao(AllowGeneratedIdInsert.class, true);
+		List<AllowGeneratedIdInsert> foos = new ArrayList<AllowGeneratedIdInsert>();
+		for (int i = 0; i < 5; i++) {
+			AllowGeneratedIdInsert foo = new AllowGeneratedIdInsert();
+			if (i % 2 == 0) {
+				foo.id = 1000 + i;
+			}
+			foo.stuff = Integer.toString(i);
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), dao.createBatch(foos));
+		for (AllowGeneratedIdInsert foo : foos) {
+			assertTrue(foo.id != 0);
+			AllowGeneratedIdInsert result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(foo.stuff, result.stuff);
+		}
+	}
+
 	@Test
 	public void testCreateWithAllowGeneratedIdInsertObject() throws Exception {
 		Dao<AllowGeneratedIdInsertObject, Integer> dao = createDao(AllowGeneratedIdInsertObject.class, true);
@@ -422,6 +563,18 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		public String stuff;
 	}
 
+	protected static class GeneratedIdSequenceAllocation {
+		@DatabaseField(generatedIdSequence = "seq", allocationSize = 3)
+		int id;
+		@DatabaseField
+		public String stuff;
+	}
+
+	protected static class GeneratedIdSequenceOtherAllocation {
+		@DatabaseField(generatedIdSequence = "seq", allocationSize = 5)
+		int id;
+	}
+
 	protected static class ForeignAutoCreate {
 		@DatabaseField(generatedId = true)
 		int id;
@@ -456,6 +609,35 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		String readOnly;
 	}
 
+	protected static class IdAndStuff {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+
+	private static class MultiRowInsertDatabaseType extends H2DatabaseType {
+		private final int maxStatementArguments;
+		private final int maxMultiRowInsertRows;
+		public MultiRowInsertDatabaseType(int maxStatementArguments, int maxMultiRowInsertRows) throws SQLException {
+			super();
+			this.maxStatementArguments = maxStatementArguments;
+			this.maxMultiRowInsertRows = maxMultiRowInsertRows;
+		}
+		@Override
+		public boolean isBatchUseMultiRowInsert() {
+			return true;
+		}
+		@Override
+		public int getMaxStatementArguments() {
+			return maxStatementArguments;
+		}
+		@Override
+		public int getMaxMultiRowInsertRows() {
+			return maxMultiRowInsertRows;
+		}
+	}
+
 	private static class NeedsSequenceDatabaseType extends BaseDatabaseType {
 		@Override
 		public String getDriverClassName() {
@@ -1,17 +1,24 @@
 package com.j256.ormlite.stmt.mapped;
 
+import static org.easymock.EasyMock.aryEq;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.isA;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableInfo;
@@ -31,6 +38,58 @@ public class MappedDeleteCollectionTest {
 				new ArrayList<NoId>(), null);
 	}
 
+	@Test
+	public void testDeleteIdsChunked() throws Exception {
+		DatabaseType maxArgsDatabaseType = new MaxArgumentsDatabaseType();
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		ConnectionSource connectionSource = createMock(ConnectionSource.class);
+		expect(connectionSource.getDatabaseType()).andReturn(maxArgsDatabaseType).anyTimes();
+		String statement4 = "DELETE FROM `idonly` WHERE `id` IN (?,?,?,?) ";
+		String statement2 = "DELETE FROM `idonly` WHERE `id` IN (?,?) ";
+		// first chunk is full, the second is padded by repeating its last id
+		expect(
+				databaseConnection.delete(eq(statement4), aryEq(new Object[] { 1, 2, 3, 4 }),
+						isA(FieldType[].class))).andReturn(4);
+		expect(
+				databaseConnection.delete(eq(statement4), aryEq(new Object[] { 5, 6, 7, 7 }),
+						isA(FieldType[].class))).andReturn(3);
+		// the statements are reused for later deletes
+		expect(databaseConnection.delete(eq(statement2), aryEq(new Object[] { 8, 9 }), isA(FieldType[].class)))
+				.andReturn(2);
+		replay(connectionSource, databaseConnection);
+		MappedDeleteCollection<IdOnly, Integer> deleteCollection =
+				MappedDeleteCollection.build(maxArgsDatabaseType, new TableInfo<IdOnly, Integer>(connectionSource,
+						null, IdOnly.class));
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 1; i <= 7; i++) {
+			ids.add(i);
+		}
+		assertEquals(7, deleteCollection.deleteIds(databaseConnection, ids, null));
+		ids.clear();
+		ids.add(8);
+		ids.add(9);
+		assertEquals(2, deleteCollection.deleteIds(databaseConnection, ids, null));
+		verify(connectionSource, databaseConnection);
+	}
+
+	@Test
+	public void testDeleteIdsEmpty() throws Exception {
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		ConnectionSource connectionSource = createMock(ConnectionSource.class);
+		expect(connectionSource.getDatabaseType()).andReturn(databaseType).anyTimes();
+		replay(connectionSource, databaseConnection);
+		MappedDeleteCollection<IdOnly, Integer> deleteCollection =
+				MappedDeleteCollection.build(databaseType, new TableInfo<IdOnly, Integer>(connectionSource, null,
+						IdOnly.class));
+		assertEquals(0, deleteCollection.deleteIds(databaseConnection, new ArrayList<Integer>(), null));
+		verify(connectionSource, databaseConnection);
+	}
+
+	protected static class IdOnly {
+		@DatabaseField(id = true)
+		int id;
+	}
+
 	protected static class NoId {
 		@DatabaseField
 		String stuff;
@@ -48,4 +107,11 @@ public class MappedDeleteCollectionTest {
 			return false;
 		}
 	}
+
+	private static class MaxArgumentsDatabaseType extends StubDatabaseType {
+		@Override
+		public int getMaxStatementArguments() {
+			return 4;
+		}
+	}
 }
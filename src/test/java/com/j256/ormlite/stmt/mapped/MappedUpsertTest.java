@@ -0,0 +1,243 @@
+package com.j256.ormlite.stmt.mapped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
+import com.j256.ormlite.db.BaseDatabaseType;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.h2.H2DatabaseType;
+import com.j256.ormlite.table.TableInfo;
+
+public class MappedUpsertTest extends BaseCoreTest {
+
+	@Test
+	public void testBuildStatement() throws Exception {
+		DatabaseType stubDatabaseType = new StubDatabaseType();
+		MappedUpsert<IdAndStuff, Integer> mappedUpsert =
+				MappedUpsert.build(stubDatabaseType, new TableInfo<IdAndStuff, Integer>(connectionSource, null,
+						IdAndStuff.class));
+		assertEquals("INSERT INTO `idandstuff` (`id`,`stuff`) VALUES (?,?) ON CONFLICT (`id`) "
+				+ "DO UPDATE SET `stuff` = EXCLUDED.`stuff`", mappedUpsert.statement);
+	}
+
+	@Test
+	public void testBuildStatementJustId() throws Exception {
+		DatabaseType stubDatabaseType = new StubDatabaseType();
+		MappedUpsert<JustId, Integer> mappedUpsert =
+				MappedUpsert.build(stubDatabaseType, new TableInfo<JustId, Integer>(connectionSource, null,
+						JustId.class));
+		assertEquals("INSERT INTO `justid` (`id`) VALUES (?) ON CONFLICT (`id`) DO NOTHING", mappedUpsert.statement);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBuildNoId() throws Exception {
+		MappedUpsert.build(databaseType, new TableInfo<NoId, Void>(connectionSource, null, NoId.class));
+	}
+
+	@Test
+	public void testIsTableUpsertable() throws Exception {
+		DatabaseType upsertDatabaseType = new UpsertDatabaseType();
+		assertFalse(MappedUpsert.isTableUpsertable(databaseType, new TableInfo<IdAndStuff, Integer>(
+				connectionSource, null, IdAndStuff.class)));
+		assertTrue(MappedUpsert.isTableUpsertable(upsertDatabaseType, new TableInfo<IdAndStuff, Integer>(
+				connectionSource, null, IdAndStuff.class)));
+		assertFalse(MappedUpsert.isTableUpsertable(upsertDatabaseType, new TableInfo<NoId, Void>(connectionSource,
+				null, NoId.class)));
+		assertFalse(MappedUpsert.isTableUpsertable(upsertDatabaseType, new TableInfo<Version, Integer>(
+				connectionSource, null, Version.class)));
+		assertFalse(MappedUpsert.isTableUpsertable(upsertDatabaseType, new TableInfo<GeneratedId, Integer>(
+				connectionSource, null, GeneratedId.class)));
+	}
+
+	@Test
+	public void testCreateOrUpdate() throws Exception {
+		connectionSource.setDatabaseType(new UpsertDatabaseType());
+		Dao<IdAndStuff, Integer> dao = createDao(IdAndStuff.class, true);
+		IdAndStuff foo = new IdAndStuff();
+		foo.id = 1;
+		foo.stuff = "first";
+		CreateOrUpdateStatus status = dao.createOrUpdate(foo);
+		assertTrue(status.isCreated());
+		assertFalse(status.isUpdated());
+		assertEquals(1, status.getNumLinesChanged());
+
+		foo.stuff = "second";
+		status = dao.createOrUpdate(foo);
+		assertFalse(status.isCreated());
+		assertTrue(status.isUpdated());
+		assertEquals(1, status.getNumLinesChanged());
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testUpsert() throws Exception {
+		connectionSource.setDatabaseType(new UpsertDatabaseType());
+		Dao<IdAndStuff, Integer> dao = createDao(IdAndStuff.class, true);
+		IdAndStuff foo = new IdAndStuff();
+		foo.id = 1;
+		foo.stuff = "first";
+		assertEquals(1, dao.upsert(foo));
+		IdAndStuff result = dao.queryForId(foo.id);
+		assertNotNull(result);
+		assertEquals(foo.stuff, result.stuff);
+
+		foo.stuff = "second";
+		assertEquals(1, dao.upsert(foo));
+		result = dao.queryForId(foo.id);
+		assertNotNull(result);
+		assertEquals(foo.stuff, result.stuff);
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testUpsertGeneratedId() throws Exception {
+		connectionSource.setDatabaseType(new UpsertDatabaseType());
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		GeneratedId foo = new GeneratedId();
+		foo.id = 100;
+		// goes through create which lets the database generate the id
+		assertEquals(1, dao.upsert(foo));
+		assertEquals(1, foo.id);
+		assertEquals(1, dao.upsert(foo));
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testUpsertCachesCreated() throws Exception {
+		connectionSource.setDatabaseType(new UpsertDatabaseType());
+		Dao<IdAndStuff, Integer> dao = createDao(IdAndStuff.class, true);
+		dao.setObjectCache(true);
+		IdAndStuff foo = new IdAndStuff();
+		foo.id = 1;
+		foo.stuff = "first";
+		assertEquals(1, dao.upsert(foo));
+		assertSame(foo, dao.queryForId(foo.id));
+	}
+
+	@Test
+	public void testUpsertCache() throws Exception {
+		connectionSource.setDatabaseType(new UpsertDatabaseType());
+		Dao<IdAndStuff, Integer> dao = createDao(IdAndStuff.class, true);
+		dao.setObjectCache(true);
+		IdAndStuff foo = new IdAndStuff();
+		foo.id = 1;
+		foo.stuff = "first";
+		assertEquals(1, dao.create(foo));
+
+		IdAndStuff other = new IdAndStuff();
+		other.id = foo.id;
+		other.stuff = "second";
+		dao.upsert(other);
+		// the cached object should have been updated
+		assertEquals(other.stuff, foo.stuff);
+	}
+
+	@Test
+	public void testCreateOrUpdateVersionFallback() throws Exception {
+		connectionSource.setDatabaseType(new UpsertDatabaseType());
+		Dao<Version, Integer> dao = createDao(Version.class, true);
+		Version foo = new Version();
+		foo.id = 1;
+		CreateOrUpdateStatus status = dao.createOrUpdate(foo);
+		assertTrue(status.isCreated());
+		assertFalse(status.isUpdated());
+		assertEquals(0, foo.version);
+
+		status = dao.createOrUpdate(foo);
+		assertFalse(status.isCreated());
+		assertTrue(status.isUpdated());
+		assertEquals(1, foo.version);
+	}
+
+	protected static class IdAndStuff {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+
+	protected static class GeneratedId {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+
+	protected static class JustId {
+		@DatabaseField(id = true)
+		int id;
+	}
+
+	protected static class NoId {
+		@DatabaseField
+		String stuff;
+	}
+
+	protected static class Version {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(version = true)
+		int version;
+	}
+
+	/**
+	 * H2 uses the MERGE statement to do an upsert.
+	 */
+	private static class UpsertDatabaseType extends H2DatabaseType {
+		public UpsertDatabaseType() throws SQLException {
+			super();
+		}
+		@Override
+		public boolean isUpsertSupported() {
+			return true;
+		}
+		@Override
+		public void appendUpsertStatement(StringBuilder sb, String tableName, FieldType[] fieldTypes,
+				FieldType idField) {
+			sb.append("MERGE INTO ");
+			appendEscapedEntityName(sb, tableName);
+			sb.append(" (");
+			for (int i = 0; i < fieldTypes.length; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				appendEscapedEntityName(sb, fieldTypes[i].getColumnName());
+			}
+			sb.append(") KEY (");
+			appendEscapedEntityName(sb, idField.getColumnName());
+			sb.append(") VALUES (");
+			for (int i = 0; i < fieldTypes.length; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append('?');
+			}
+			sb.append(')');
+		}
+	}
+
+	private static class StubDatabaseType extends BaseDatabaseType {
+		@Override
+		public String getDriverClassName() {
+			return "foo.bar.baz";
+		}
+		public String getDatabaseName() {
+			return "fake";
+		}
+		public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
+			return false;
+		}
+	}
+}
@@ -7,6 +7,7 @@ import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -161,6 +162,23 @@ public class DatabaseConnectionProxyTest {
 		assertEquals(0, new DatabaseConnectionProxy(null).insert("statment", null, null, null));
 	}
 
+	@Test
+	public void testInsertBatch() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		String statement = "insert bar";
+		int[] result = new int[] { 1, 1 };
+		expect(conn.insertBatch(statement, null, null, null)).andReturn(result);
+		DatabaseConnectionProxy proxy = new DatabaseConnectionProxy(conn);
+		replay(conn);
+		assertSame(result, proxy.insertBatch(statement, null, null, null));
+		verify(conn);
+	}
+
+	@Test
+	public void testInsertBatchNull() throws Exception {
+		assertEquals(0, new DatabaseConnectionProxy(null).insertBatch("statment", null, null, null).length);
+	}
+
 	@Test
 	public void testUpdate() throws Exception {
 		DatabaseConnection conn = createMock(DatabaseConnection.class);
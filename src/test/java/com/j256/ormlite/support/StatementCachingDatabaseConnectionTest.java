@@ -0,0 +1,205 @@
+package com.j256.ormlite.support;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+public class StatementCachingDatabaseConnectionTest {
+
+	private static final String STATEMENT = "select * from foo";
+	private static final String OTHER_STATEMENT = "select * from bar";
+
+	@Test
+	public void testReuse() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt = createMock(CompiledStatement.class);
+		// only compiled once
+		expect(conn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt);
+		expect(compiledStmt.runUpdate()).andReturn(1).times(2);
+		compiledStmt.close();
+		conn.close();
+		replay(conn, compiledStmt);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn);
+		CompiledStatement stmt =
+				cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		assertEquals(1, stmt.runUpdate());
+		stmt.close();
+		assertEquals(1, cachingConn.getCachedCount());
+		stmt =
+				cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		assertEquals(1, stmt.runUpdate());
+		stmt.close();
+		assertEquals(1, cachingConn.getHitCount());
+		assertEquals(1, cachingConn.getMissCount());
+		// closing the connection closes the cached statements
+		cachingConn.close();
+		assertEquals(0, cachingConn.getCachedCount());
+		verify(conn, compiledStmt);
+	}
+
+	@Test
+	public void testInUse() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt1 = createMock(CompiledStatement.class);
+		CompiledStatement compiledStmt2 = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt1);
+		expect(conn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt2);
+		// the second one is closed since the first is already cached
+		compiledStmt2.close();
+		replay(conn, compiledStmt1, compiledStmt2);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn);
+		CompiledStatement stmt1 =
+				cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		// the first is still in use so we need another
+		CompiledStatement stmt2 =
+				cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		assertNotSame(stmt1, stmt2);
+		stmt1.close();
+		// closing twice does nothing
+		stmt1.close();
+		stmt2.close();
+		assertEquals(1, cachingConn.getCachedCount());
+		assertEquals(2, cachingConn.getMissCount());
+		verify(conn, compiledStmt1, compiledStmt2);
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt1 = createMock(CompiledStatement.class);
+		CompiledStatement compiledStmt2 = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt1);
+		expect(
+				conn.compileStatement(OTHER_STATEMENT, StatementType.SELECT, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS)).andReturn(compiledStmt2);
+		compiledStmt1.close();
+		replay(conn, compiledStmt1, compiledStmt2);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn, 1);
+		cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS)
+				.close();
+		cachingConn.compileStatement(OTHER_STATEMENT, StatementType.SELECT, null,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS).close();
+		assertEquals(1, cachingConn.getCachedCount());
+		assertEquals(1, cachingConn.getEvictionCount());
+		verify(conn, compiledStmt1, compiledStmt2);
+	}
+
+	@Test
+	public void testDifferentType() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt1 = createMock(CompiledStatement.class);
+		CompiledStatement compiledStmt2 = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt1);
+		expect(conn.compileStatement(STATEMENT, StatementType.EXECUTE, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt2);
+		replay(conn, compiledStmt1, compiledStmt2);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn);
+		cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS)
+				.close();
+		cachingConn.compileStatement(STATEMENT, StatementType.EXECUTE, null, DatabaseConnection.DEFAULT_RESULT_FLAGS)
+				.close();
+		assertEquals(0, cachingConn.getHitCount());
+		assertEquals(2, cachingConn.getCachedCount());
+		verify(conn, compiledStmt1, compiledStmt2);
+	}
+
+	@Test
+	public void testResetSettings() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(STATEMENT, StatementType.SELECT, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt);
+		compiledStmt.setMaxRows(10);
+		compiledStmt.setQueryTimeout(100);
+		// reset when the statement goes back into the cache
+		compiledStmt.setMaxRows(0);
+		compiledStmt.setQueryTimeout(0);
+		replay(conn, compiledStmt);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn);
+		CompiledStatement stmt =
+				cachingConn.compileStatement(STATEMENT, StatementType.SELECT, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		stmt.setMaxRows(10);
+		stmt.setQueryTimeout(100);
+		stmt.close();
+		verify(conn, compiledStmt);
+	}
+
+	@Test
+	public void testResetBatch() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(STATEMENT, StatementType.UPDATE, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt);
+		compiledStmt.setObject(0, 1, SqlType.INTEGER);
+		compiledStmt.addBatch();
+		// batch rows that were never run are dropped when the statement goes back into the cache
+		compiledStmt.clearBatch();
+		replay(conn, compiledStmt);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn);
+		CompiledStatement stmt =
+				cachingConn.compileStatement(STATEMENT, StatementType.UPDATE, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		stmt.setObject(0, 1, SqlType.INTEGER);
+		stmt.addBatch();
+		stmt.close();
+		assertEquals(1, cachingConn.getCachedCount());
+		verify(conn, compiledStmt);
+	}
+
+	@Test
+	public void testResetFails() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement compiledStmt = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(STATEMENT, StatementType.UPDATE, null, DatabaseConnection.DEFAULT_RESULT_FLAGS))
+				.andReturn(compiledStmt);
+		compiledStmt.setObject(0, 1, SqlType.INTEGER);
+		compiledStmt.clearBatch();
+		expectLastCall().andThrow(new SQLException("Testing reset failure"));
+		// closed instead of cached
+		compiledStmt.close();
+		replay(conn, compiledStmt);
+		StatementCachingDatabaseConnection cachingConn = new StatementCachingDatabaseConnection(conn);
+		CompiledStatement stmt =
+				cachingConn.compileStatement(STATEMENT, StatementType.UPDATE, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		stmt.setObject(0, 1, SqlType.INTEGER);
+		try {
+			stmt.close();
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		assertEquals(0, cachingConn.getCachedCount());
+		verify(conn, compiledStmt);
+	}
+
+	@Test
+	public void testFactory() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		DatabaseConnection proxy = new StatementCachingProxyFactory(10).createProxy(conn);
+		assertTrue(proxy instanceof StatementCachingDatabaseConnection);
+	}
+}
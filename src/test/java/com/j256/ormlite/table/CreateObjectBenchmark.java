@@ -0,0 +1,143 @@
+package com.j256.ormlite.table;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * Hand-rolled benchmark of {@link TableInfo#createObject()} against calling the constructor directly and using
+ * <code>new</code>. This is not run as part of the tests. Run it with the test class-path:
+ * 
+ * <pre>
+ * java com.j256.ormlite.table.CreateObjectBenchmark [iterations]
+ * </pre>
+ * 
+ * @author graywatson
+ */
+public class CreateObjectBenchmark {
+
+	private static final int DEFAULT_ITERATIONS = 10000000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) throws Exception {
+		int iterations = DEFAULT_ITERATIONS;
+		if (args.length > 0) {
+			iterations = Integer.parseInt(args[0]);
+		}
+		ConnectionSource connectionSource = new H2ConnectionSource();
+		TableInfo<Small, Integer> smallInfo = new TableInfo<Small, Integer>(connectionSource, null, Small.class);
+		TableInfo<Large, Integer> largeInfo = new TableInfo<Large, Integer>(connectionSource, null, Large.class);
+		for (int round = 0; round < ROUNDS; round++) {
+			System.out.println("round " + (round + 1) + ":");
+			runSmall(smallInfo, iterations);
+			runLarge(largeInfo, iterations);
+		}
+	}
+
+	private static void runSmall(TableInfo<Small, Integer> tableInfo, int iterations) throws Exception {
+		Constructor<Small> constructor = tableInfo.getConstructor();
+		List<Object> sink = new ArrayList<Object>(1);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink.add(tableInfo.createObject());
+			sink.clear();
+		}
+		long createNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink.add(constructor.newInstance());
+			sink.clear();
+		}
+		long constructorNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink.add(new Small());
+			sink.clear();
+		}
+		long newNanos = System.nanoTime() - start;
+		print("small", iterations, createNanos, constructorNanos, newNanos);
+	}
+
+	private static void runLarge(TableInfo<Large, Integer> tableInfo, int iterations) throws Exception {
+		Constructor<Large> constructor = tableInfo.getConstructor();
+		List<Object> sink = new ArrayList<Object>(1);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink.add(tableInfo.createObject());
+			sink.clear();
+		}
+		long createNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink.add(constructor.newInstance());
+			sink.clear();
+		}
+		long constructorNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink.add(new Large());
+			sink.clear();
+		}
+		long newNanos = System.nanoTime() - start;
+		print("large", iterations, createNanos, constructorNanos, newNanos);
+	}
+
+	private static void print(String label, int iterations, long createNanos, long constructorNanos, long newNanos) {
+		System.out.printf("  %-6s createObject %6.2f ns, constructor.newInstance() %6.2f ns, new %6.2f ns%n", label,
+				(double) createNanos / iterations, (double) constructorNanos / iterations, (double) newNanos
+						/ iterations);
+	}
+
+	protected static class Small {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		public Small() {
+		}
+	}
+
+	protected static class Large {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String string1 = "";
+		@DatabaseField
+		String string2 = "";
+		@DatabaseField
+		String string3 = "";
+		@DatabaseField
+		String string4 = "";
+		@DatabaseField
+		long long1 = 1;
+		@DatabaseField
+		long long2 = 2;
+		@DatabaseField
+		long long3 = 3;
+		@DatabaseField
+		long long4 = 4;
+		@DatabaseField
+		double double1 = 1.0;
+		@DatabaseField
+		double double2 = 2.0;
+		@DatabaseField
+		boolean boolean1 = true;
+		@DatabaseField
+		boolean boolean2 = true;
+		@DatabaseField
+		Date date1 = new Date(0);
+		@DatabaseField
+		Date date2 = new Date(0);
+		@DatabaseField
+		Integer integer1 = 1;
+		@DatabaseField
+		Integer integer2 = 2;
+		public Large() {
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.j256.ormlite.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+
+public class DatabaseTableConfigGeneratorTest extends BaseCoreTest {
+
+	@Test
+	public void testFromClass() throws Exception {
+		DatabaseTableConfig<Foo> config = DatabaseTableConfigGenerator.fromClass(databaseType, Foo.class);
+		assertSame(Foo.class, config.getDataClass());
+		assertEquals(DatabaseTableConfig.extractTableName(Foo.class), config.getTableName());
+		List<DatabaseFieldConfig> fieldConfigs = config.getFieldConfigs();
+		assertEquals(4, fieldConfigs.size());
+		assertEquals(Foo.ID_COLUMN_NAME, fieldConfigs.get(0).getColumnName());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFromClassNoFields() throws Exception {
+		DatabaseTableConfigGenerator.fromClass(databaseType, NoFields.class);
+	}
+
+	@Test
+	public void testWriteAndRegister() throws Exception {
+		StringWriter writer = new StringWriter();
+		DatabaseTableConfigGenerator.writeConfigs(databaseType, new BufferedWriter(writer), Foo.class, Foreign.class);
+		List<DatabaseTableConfig<?>> configs =
+				DatabaseTableConfigLoader.loadDatabaseConfigFromReader(new BufferedReader(new StringReader(
+						writer.toString())));
+		assertEquals(2, configs.size());
+		assertSame(Foo.class, configs.get(0).getDataClass());
+		assertSame(Foreign.class, configs.get(1).getDataClass());
+
+		DaoManager.addCachedDatabaseConfigs(configs);
+		TableUtils.createTable(connectionSource, Foo.class);
+		TableUtils.createTable(connectionSource, Foreign.class);
+		try {
+			Dao<Foo, Integer> fooDao = DaoManager.createDao(connectionSource, Foo.class);
+			Dao<Foreign, Integer> foreignDao = DaoManager.createDao(connectionSource, Foreign.class);
+			Foo foo = new Foo();
+			foo.val = 123;
+			assertEquals(1, fooDao.create(foo));
+			Foreign foreign = new Foreign();
+			foreign.foo = foo;
+			assertEquals(1, foreignDao.create(foreign));
+
+			Foreign result = foreignDao.queryForId(foreign.id);
+			assertNotNull(result);
+			assertEquals(foo.id, result.foo.id);
+			assertEquals(foo.val, fooDao.queryForId(foo.id).val);
+		} finally {
+			TableUtils.dropTable(connectionSource, Foreign.class, true);
+			TableUtils.dropTable(connectionSource, Foo.class, true);
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testRegisterConfigResourceMissing() throws Exception {
+		DatabaseTableConfigGenerator.registerConfigResource("no-such-ormlite-config.txt");
+	}
+
+	protected static class NoFields {
+		public String id;
+	}
+}
@@ -0,0 +1,85 @@
+package com.j256.ormlite.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+
+public class DirtyTrackerTest extends BaseCoreTest {
+
+	@Test
+	public void testSnapshot() throws Exception {
+		TableInfo<Tracked, Integer> tableInfo = new TableInfo<Tracked, Integer>(connectionSource, null, Tracked.class);
+		DirtyTracker<Tracked> tracker = new DirtyTracker<Tracked>(tableInfo);
+		Tracked tracked = new Tracked();
+		tracked.id = 1;
+		tracked.stuff = "hello";
+		assertNull(tracker.getSnapshot(tracked));
+		tracker.snapshot(tracked);
+		assertEquals(1, tracker.size());
+
+		Object[] snapshot = tracker.getSnapshot(tracked);
+		assertNotNull(snapshot);
+		assertEquals(tableInfo.getFieldTypes().length, snapshot.length);
+		assertEquals(tracked.stuff, snapshot[1]);
+
+		// changing the object should not change the snapshot
+		tracked.stuff = "changed";
+		tracked.bytes[0] = 10;
+		assertEquals("hello", tracker.getSnapshot(tracked)[1]);
+		assertFalse(DirtyTracker.isValueEqual(tracker.getSnapshot(tracked)[2], tracked.bytes));
+
+		tracker.remove(tracked);
+		assertNull(tracker.getSnapshot(tracked));
+		assertEquals(0, tracker.size());
+	}
+
+	@Test
+	public void testSnapshotIdentity() throws Exception {
+		TableInfo<Tracked, Integer> tableInfo = new TableInfo<Tracked, Integer>(connectionSource, null, Tracked.class);
+		DirtyTracker<Tracked> tracker = new DirtyTracker<Tracked>(tableInfo);
+		Tracked tracked = new Tracked();
+		tracked.id = 1;
+		tracker.snapshot(tracked);
+		// equals is overridden to match on id but snapshots are kept per object
+		Tracked other = new Tracked();
+		other.id = 1;
+		assertEquals(tracked, other);
+		assertNull(tracker.getSnapshot(other));
+	}
+
+	@Test
+	public void testIsValueEqual() {
+		assertTrue(DirtyTracker.isValueEqual(null, null));
+		assertFalse(DirtyTracker.isValueEqual(null, "foo"));
+		assertFalse(DirtyTracker.isValueEqual("foo", null));
+		assertTrue(DirtyTracker.isValueEqual("foo", "foo"));
+		assertFalse(DirtyTracker.isValueEqual("foo", "bar"));
+		assertTrue(DirtyTracker.isValueEqual(new byte[] { 1, 2 }, new byte[] { 1, 2 }));
+		assertFalse(DirtyTracker.isValueEqual(new byte[] { 1, 2 }, new byte[] { 1, 3 }));
+	}
+
+	protected static class Tracked {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+		@DatabaseField(dataType = DataType.BYTE_ARRAY)
+		byte[] bytes = new byte[] { 1, 2, 3 };
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Tracked && ((Tracked) obj).id == id;
+		}
+		@Override
+		public int hashCode() {
+			return id;
+		}
+	}
+}